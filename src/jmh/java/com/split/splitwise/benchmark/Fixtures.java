@@ -0,0 +1,98 @@
+package com.split.splitwise.benchmark;
+
+import com.split.splitwise.entity.*;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Deterministic synthetic groups, expenses and balances for benchmarks.
+ */
+final class Fixtures {
+
+    private static final long SEED = 42L;
+
+    private Fixtures() {
+    }
+
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder()
+                    .id(new UUID(0L, i))
+                    .name("User " + i)
+                    .email("user" + i + "@bench.test")
+                    .build());
+        }
+        return users;
+    }
+
+    static Group group(User creator) {
+        return Group.builder().id(UUID.randomUUID()).name("Bench Group").createdBy(creator).build();
+    }
+
+    static List<GroupMember> members(Group group, List<User> users) {
+        List<GroupMember> members = new ArrayList<>(users.size());
+        for (User user : users) {
+            GroupMember member = GroupMember.builder().id(UUID.randomUUID()).group(group).user(user).build();
+            members.add(member);
+        }
+        return members;
+    }
+
+    /**
+     * Expenses paid by random members, each split equally across up to {@code splitsPerExpense} members.
+     */
+    static List<Expense> expenses(Group group, List<User> users, int count, int splitsPerExpense) {
+        Random random = new Random(SEED);
+        List<Expense> expenses = new ArrayList<>(count);
+        int participants = Math.min(splitsPerExpense, users.size());
+
+        for (int i = 0; i < count; i++) {
+            BigDecimal share = BigDecimal.valueOf(100 + random.nextInt(10_000), 2);
+            Expense expense = Expense.builder()
+                    .id(UUID.randomUUID())
+                    .description("Expense " + i)
+                    .totalAmount(share.multiply(BigDecimal.valueOf(participants)))
+                    .paidBy(users.get(random.nextInt(users.size())))
+                    .group(group)
+                    .splitType(SplitType.EQUAL)
+                    .splits(new ArrayList<>(participants))
+                    .build();
+
+            int offset = random.nextInt(users.size());
+            for (int p = 0; p < participants; p++) {
+                expense.addSplit(ExpenseSplit.builder()
+                        .id(UUID.randomUUID())
+                        .user(users.get((offset + p) % users.size()))
+                        .amountOwed(share)
+                        .build());
+            }
+            expenses.add(expense);
+        }
+        return expenses;
+    }
+
+    /**
+     * Random net balances that sum to exactly zero.
+     */
+    static Map<UUID, BigDecimal> netBalances(List<User> users) {
+        Random random = new Random(SEED);
+        Map<UUID, BigDecimal> balances = new HashMap<>(users.size() * 2);
+        BigDecimal sum = BigDecimal.ZERO;
+
+        for (int i = 0; i < users.size() - 1; i++) {
+            BigDecimal balance = BigDecimal.valueOf(random.nextInt(200_000) - 100_000, 2);
+            balances.put(users.get(i).getId(), balance);
+            sum = sum.add(balance);
+        }
+        balances.put(users.get(users.size() - 1).getId(), sum.negate());
+        return balances;
+    }
+
+    static Map<UUID, String> userNames(List<User> users) {
+        Map<UUID, String> names = new HashMap<>(users.size() * 2);
+        users.forEach(user -> names.put(user.getId(), user.getName()));
+        return names;
+    }
+}
@@ -0,0 +1,76 @@
+package com.split.splitwise.benchmark;
+
+import com.split.splitwise.dto.response.BalanceResponse;
+import com.split.splitwise.dto.response.SettlementResponse;
+import com.split.splitwise.entity.Expense;
+import com.split.splitwise.entity.Group;
+import com.split.splitwise.entity.User;
+import com.split.splitwise.repository.ExpenseRepository;
+import com.split.splitwise.repository.GroupRepository;
+import com.split.splitwise.service.ExpenseService;
+import com.split.splitwise.service.GroupService;
+import com.split.splitwise.service.SettlementService;
+import com.split.splitwise.mapper.GroupMapper;
+import com.split.splitwise.metrics.LedgerMetrics;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full balance and settlement computation for a group, from already-loaded
+ * expense entities: member count x expense count. Each expense is split
+ * across up to 10 members, mirroring typical group usage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LedgerBenchmark {
+
+    private static final int SPLITS_PER_EXPENSE = 10;
+
+    @Param({"10", "1000", "100000"})
+    private int memberCount;
+
+    @Param({"100", "10000", "100000"})
+    private int expenseCount;
+
+    private ExpenseService expenseService;
+    private UUID groupId;
+
+    @Setup
+    public void setUp() {
+        List<User> users = Fixtures.users(memberCount);
+        Group group = Fixtures.group(users.get(0));
+        List<Expense> expenses = Fixtures.expenses(group, users, expenseCount, SPLITS_PER_EXPENSE);
+        groupId = group.getId();
+
+        GroupRepository groupRepository = Stubs.of(GroupRepository.class, Map.of(
+                "findById", args -> Optional.of(group)));
+        ExpenseRepository expenseRepository = Stubs.of(ExpenseRepository.class, Map.of(
+                "findByGroupIdWithSplits", args -> expenses));
+
+        GroupService groupService = new GroupService(
+                groupRepository, null, null, Mappers.getMapper(GroupMapper.class), event -> { });
+        expenseService = new ExpenseService(
+                expenseRepository, groupService, null, null, new SettlementService(), null, event -> { },
+                LedgerMetrics.noop());
+    }
+
+    @Benchmark
+    public BalanceResponse calculateBalances() {
+        return expenseService.calculateBalances(groupId);
+    }
+
+    @Benchmark
+    public SettlementResponse calculateSettlements() {
+        return expenseService.calculateSettlements(groupId);
+    }
+}
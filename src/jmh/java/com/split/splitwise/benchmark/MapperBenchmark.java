@@ -0,0 +1,56 @@
+package com.split.splitwise.benchmark;
+
+import com.split.splitwise.dto.response.ExpenseResponse;
+import com.split.splitwise.dto.response.GroupResponse;
+import com.split.splitwise.entity.Expense;
+import com.split.splitwise.entity.Group;
+import com.split.splitwise.entity.User;
+import com.split.splitwise.mapper.ExpenseMapper;
+import com.split.splitwise.mapper.GroupMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct entity-to-response conversions: one expense with N splits,
+ * and one group with N members.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    private int memberCount;
+
+    private ExpenseMapper expenseMapper;
+    private GroupMapper groupMapper;
+    private Expense expense;
+    private Group group;
+
+    @Setup
+    public void setUp() {
+        expenseMapper = Mappers.getMapper(ExpenseMapper.class);
+        groupMapper = Mappers.getMapper(GroupMapper.class);
+
+        List<User> users = Fixtures.users(memberCount);
+        group = Fixtures.group(users.get(0));
+        group.getMembers().addAll(Fixtures.members(group, users));
+        expense = Fixtures.expenses(group, users, 1, memberCount).get(0);
+    }
+
+    @Benchmark
+    public ExpenseResponse expenseToResponse() {
+        return expenseMapper.toResponse(expense);
+    }
+
+    @Benchmark
+    public GroupResponse groupToResponse() {
+        return groupMapper.toResponse(group);
+    }
+}
@@ -0,0 +1,44 @@
+package com.split.splitwise.benchmark;
+
+import com.split.splitwise.dto.response.SettlementResponse;
+import com.split.splitwise.entity.User;
+import com.split.splitwise.service.SettlementService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Debt simplification over N members with non-zero balances.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SettlementBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    private int memberCount;
+
+    private SettlementService settlementService;
+    private Map<UUID, BigDecimal> netBalances;
+    private Map<UUID, String> userNames;
+
+    @Setup
+    public void setUp() {
+        List<User> users = Fixtures.users(memberCount);
+        settlementService = new SettlementService();
+        netBalances = Fixtures.netBalances(users);
+        userNames = Fixtures.userNames(users);
+    }
+
+    @Benchmark
+    public List<SettlementResponse.Settlement> calculateOptimizedSettlements() {
+        return settlementService.calculateOptimizedSettlements(netBalances, userNames);
+    }
+}
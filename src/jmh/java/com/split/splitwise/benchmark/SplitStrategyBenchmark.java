@@ -0,0 +1,93 @@
+package com.split.splitwise.benchmark;
+
+import com.split.splitwise.dto.request.CreateExpenseRequest;
+import com.split.splitwise.entity.*;
+import com.split.splitwise.repository.GroupMemberRepository;
+import com.split.splitwise.repository.UserRepository;
+import com.split.splitwise.service.UserService;
+import com.split.splitwise.service.search.UserSearchIndex;
+import com.split.splitwise.service.split.EqualSplitStrategy;
+import com.split.splitwise.service.split.ExactSplitStrategy;
+import com.split.splitwise.mapper.UserMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * EQUAL and EXACT split calculation for an expense shared by every member.
+ * Repository calls are answered in memory, so this isolates the per-split
+ * BigDecimal arithmetic, validation and entity allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SplitStrategyBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    private int memberCount;
+
+    private EqualSplitStrategy equalSplitStrategy;
+    private ExactSplitStrategy exactSplitStrategy;
+    private UUID groupId;
+    private CreateExpenseRequest equalRequest;
+    private CreateExpenseRequest exactRequest;
+    private BigDecimal totalAmount;
+
+    @Setup
+    public void setUp() {
+        List<User> users = Fixtures.users(memberCount);
+        Group group = Fixtures.group(users.get(0));
+        List<GroupMember> members = Fixtures.members(group, users);
+        Set<UUID> memberIds = users.stream().map(User::getId).collect(Collectors.toSet());
+        Map<UUID, User> usersById = users.stream().collect(Collectors.toMap(User::getId, Function.identity()));
+        groupId = group.getId();
+
+        GroupMemberRepository groupMemberRepository = Stubs.of(GroupMemberRepository.class, Map.of(
+                "findByGroupIdWithUser", args -> members,
+                "findUserIdsByGroupId", args -> memberIds));
+        UserRepository userRepository = Stubs.of(UserRepository.class, Map.of(
+                "findById", args -> Optional.ofNullable(usersById.get((UUID) args[0]))));
+
+        UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+        UserService userService = new UserService(
+                userRepository, userMapper, new UserSearchIndex(userRepository, userMapper), event -> { });
+
+        equalSplitStrategy = new EqualSplitStrategy(groupMemberRepository);
+        exactSplitStrategy = new ExactSplitStrategy(groupMemberRepository, userService);
+
+        totalAmount = BigDecimal.valueOf(memberCount).multiply(new BigDecimal("12.34"));
+        equalRequest = CreateExpenseRequest.builder()
+                .description("Bench").totalAmount(totalAmount).paidBy(users.get(0).getId())
+                .splitType(SplitType.EQUAL).build();
+        exactRequest = CreateExpenseRequest.builder()
+                .description("Bench").totalAmount(totalAmount).paidBy(users.get(0).getId())
+                .splitType(SplitType.EXACT)
+                .splits(users.stream()
+                        .map(user -> CreateExpenseRequest.SplitDetail.builder()
+                                .userId(user.getId()).amount(new BigDecimal("12.34")).build())
+                        .toList())
+                .build();
+    }
+
+    @Benchmark
+    public List<ExpenseSplit> equalSplit() {
+        return equalSplitStrategy.calculateSplits(newExpense(), groupId, equalRequest);
+    }
+
+    @Benchmark
+    public List<ExpenseSplit> exactSplit() {
+        return exactSplitStrategy.calculateSplits(newExpense(), groupId, exactRequest);
+    }
+
+    private Expense newExpense() {
+        return Expense.builder().totalAmount(totalAmount).build();
+    }
+}
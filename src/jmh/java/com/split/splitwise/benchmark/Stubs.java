@@ -0,0 +1,32 @@
+package com.split.splitwise.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Minimal in-memory stand-ins for Spring Data repositories.
+ *
+ * Benchmarks measure the computation, not the database, so each repository
+ * method used on the hot path is answered from a prepared fixture. Any other
+ * call fails fast so a benchmark can't silently measure the wrong thing.
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T of(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            if (method.getName().equals("toString")) {
+                return "Stub<" + type.getSimpleName() + ">";
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not stubbed");
+        });
+    }
+}
@@ -0,0 +1,166 @@
+package com.split.splitwise.loadtest;
+
+import com.split.splitwise.dto.request.BulkAddMembersRequest;
+import com.split.splitwise.dto.request.CreateExpenseRequest;
+import com.split.splitwise.dto.request.CreateGroupRequest;
+import com.split.splitwise.dto.request.CreateUserRequest;
+import com.split.splitwise.entity.SplitType;
+import com.split.splitwise.service.ExpenseService;
+import com.split.splitwise.service.GroupBulkService;
+import com.split.splitwise.service.GroupService;
+import com.split.splitwise.service.UserService;
+import org.springframework.context.ApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.random.RandomGenerator;
+
+/**
+ * Seeds a synthetic dataset through the same services the API calls, so every
+ * write publishes its events: users reach the search index, and groups,
+ * members and expenses reach the ledger, activity feeds and dashboard.
+ *
+ * Group sizes follow a log-normal distribution (median about 4, long tail
+ * into the hundreds), which matches how expense-sharing groups look in
+ * practice: many couples and flatshares, a few large trips and clubs.
+ * Expenses are spread proportionally to group size and mix EQUAL/EXACT splits.
+ */
+final class DatasetGenerator {
+
+    // BulkAddMembersRequest accepts at most 1000 users
+    private static final int MEMBER_BATCH_SIZE = 1_000;
+    private static final double GROUP_SIZE_MU = 1.2;
+    private static final double GROUP_SIZE_SIGMA = 0.9;
+
+    private final ApplicationContext context;
+    private final LoadTestConfig config;
+    private final Random random;
+
+    DatasetGenerator(ApplicationContext context, LoadTestConfig config) {
+        this.context = context;
+        this.config = config;
+        this.random = new Random(config.seed());
+    }
+
+    Dataset generate() {
+        UserService userService = context.getBean(UserService.class);
+        GroupService groupService = context.getBean(GroupService.class);
+        GroupBulkService groupBulkService = context.getBean(GroupBulkService.class);
+        ExpenseService expenseService = context.getBean(ExpenseService.class);
+
+        List<UUID> userIds = createUsers(userService, "user", config.users());
+        Queue<UUID> spareUserIds = new ConcurrentLinkedQueue<>(
+                createUsers(userService, "spare", config.spareUsers()));
+
+        List<UUID> groupIds = new ArrayList<>(config.groups());
+        Map<UUID, List<UUID>> membersByGroup = new HashMap<>();
+        for (int g = 0; g < config.groups(); g++) {
+            List<UUID> memberIds = pickMembers(userIds, sampleGroupSize(userIds.size()));
+            UUID groupId = createGroup(groupService, groupBulkService, "Group " + g, memberIds);
+            groupIds.add(groupId);
+            membersByGroup.put(groupId, memberIds);
+        }
+
+        List<UUID> weightedGroups = weightBySize(groupIds, membersByGroup);
+        for (int e = 0; e < config.expenses(); e++) {
+            UUID groupId = weightedGroups.get(random.nextInt(weightedGroups.size()));
+            expenseService.createExpense(groupId, randomExpense(membersByGroup.get(groupId), random));
+        }
+
+        return new Dataset(groupIds, membersByGroup, spareUserIds);
+    }
+
+    /**
+     * Draws from the given generator rather than this generator's own Random,
+     * so concurrent callers can each pass one they own.
+     */
+    CreateExpenseRequest randomExpense(List<UUID> memberIds, RandomGenerator source) {
+        UUID payer = memberIds.get(source.nextInt(memberIds.size()));
+        boolean exact = source.nextDouble() < config.exactSplitRatio();
+
+        if (!exact) {
+            return CreateExpenseRequest.builder()
+                    .description("Synthetic expense")
+                    .totalAmount(BigDecimal.valueOf(100 + source.nextInt(50_000), 2))
+                    .paidBy(payer)
+                    .splitType(SplitType.EQUAL)
+                    .build();
+        }
+
+        List<UUID> participants = new ArrayList<>(memberIds);
+        Collections.shuffle(participants, source);
+        participants = participants.subList(0, 1 + source.nextInt(participants.size()));
+
+        List<CreateExpenseRequest.SplitDetail> splits = new ArrayList<>(participants.size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (UUID participant : participants) {
+            BigDecimal amount = BigDecimal.valueOf(100 + source.nextInt(10_000), 2);
+            splits.add(CreateExpenseRequest.SplitDetail.builder().userId(participant).amount(amount).build());
+            total = total.add(amount);
+        }
+
+        return CreateExpenseRequest.builder()
+                .description("Synthetic exact expense")
+                .totalAmount(total)
+                .paidBy(payer)
+                .splitType(SplitType.EXACT)
+                .splits(splits)
+                .build();
+    }
+
+    private List<UUID> createUsers(UserService userService, String prefix, int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(userService.createUser(CreateUserRequest.builder()
+                    .name(prefix + " " + i)
+                    .email(prefix + i + "-" + config.seed() + "@loadtest.local")
+                    .build()).getId());
+        }
+        return ids;
+    }
+
+    private UUID createGroup(GroupService groupService, GroupBulkService groupBulkService,
+                             String name, List<UUID> memberIds) {
+        UUID groupId = groupService.createGroup(CreateGroupRequest.builder()
+                .name(name)
+                .createdBy(memberIds.get(0))
+                .build()).getId();
+
+        List<UUID> others = memberIds.subList(1, memberIds.size());
+        for (int from = 0; from < others.size(); from += MEMBER_BATCH_SIZE) {
+            List<UUID> batch = others.subList(from, Math.min(from + MEMBER_BATCH_SIZE, others.size()));
+            groupBulkService.addMembers(groupId, BulkAddMembersRequest.builder().userIds(new ArrayList<>(batch)).build());
+        }
+        return groupId;
+    }
+
+    private int sampleGroupSize(int maxSize) {
+        double size = Math.exp(GROUP_SIZE_MU + GROUP_SIZE_SIGMA * random.nextGaussian());
+        return (int) Math.max(2, Math.min(maxSize, Math.round(size)));
+    }
+
+    private List<UUID> pickMembers(List<UUID> userIds, int size) {
+        Set<UUID> picked = new LinkedHashSet<>();
+        while (picked.size() < size) {
+            picked.add(userIds.get(random.nextInt(userIds.size())));
+        }
+        return new ArrayList<>(picked);
+    }
+
+    private List<UUID> weightBySize(List<UUID> groupIds, Map<UUID, List<UUID>> membersByGroup) {
+        List<UUID> weighted = new ArrayList<>();
+        for (UUID groupId : groupIds) {
+            for (int i = 0; i < membersByGroup.get(groupId).size(); i++) {
+                weighted.add(groupId);
+            }
+        }
+        return weighted;
+    }
+
+    /**
+     * Ids needed by the workload. Spare users are never members of any group
+     * and are consumed one by one by addMember requests.
+     */
+    record Dataset(List<UUID> groupIds, Map<UUID, List<UUID>> membersByGroup, Queue<UUID> spareUserIds) {}
+}
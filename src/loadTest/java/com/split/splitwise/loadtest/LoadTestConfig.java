@@ -0,0 +1,55 @@
+package com.split.splitwise.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Load test knobs, read from system properties (passed through by ./gradlew loadTest -P...).
+ *
+ * Workload mix is given in percent and must add up to 100.
+ */
+record LoadTestConfig(
+        int users,
+        int groups,
+        int expenses,
+        double exactSplitRatio,
+        int spareUsers,
+        int targetRate,
+        Duration warmup,
+        Duration duration,
+        int createExpensePercent,
+        int balancesPercent,
+        int settlementsPercent,
+        int addMemberPercent,
+        long seed) {
+
+    static LoadTestConfig fromSystemProperties() {
+        LoadTestConfig config = new LoadTestConfig(
+                intProperty("loadtest.users", 2_000),
+                intProperty("loadtest.groups", 500),
+                intProperty("loadtest.expenses", 20_000),
+                Double.parseDouble(System.getProperty("loadtest.exactSplitRatio", "0.3")),
+                intProperty("loadtest.spareUsers", 5_000),
+                intProperty("loadtest.rate", 200),
+                Duration.ofSeconds(intProperty("loadtest.warmupSeconds", 15)),
+                Duration.ofSeconds(intProperty("loadtest.durationSeconds", 60)),
+                intProperty("loadtest.mix.createExpense", 10),
+                intProperty("loadtest.mix.balances", 45),
+                intProperty("loadtest.mix.settlements", 40),
+                intProperty("loadtest.mix.addMember", 5),
+                Long.getLong("loadtest.seed", 42L));
+
+        int mixTotal = config.createExpensePercent() + config.balancesPercent()
+                + config.settlementsPercent() + config.addMemberPercent();
+        if (mixTotal != 100) {
+            throw new IllegalArgumentException("Workload mix must add up to 100, got " + mixTotal);
+        }
+        if (config.users() < 2 || config.groups() < 1 || config.targetRate() < 1) {
+            throw new IllegalArgumentException("Need at least 2 users, 1 group and a rate of 1 req/s");
+        }
+        return config;
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+}
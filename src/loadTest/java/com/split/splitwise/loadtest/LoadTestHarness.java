@@ -0,0 +1,64 @@
+package com.split.splitwise.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.split.splitwise.SplitwiseApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Embedded end-to-end load test.
+ *
+ * 1. Boots the application in-process on the H2 (dev) profile, on a random port
+ * 2. Seeds a synthetic dataset (DatasetGenerator)
+ * 3. Warms up, then drives the mixed workload at the target rate (WorkloadDriver)
+ * 4. Prints and writes a per-endpoint throughput / p50 / p99 / p999 report
+ *
+ * Run with: ./gradlew loadTest -Ploadtest.rate=500 -Ploadtest.durationSeconds=120
+ */
+public final class LoadTestHarness {
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        String profiles = System.getProperty("loadtest.profiles", "dev");
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(SplitwiseApplication.class,
+                "--spring.profiles.active=" + profiles,
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.split.splitwise=WARN",
+                "--logging.level.org.springframework.transaction=WARN")) {
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            System.out.printf("Application started at %s with profiles [%s]%n", baseUrl, profiles);
+
+            DatasetGenerator generator = new DatasetGenerator(context, config);
+            long seedStart = System.currentTimeMillis();
+            DatasetGenerator.Dataset dataset = generator.generate();
+            System.out.printf("Seeded %d users, %d groups, %d expenses in %d ms%n",
+                    config.users(), config.groups(), config.expenses(), System.currentTimeMillis() - seedStart);
+
+            WorkloadDriver driver = new WorkloadDriver(
+                    baseUrl, config, dataset, generator, context.getBean(ObjectMapper.class));
+
+            System.out.printf("Warming up for %ds at %d req/s%n", config.warmup().toSeconds(), config.targetRate());
+            driver.run(config.warmup());
+
+            System.out.printf("Measuring for %ds at %d req/s%n", config.duration().toSeconds(), config.targetRate());
+            LoadTestReport report = driver.run(config.duration());
+
+            String formatted = report.format();
+            System.out.println(formatted);
+
+            Path reportFile = Path.of(System.getProperty("loadtest.reportFile", "build/reports/loadtest/report.txt"));
+            Files.createDirectories(reportFile.getParent());
+            Files.writeString(reportFile, formatted);
+            System.out.printf("Report written to %s%n", reportFile.toAbsolutePath());
+        }
+    }
+}
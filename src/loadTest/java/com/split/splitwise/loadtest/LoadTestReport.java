@@ -0,0 +1,50 @@
+package com.split.splitwise.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint throughput and latency percentiles for one measured run.
+ */
+record LoadTestReport(Map<WorkloadDriver.Operation, Histogram> histograms,
+                      Map<WorkloadDriver.Operation, Long> errors,
+                      long elapsedNanos) {
+
+    static LoadTestReport of(Map<WorkloadDriver.Operation, Histogram> histograms,
+                             Map<WorkloadDriver.Operation, LongAdder> errors,
+                             long elapsedNanos) {
+        Map<WorkloadDriver.Operation, Histogram> snapshots = new EnumMap<>(WorkloadDriver.Operation.class);
+        Map<WorkloadDriver.Operation, Long> errorCounts = new EnumMap<>(WorkloadDriver.Operation.class);
+        histograms.forEach((operation, histogram) -> snapshots.put(operation, histogram.copy()));
+        errors.forEach((operation, count) -> errorCounts.put(operation, count.sum()));
+        return new LoadTestReport(snapshots, errorCounts, elapsedNanos);
+    }
+
+    String format() {
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-16s %10s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+
+        histograms.forEach((operation, histogram) -> out.append(String.format(
+                "%-16s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                operation.name().toLowerCase(),
+                histogram.getTotalCount(),
+                errors.get(operation),
+                histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50.0)),
+                millis(histogram.getValueAtPercentile(99.0)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()))));
+
+        return out.toString();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
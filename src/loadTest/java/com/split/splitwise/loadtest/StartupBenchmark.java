@@ -0,0 +1,203 @@
+package com.split.splitwise.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cold-start benchmark for the fast-startup build.
+ *
+ * Launches the application as a child JVM, once per variant and run:
+ *
+ * 1. baseline - the boot jar, as deployed today: the same profiles without fast-startup
+ * 2. aot      - the thin jar with -Dspring.aot.enabled=true
+ * 3. aot+cds  - the same plus the AppCDS archive from ./gradlew cdsArchive
+ *
+ * Time-to-first-request is measured from process launch until /actuator/health
+ * answers 200. RSS is read right after that first response. Each child is
+ * killed before the next starts.
+ *
+ * Run with: ./gradlew startupBenchmark -PfastStartup -PaotProfiles=dev,fast-startup
+ */
+public final class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    private static final String FAST_STARTUP_PROFILE = "fast-startup";
+
+    private StartupBenchmark() {
+    }
+
+    record Variant(String name, Path workingDir, List<String> jvmArgs, String jar, String profiles) {}
+
+    record Sample(long timeToFirstRequestMillis, long rssKb) {}
+
+    public static void main(String[] args) throws Exception {
+        Path bootJar = Path.of(requiredProperty("startup.bootJar"));
+        Path fastStartupDir = Path.of(requiredProperty("startup.fastStartupDir"));
+        String profiles = System.getProperty("startup.profiles", "prod,fast-startup");
+        int runs = Integer.parseInt(System.getProperty("startup.runs", "5"));
+        List<String> heapArgs = List.of(System.getProperty("startup.jvmArgs", "-Xms256m -Xmx512m").split("\\s+"));
+
+        String baselineProfiles = withoutProfile(profiles, FAST_STARTUP_PROFILE);
+
+        List<Variant> variants = List.of(
+                new Variant("baseline", bootJar.getParent(), heapArgs, bootJar.getFileName().toString(),
+                        baselineProfiles),
+                new Variant("aot", fastStartupDir,
+                        concat(heapArgs, "-Dspring.aot.enabled=true"), "splitwise.jar", profiles),
+                new Variant("aot+cds", fastStartupDir,
+                        concat(heapArgs, "-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=splitwise.jsa"),
+                        "splitwise.jar", profiles));
+
+        Path reportDir = Path.of(System.getProperty("startup.reportDir", "build/reports/startup"));
+        Files.createDirectories(reportDir);
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+        StringBuilder report = new StringBuilder()
+                .append(String.format("Startup benchmark, profiles [%s] (baseline [%s]), %d runs per variant%n%n",
+                        profiles, baselineProfiles, runs))
+                .append(String.format("%-10s %12s %12s %12s %12s%n",
+                        "variant", "ttfr p50 ms", "ttfr min ms", "ttfr max ms", "rss p50 MB"));
+
+        for (Variant variant : variants) {
+            List<Sample> samples = new ArrayList<>();
+            for (int run = 1; run <= runs; run++) {
+                Path log = reportDir.resolve(variant.name().replace('+', '-') + "-" + run + ".log");
+                Sample sample = launch(variant, log, httpClient);
+                System.out.printf("%-10s run %d: first request after %d ms, RSS %d MB%n",
+                        variant.name(), run, sample.timeToFirstRequestMillis(), sample.rssKb() / 1024);
+                samples.add(sample);
+            }
+            long[] ttfr = samples.stream().mapToLong(Sample::timeToFirstRequestMillis).sorted().toArray();
+            long[] rss = samples.stream().mapToLong(Sample::rssKb).sorted().toArray();
+            report.append(String.format("%-10s %12d %12d %12d %12d%n",
+                    variant.name(), median(ttfr), ttfr[0], ttfr[ttfr.length - 1], median(rss) / 1024));
+        }
+
+        String formatted = report.toString();
+        System.out.println();
+        System.out.println(formatted);
+        Path reportFile = reportDir.resolve("report.txt");
+        Files.writeString(reportFile, formatted);
+        System.out.printf("Report written to %s%n", reportFile.toAbsolutePath());
+    }
+
+    private static Sample launch(Variant variant, Path log, HttpClient httpClient)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(javaExecutable());
+        command.addAll(variant.jvmArgs());
+        command.addAll(List.of("-jar", variant.jar(),
+                "--spring.profiles.active=" + variant.profiles(),
+                "--server.port=" + port,
+                "--spring.jpa.show-sql=false"));
+
+        HttpRequest probe = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(1))
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(variant.workingDir().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            long deadline = start + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(variant.name() + " exited with code "
+                            + process.exitValue() + " before serving a request, see " + log);
+                }
+                if (healthy(httpClient, probe)) {
+                    long ttfr = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    return new Sample(ttfr, rssKb(process.pid()));
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+            throw new IllegalStateException(variant.name() + " did not serve a request within "
+                    + STARTUP_TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static boolean healthy(HttpClient httpClient, HttpRequest probe) throws InterruptedException {
+        try {
+            return httpClient.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException notListeningYet) {
+            return false;
+        }
+    }
+
+    /**
+     * Resident set size of the child, from /proc on Linux and ps elsewhere.
+     */
+    private static long rssKb(long pid) throws IOException, InterruptedException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (Files.isReadable(status)) {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        }
+        Process ps = new ProcessBuilder("ps", "-o", "rss=", "-p", String.valueOf(pid)).start();
+        String output = new String(ps.getInputStream().readAllBytes()).trim();
+        ps.waitFor();
+        return output.isEmpty() ? -1 : Long.parseLong(output);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String javaExecutable() {
+        return ProcessHandle.current().info().command().orElse("java");
+    }
+
+    private static long median(long[] sorted) {
+        return sorted[sorted.length / 2];
+    }
+
+    private static List<String> concat(List<String> base, String... extra) {
+        List<String> args = new ArrayList<>(base);
+        args.addAll(Arrays.asList(extra));
+        return args;
+    }
+
+    private static String withoutProfile(String profiles, String excluded) {
+        return Arrays.stream(profiles.split(","))
+                .map(String::trim)
+                .filter(profile -> !profile.isEmpty() && !profile.equals(excluded))
+                .collect(Collectors.joining(","));
+    }
+
+    private static String requiredProperty(String name) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing system property " + name
+                    + "; run through ./gradlew startupBenchmark -PfastStartup");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,168 @@
+package com.split.splitwise.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.split.splitwise.dto.request.AddMemberRequest;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model workload driver with coordinated-omission correction.
+ *
+ * Requests are scheduled at a fixed arrival rate and each one is timed from its
+ * INTENDED start, not from when it was actually sent. If the server (or this
+ * driver) stalls, the queued requests are charged the full wait, exactly as real
+ * users would experience it. Each request runs on its own virtual thread, so a
+ * slow response never delays the next arrival.
+ *
+ * Random choices stay reproducible from the seed: the scheduler thread picks
+ * each operation and splits off a SplittableRandom for the request, which then
+ * owns it on its virtual thread.
+ */
+final class WorkloadDriver {
+
+    enum Operation { CREATE_EXPENSE, BALANCES, SETTLEMENTS, ADD_MEMBER }
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String baseUrl;
+    private final LoadTestConfig config;
+    private final DatasetGenerator.Dataset dataset;
+    private final DatasetGenerator generator;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final SplittableRandom random;
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    WorkloadDriver(String baseUrl, LoadTestConfig config, DatasetGenerator.Dataset dataset,
+                   DatasetGenerator generator, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.config = config;
+        this.dataset = dataset;
+        this.generator = generator;
+        this.objectMapper = objectMapper;
+        this.random = new SplittableRandom(config.seed() + 1);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(SIGNIFICANT_DIGITS));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Runs the workload for the given duration and returns the measured results.
+     * Histograms are reset at the start, so a warmup run does not leak into the report.
+     */
+    LoadTestReport run(Duration duration) throws InterruptedException {
+        histograms.values().forEach(Histogram::reset);
+        errors.values().forEach(LongAdder::reset);
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.targetRate();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intendedStart = start + i * intervalNanos;
+                if (intendedStart >= end) {
+                    break;
+                }
+                parkUntil(intendedStart);
+
+                Operation operation = pickOperation();
+                SplittableRandom requestRandom = random.split();
+                executor.submit(() -> execute(operation, requestRandom, intendedStart));
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        return LoadTestReport.of(histograms, errors, elapsedNanos);
+    }
+
+    private void execute(Operation operation, SplittableRandom requestRandom, long intendedStart) {
+        try {
+            HttpRequest request = buildRequest(operation, requestRandom);
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+                errors.get(operation).increment();
+            }
+        } catch (Exception e) {
+            errors.get(operation).increment();
+        } finally {
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+            histograms.get(operation).recordValue(latencyMicros);
+        }
+    }
+
+    private HttpRequest buildRequest(Operation operation, SplittableRandom requestRandom) throws Exception {
+        UUID groupId = dataset.groupIds().get(requestRandom.nextInt(dataset.groupIds().size()));
+        String groupUrl = baseUrl + "/api/v1/groups/" + groupId;
+
+        return switch (operation) {
+            case BALANCES -> HttpRequest.newBuilder(URI.create(groupUrl + "/balances")).GET().build();
+            case SETTLEMENTS -> HttpRequest.newBuilder(URI.create(groupUrl + "/settlements")).GET().build();
+            case CREATE_EXPENSE -> post(groupUrl + "/expenses",
+                    generator.randomExpense(dataset.membersByGroup().get(groupId), requestRandom));
+            case ADD_MEMBER -> {
+                UUID userId = dataset.spareUserIds().poll();
+                if (userId == null) {
+                    throw new IllegalStateException("Spare users exhausted, raise loadtest.spareUsers");
+                }
+                yield post(groupUrl + "/members", AddMemberRequest.builder().userId(userId).build());
+            }
+        };
+    }
+
+    private HttpRequest post(String url, Object body) throws Exception {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private Operation pickOperation() {
+        int roll = random.nextInt(100);
+        List<Map.Entry<Operation, Integer>> mix = List.of(
+                Map.entry(Operation.CREATE_EXPENSE, config.createExpensePercent()),
+                Map.entry(Operation.BALANCES, config.balancesPercent()),
+                Map.entry(Operation.SETTLEMENTS, config.settlementsPercent()),
+                Map.entry(Operation.ADD_MEMBER, config.addMemberPercent()));
+
+        int cumulative = 0;
+        for (Map.Entry<Operation, Integer> entry : mix) {
+            cumulative += entry.getValue();
+            if (roll < cumulative) {
+                return entry.getKey();
+            }
+        }
+        return Operation.BALANCES;
+    }
+
+    private static void parkUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
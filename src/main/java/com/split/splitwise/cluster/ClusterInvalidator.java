@@ -0,0 +1,269 @@
+package com.split.splitwise.cluster;
+
+import com.split.splitwise.datasource.ReplicaRoutingContext;
+import com.split.splitwise.entity.Group;
+import com.split.splitwise.entity.User;
+import com.split.splitwise.event.ExpenseCreatedEvent;
+import com.split.splitwise.event.GroupMovedEvent;
+import com.split.splitwise.event.MemberAddedEvent;
+import com.split.splitwise.event.UserCreatedEvent;
+import com.split.splitwise.service.cache.GroupVersionTracker;
+import com.split.splitwise.service.columnar.ColumnarLedgerStore;
+import com.split.splitwise.service.search.ExpenseSearchIndex;
+import com.split.splitwise.service.search.UserSearchIndex;
+import com.split.splitwise.service.stream.BalanceStreamRegistry;
+import com.split.splitwise.sharding.ShardDirectory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps this node's local caches in step with writes made on other nodes.
+ *
+ * Outgoing: each committed createExpense / addMember queues a GROUP
+ * invalidation, each createUser a USER one and each shard move a SHARD one. Queued invalidations are
+ * de-duplicated and published as one InvalidationMessage every batch-window,
+ * or sooner once max-batch-size are waiting.
+ *
+ * Incoming (messages from other nodes only):
+ * - GROUP: drop it from the columnar ledger, evict the cached Group, then
+ *   bump the group's version (new ETags, no coalescing onto older reads);
+ *   the expense search index reads the new ledger events once per message,
+ *   and open balance streams of the group get the remote expenses' deltas
+ * - USER: evict the cached User and index the user for type-ahead search,
+ *   read from the primary since a replica may not have the user yet
+ * - SHARD: re-read the group's placement into the shard directory, so this
+ *   node stops routing it to the shard it was moved off
+ * - either: evict cached query results (existsByEmail,
+ *   existsByGroupIdAndUserId); Hibernate tracks table changes per node, so
+ *   those results cannot notice a remote write by themselves
+ * - ALL: all of the above for every group and user
+ */
+@Slf4j
+@Component
+public class ClusterInvalidator {
+
+    private final InvalidationBus bus;
+    private final GroupVersionTracker groupVersionTracker;
+    private final ColumnarLedgerStore columnarLedgerStore;
+    private final UserSearchIndex userSearchIndex;
+    private final ExpenseSearchIndex expenseSearchIndex;
+    private final BalanceStreamRegistry balanceStreamRegistry;
+    private final ObjectProvider<ShardDirectory> shardDirectory;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Duration batchWindow;
+    private final int maxBatchSize;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    // Guarded by itself; insertion-ordered so a batch keeps the order of the writes
+    private final Set<Invalidation> pending = new LinkedHashSet<>();
+
+    private final Counter published;
+    private final Counter received;
+    private final Counter batches;
+
+    private ScheduledExecutorService executor;
+
+    public ClusterInvalidator(InvalidationBus bus,
+                              GroupVersionTracker groupVersionTracker,
+                              ColumnarLedgerStore columnarLedgerStore,
+                              UserSearchIndex userSearchIndex,
+                              ExpenseSearchIndex expenseSearchIndex,
+                              BalanceStreamRegistry balanceStreamRegistry,
+                              ObjectProvider<ShardDirectory> shardDirectory,
+                              EntityManagerFactory entityManagerFactory,
+                              MeterRegistry meterRegistry,
+                              @Value("${splitwise.cluster.batch-window:50ms}") Duration batchWindow,
+                              @Value("${splitwise.cluster.max-batch-size:500}") int maxBatchSize) {
+        this.bus = bus;
+        this.groupVersionTracker = groupVersionTracker;
+        this.columnarLedgerStore = columnarLedgerStore;
+        this.userSearchIndex = userSearchIndex;
+        this.expenseSearchIndex = expenseSearchIndex;
+        this.balanceStreamRegistry = balanceStreamRegistry;
+        this.shardDirectory = shardDirectory;
+        this.entityManagerFactory = entityManagerFactory;
+        this.batchWindow = batchWindow;
+        this.maxBatchSize = maxBatchSize;
+
+        this.published = invalidations(meterRegistry, "published");
+        this.received = invalidations(meterRegistry, "received");
+        this.batches = Counter.builder("splitwise.cluster.batches")
+                .description("Invalidation messages published")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        bus.subscribe(this::onMessage);
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "invalidation-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flushQuietly,
+                batchWindow.toMillis(), batchWindow.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Cluster invalidation started as node {} on {}", nodeId, bus.getClass().getSimpleName());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+            flushQuietly();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExpenseCreated(ExpenseCreatedEvent event) {
+        enqueue(Invalidation.group(event.groupId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMemberAdded(MemberAddedEvent event) {
+        enqueue(Invalidation.group(event.groupId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onGroupMoved(GroupMovedEvent event) {
+        enqueue(Invalidation.shard(event.groupId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserCreated(UserCreatedEvent event) {
+        enqueue(Invalidation.user(event.user().getId()));
+    }
+
+    /**
+     * Publishes everything queued so far as one message. Returns the number of invalidations sent.
+     */
+    public int flush() {
+        List<Invalidation> batch;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            batch = new ArrayList<>(pending);
+            pending.clear();
+        }
+
+        try {
+            bus.publish(new InvalidationMessage(nodeId, batch));
+        } catch (RuntimeException e) {
+            synchronized (pending) {
+                pending.addAll(batch);
+            }
+            throw e;
+        }
+        published.increment(batch.size());
+        batches.increment();
+        return batch.size();
+    }
+
+    String nodeId() {
+        return nodeId;
+    }
+
+    void onMessage(InvalidationMessage message) {
+        if (nodeId.equals(message.origin())) {
+            return;
+        }
+        received.increment(message.invalidations().size());
+
+        // versions move last, so a read keyed on the new version never sees the old caches
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictDefaultQueryRegion();
+        boolean expensesChanged = false;
+        boolean resync = false;
+        Set<UUID> changedGroups = new LinkedHashSet<>();
+        for (Invalidation invalidation : message.invalidations()) {
+            switch (invalidation.kind()) {
+                case GROUP -> {
+                    columnarLedgerStore.invalidate(invalidation.id());
+                    cache.evictEntityData(Group.class, invalidation.id());
+                    groupVersionTracker.bump(invalidation.id());
+                    changedGroups.add(invalidation.id());
+                    expensesChanged = true;
+                }
+                case USER -> {
+                    cache.evictEntityData(User.class, invalidation.id());
+                    ReplicaRoutingContext.onPrimary(() -> {
+                        userSearchIndex.reindex(invalidation.id());
+                        return null;
+                    });
+                }
+                case SHARD -> shardDirectory.ifAvailable(directory -> directory.reload(invalidation.id()));
+                case ALL -> {
+                    shardDirectory.ifAvailable(ShardDirectory::reloadAll);
+                    columnarLedgerStore.invalidateAll();
+                    cache.evictAllRegions();
+                    ReplicaRoutingContext.onPrimary(() -> {
+                        userSearchIndex.rebuild();
+                        return null;
+                    });
+                    groupVersionTracker.bumpAll();
+                    expensesChanged = true;
+                    resync = true;
+                }
+            }
+        }
+        if (expensesChanged) {
+            // Indexes the remote expenses now rather than on the index's next poll
+            expenseSearchIndex.catchUp();
+        }
+        if (resync) {
+            balanceStreamRegistry.catchUpAll();
+        } else {
+            changedGroups.forEach(balanceStreamRegistry::catchUp);
+        }
+        log.debug("Applied {} invalidations from node {}", message.invalidations().size(), message.origin());
+    }
+
+    private void enqueue(Invalidation invalidation) {
+        boolean full;
+        synchronized (pending) {
+            pending.add(invalidation);
+            full = pending.size() >= maxBatchSize;
+        }
+        ScheduledExecutorService current = executor;
+        if (full && current != null) {
+            current.execute(this::flushQuietly);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Publishing invalidations failed; retrying with the next batch", e);
+        }
+    }
+
+    private static Counter invalidations(MeterRegistry registry, String direction) {
+        return Counter.builder("splitwise.cluster.invalidations")
+                .description("Cache invalidations sent to or applied from other nodes")
+                .tag("direction", direction)
+                .register(registry);
+    }
+}
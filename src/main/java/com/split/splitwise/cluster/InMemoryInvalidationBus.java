@@ -0,0 +1,68 @@
+package com.split.splitwise.cluster;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Invalidation bus between the application contexts of one JVM.
+ *
+ * Every context's bus joins a JVM-wide hub under splitwise.cluster.channel, so
+ * several contexts started side by side (see ClusterInvalidationIntegrationTest)
+ * behave like nodes sharing a database. Publishing delivers to every member
+ * of the channel on the caller's thread. With a single context this is only a
+ * loopback, which ClusterInvalidator ignores.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "splitwise.cluster.bus", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryInvalidationBus implements InvalidationBus {
+
+    private static final Map<String, List<InMemoryInvalidationBus>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final String channel;
+    private final List<Consumer<InvalidationMessage>> subscribers = new CopyOnWriteArrayList<>();
+
+    public InMemoryInvalidationBus(@Value("${splitwise.cluster.channel:splitwise_invalidations}") String channel) {
+        this.channel = channel;
+        CHANNELS.computeIfAbsent(channel, name -> new CopyOnWriteArrayList<>()).add(this);
+    }
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        for (InMemoryInvalidationBus member : CHANNELS.getOrDefault(channel, List.of())) {
+            member.deliver(message);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationMessage> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @PreDestroy
+    public void leave() {
+        CHANNELS.computeIfPresent(channel, (name, members) -> {
+            members.remove(this);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    private void deliver(InvalidationMessage message) {
+        for (Consumer<InvalidationMessage> subscriber : subscribers) {
+            try {
+                subscriber.accept(message);
+            } catch (RuntimeException e) {
+                log.warn("Invalidation subscriber on channel {} failed", channel, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.split.splitwise.cluster;
+
+import java.util.UUID;
+
+/**
+ * One piece of local state another node must drop: everything cached for a
+ * group, everything cached for a user, a group's cached shard placement, or
+ * (ALL, after a node may have missed messages) every local cache.
+ */
+public record Invalidation(Kind kind, UUID id) {
+
+    public enum Kind {
+        /** Balances, settlements, membership of a group changed. */
+        GROUP,
+        /** A user was created or changed. */
+        USER,
+        /** A group was moved to another shard (sharded profile). */
+        SHARD,
+        /** Drop everything; id is null. */
+        ALL
+    }
+
+    public static Invalidation group(UUID groupId) {
+        return new Invalidation(Kind.GROUP, groupId);
+    }
+
+    public static Invalidation user(UUID userId) {
+        return new Invalidation(Kind.USER, userId);
+    }
+
+    public static Invalidation shard(UUID groupId) {
+        return new Invalidation(Kind.SHARD, groupId);
+    }
+
+    public static Invalidation all() {
+        return new Invalidation(Kind.ALL, null);
+    }
+}
@@ -0,0 +1,22 @@
+package com.split.splitwise.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries invalidation batches between the nodes of a deployment.
+ *
+ * Delivery is at most once and unordered across publishers. A bus that may
+ * have dropped messages (e.g. after reconnecting) delivers an ALL
+ * invalidation so subscribers start over. Messages are also delivered to the
+ * node that published them.
+ *
+ * Implementations: InMemoryInvalidationBus (application contexts in one JVM;
+ * the default) and PostgresInvalidationBus (LISTEN/NOTIFY), chosen with
+ * splitwise.cluster.bus.
+ */
+public interface InvalidationBus {
+
+    void publish(InvalidationMessage message);
+
+    void subscribe(Consumer<InvalidationMessage> subscriber);
+}
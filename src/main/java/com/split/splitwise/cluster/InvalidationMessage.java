@@ -0,0 +1,57 @@
+package com.split.splitwise.cluster;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A batch of invalidations from one node. origin lets a node skip its own
+ * messages, which both buses deliver back to the sender.
+ *
+ * Text form (for NOTIFY payloads): origin|G:uuid,U:uuid,S:uuid,A
+ */
+public record InvalidationMessage(String origin, List<Invalidation> invalidations) {
+
+    private static final char ORIGIN_SEPARATOR = '|';
+    private static final String ENTRY_SEPARATOR = ",";
+
+    public String encode() {
+        StringBuilder text = new StringBuilder(origin.length() + 1 + invalidations.size() * 39);
+        text.append(origin).append(ORIGIN_SEPARATOR);
+        for (int i = 0; i < invalidations.size(); i++) {
+            if (i > 0) {
+                text.append(ENTRY_SEPARATOR);
+            }
+            Invalidation invalidation = invalidations.get(i);
+            switch (invalidation.kind()) {
+                case GROUP -> text.append("G:").append(invalidation.id());
+                case USER -> text.append("U:").append(invalidation.id());
+                case SHARD -> text.append("S:").append(invalidation.id());
+                case ALL -> text.append('A');
+            }
+        }
+        return text.toString();
+    }
+
+    public static InvalidationMessage decode(String text) {
+        int separator = text.indexOf(ORIGIN_SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Not an invalidation message: " + text);
+        }
+
+        List<Invalidation> invalidations = new ArrayList<>();
+        String body = text.substring(separator + 1);
+        if (!body.isEmpty()) {
+            for (String entry : body.split(ENTRY_SEPARATOR)) {
+                invalidations.add(switch (entry.charAt(0)) {
+                    case 'G' -> Invalidation.group(UUID.fromString(entry.substring(2)));
+                    case 'U' -> Invalidation.user(UUID.fromString(entry.substring(2)));
+                    case 'S' -> Invalidation.shard(UUID.fromString(entry.substring(2)));
+                    case 'A' -> Invalidation.all();
+                    default -> throw new IllegalArgumentException("Unknown invalidation: " + entry);
+                });
+            }
+        }
+        return new InvalidationMessage(text.substring(0, separator), invalidations);
+    }
+}
@@ -0,0 +1,166 @@
+package com.split.splitwise.cluster;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Invalidation bus over Postgres LISTEN/NOTIFY (splitwise.cluster.bus=postgres).
+ *
+ * Publishing runs pg_notify on a pooled connection, in chunks that stay under
+ * the 8000-byte payload limit. Listening holds one dedicated connection, opened
+ * with DriverManager rather than taken from the pool, on a daemon thread that
+ * waits up to poll-timeout for notifications.
+ *
+ * Notifications sent while the listener is disconnected are lost. So after a
+ * reconnect the bus delivers an ALL invalidation, and subscribers drop
+ * everything they cached.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "splitwise.cluster.bus", havingValue = "postgres")
+public class PostgresInvalidationBus implements InvalidationBus {
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+    // ~39 bytes per entry, so 150 entries plus the origin stay well below 8000 bytes
+    private static final int MAX_ENTRIES_PER_NOTIFY = 150;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+    private final List<Consumer<InvalidationMessage>> subscribers = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresInvalidationBus(JdbcTemplate jdbcTemplate,
+                                   @Value("${splitwise.cluster.channel:splitwise_invalidations}") String channel,
+                                   @Value("${splitwise.cluster.postgres.url:${spring.datasource.url}}") String url,
+                                   @Value("${splitwise.cluster.postgres.username:${spring.datasource.username}}") String username,
+                                   @Value("${splitwise.cluster.postgres.password:${spring.datasource.password}}") String password,
+                                   @Value("${splitwise.cluster.postgres.poll-timeout:1s}") Duration pollTimeout,
+                                   @Value("${splitwise.cluster.postgres.reconnect-delay:5s}") Duration reconnectDelay) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid LISTEN channel name: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.channel = channel;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        List<Invalidation> invalidations = message.invalidations();
+        for (int from = 0; from < invalidations.size(); from += MAX_ENTRIES_PER_NOTIFY) {
+            List<Invalidation> chunk = invalidations.subList(from, Math.min(from + MAX_ENTRIES_PER_NOTIFY, invalidations.size()));
+            String payload = new InvalidationMessage(message.origin(), chunk).encode();
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, payload);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationMessage> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            listener = null;
+        }
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for invalidations on channel {}", channel);
+                if (reconnecting) {
+                    // anything sent while disconnected is gone
+                    deliver(new InvalidationMessage("", List.of(Invalidation.all())));
+                }
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        InvalidationMessage message;
+                        try {
+                            message = InvalidationMessage.decode(notification.getParameter());
+                        } catch (IllegalArgumentException e) {
+                            log.warn("Ignoring malformed invalidation on channel {}: {}", channel, e.getMessage());
+                            continue;
+                        }
+                        deliver(message);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Invalidation listener on channel {} failed; reconnecting in {}", channel, reconnectDelay, e);
+                reconnecting = true;
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void deliver(InvalidationMessage message) {
+        for (Consumer<InvalidationMessage> subscriber : subscribers) {
+            try {
+                subscriber.accept(message);
+            } catch (RuntimeException e) {
+                log.warn("Invalidation subscriber on channel {} failed", channel, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.split.splitwise.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+
+/**
+ * Non-blocking read stack for balance and settlement queries (profile: reactive-reads).
+ *
+ * Why the pool is not exposed as a bean:
+ * Spring Boot skips JDBC DataSource auto-configuration as soon as an
+ * io.r2dbc.spi.ConnectionFactory bean exists, which would take JPA down with it.
+ * The pool is therefore owned by this configuration and only the DatabaseClient
+ * is published. R2DBC auto-configuration is excluded in application.yaml.
+ *
+ * CPU-bound work (balance folding, settlement solving) runs on a dedicated
+ * parallel scheduler so it never competes with the driver's event loop.
+ *
+ * The pool has one fixed URL and knows nothing about ShardContext or replica
+ * routing, so the profile refuses to start next to sharded (groups would be
+ * read from the global database, where they do not live) or read-replicas
+ * (the reads would silently skip the replicas and their read-your-writes
+ * window).
+ */
+@Slf4j
+@Configuration
+@Profile("reactive-reads")
+public class ReactiveReadConfig implements DisposableBean {
+
+    private static final Map<String, String> INCOMPATIBLE_PROFILES = Map.of(
+            "sharded", "group data lives on the group shards, but the R2DBC pool only reaches splitwise.reactive.url",
+            "read-replicas", "the R2DBC pool does not route reads to replicas");
+
+    private ConnectionPool connectionPool;
+
+    public ReactiveReadConfig(Environment environment) {
+        INCOMPATIBLE_PROFILES.forEach((profile, reason) -> {
+            if (environment.acceptsProfiles(Profiles.of(profile))) {
+                throw new IllegalStateException(
+                        "The reactive-reads profile cannot be combined with the " + profile + " profile: " + reason);
+            }
+        });
+    }
+
+    @Bean
+    public DatabaseClient ledgerDatabaseClient(
+            @Value("${splitwise.reactive.url}") String url,
+            @Value("${splitwise.reactive.username:}") String username,
+            @Value("${splitwise.reactive.password:}") String password,
+            @Value("${splitwise.reactive.pool-size:10}") int poolSize) {
+
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options))
+                .name("ledger-read")
+                .maxSize(poolSize)
+                .build());
+
+        log.info("Reactive read pool initialized for {} with max size {}", url, poolSize);
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler ledgerReadScheduler(
+            @Value("${splitwise.reactive.scheduler-threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+            int threads) {
+        return Schedulers.newParallel("ledger-read", threads);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
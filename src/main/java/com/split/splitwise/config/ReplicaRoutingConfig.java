@@ -0,0 +1,84 @@
+package com.split.splitwise.config;
+
+import com.split.splitwise.datasource.ReadYourWritesFilter;
+import com.split.splitwise.datasource.ReplicaProperties;
+import com.split.splitwise.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Primary/replica DataSource for the read-replicas profile.
+ *
+ * Services are already @Transactional(readOnly = true) at class level, so every
+ * read path is routed to a replica without code changes; @Transactional write
+ * methods stay on the primary. Only the routing DataSource is registered as a
+ * bean, which keeps Boot's DataSource auto-configuration and SQL tracking
+ * looking at a single DataSource.
+ */
+@Slf4j
+@Configuration
+@Profile("read-replicas")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaRoutingConfig implements DisposableBean {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties dataSourceProperties,
+                                 ReplicaProperties replicaProperties,
+                                 Environment environment) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        pools.add(primary);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaProperties.getReplicas().size(); i++) {
+            ReplicaProperties.Replica replica = replicaProperties.getReplicas().get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + i);
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername());
+            pool.setPassword(replica.getPassword());
+            pool.setMaximumPoolSize(replicaProperties.getReplicaPoolSize());
+            pool.setReadOnly(true);
+            replicas.add(pool);
+            pools.add(pool);
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas);
+        routing.afterPropertiesSet();
+
+        log.info("Read-replica routing enabled with {} replica(s), read-your-writes window {}",
+                replicas.size(), replicaProperties.getReadYourWritesWindow());
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicaProperties replicaProperties) {
+        return new ReadYourWritesFilter(replicaProperties.getReadYourWritesWindow());
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
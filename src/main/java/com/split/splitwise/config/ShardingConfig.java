@@ -0,0 +1,184 @@
+package com.split.splitwise.config;
+
+import com.split.splitwise.dto.request.SettlementMode;
+import com.split.splitwise.exception.BusinessRuleException;
+import com.split.splitwise.sharding.ConsistentHashRing;
+import com.split.splitwise.sharding.ShardContext;
+import com.split.splitwise.sharding.ShardDataSources;
+import com.split.splitwise.sharding.ShardDirectory;
+import com.split.splitwise.sharding.ShardEndpoint;
+import com.split.splitwise.sharding.ShardRebalancer;
+import com.split.splitwise.sharding.ShardRoutingDataSource;
+import com.split.splitwise.sharding.ShardingProperties;
+import com.split.splitwise.sharding.UserReplicator;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Group-sharded persistence for the sharded profile.
+ *
+ * One EntityManagerFactory sits on a routing DataSource: group-scoped service
+ * methods bind their groupId (ShardContext) and the transaction's connection
+ * goes to the group's shard; everything else, including user writes, goes to
+ * the global shard. Users are replicated to each shard so foreign keys and
+ * joins stay local. Not combinable with the read-replicas profile.
+ *
+ * Ledger events are appended inside the group transaction, so they land on the
+ * group's shard, while the projector and its projections only use the global
+ * shard. The projector must therefore be disabled, and the reads served from
+ * projections (dashboard, activity, analytics, STABLE settlements) are refused
+ * instead of answering from empty tables.
+ */
+@Slf4j
+@Configuration
+@Profile("sharded")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig implements DisposableBean {
+
+    private static final List<String> PROJECTION_READS = List.of(
+            "/api/v1/users/*/dashboard",
+            "/api/v1/users/*/activity",
+            "/api/v1/groups/*/analytics");
+    private static final String SETTLEMENTS = "/api/v1/groups/*/settlements";
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    public ShardingConfig(@Value("${splitwise.ledger.projector.enabled:true}") boolean projectorEnabled) {
+        if (projectorEnabled) {
+            throw new IllegalStateException("The sharded profile requires splitwise.ledger.projector.enabled=false: "
+                    + "ledger events are written to group shards but projections are only maintained on the global shard");
+        }
+    }
+
+    @Bean
+    public ShardDataSources shardDataSources(ShardingProperties properties) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("splitwise.sharding.shards must list at least one shard");
+        }
+
+        DataSource global = pool("shard-global", properties.getGlobal(), properties.getPoolSize());
+        List<DataSource> shards = new ArrayList<>();
+        for (int i = 0; i < properties.getShards().size(); i++) {
+            shards.add(pool("shard-" + i, properties.getShards().get(i), properties.getPoolSize()));
+        }
+        return new ShardDataSources(global, shards);
+    }
+
+    @Bean
+    public ShardDirectory shardDirectory(ShardDataSources dataSources, ShardingProperties properties) {
+        ConsistentHashRing ring = new ConsistentHashRing(dataSources.shardCount(), properties.getVirtualNodes());
+        ShardDirectory directory = new ShardDirectory(ring, dataSources);
+        directory.load();
+        return directory;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources dataSources, ShardDirectory directory) {
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(dataSources, directory);
+        routing.afterPropertiesSet();
+
+        log.info("Sharded persistence enabled with {} group shards", dataSources.shardCount());
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public UserReplicator userReplicator(ShardDataSources dataSources) {
+        return new UserReplicator(dataSources);
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardDataSources dataSources, ShardDirectory directory,
+                                           ApplicationEventPublisher eventPublisher) {
+        return new ShardRebalancer(dataSources, directory, eventPublisher);
+    }
+
+    @Bean
+    public ShardEndpoint shardEndpoint(ShardRebalancer rebalancer, UserReplicator userReplicator) {
+        return new ShardEndpoint(rebalancer, userReplicator);
+    }
+
+    @Bean
+    public WebMvcConfigurer projectionReadGuard() {
+        HandlerInterceptor guard = new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                boolean settlements = PATHS.match(SETTLEMENTS, request.getRequestURI());
+                if (!settlements || SettlementMode.STABLE.name().equalsIgnoreCase(request.getParameter("mode"))) {
+                    throw new BusinessRuleException("This read is served from ledger projections, "
+                            + "which are not maintained under the sharded profile", HttpStatus.NOT_IMPLEMENTED);
+                }
+                return true;
+            }
+        };
+
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                List<String> paths = new ArrayList<>(PROJECTION_READS);
+                paths.add(SETTLEMENTS);
+                registry.addInterceptor(guard).addPathPatterns(paths);
+            }
+        };
+    }
+
+    /**
+     * Hibernate's ddl-auto only reaches the global shard; export the same
+     * schema to each group shard before the application takes traffic.
+     */
+    @Bean
+    public SmartInitializingSingleton shardSchemaExporter(EntityManagerFactory entityManagerFactory,
+                                                          ShardDataSources dataSources,
+                                                          ShardingProperties properties) {
+        return () -> {
+            if (!properties.isCreateSchema()) {
+                return;
+            }
+            SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+            for (int shard = 0; shard < dataSources.shardCount(); shard++) {
+                ShardContext.runOnShard(shard, () -> sessionFactory.getSchemaManager().exportMappedObjects(true));
+            }
+            log.info("Exported schema to {} group shards", dataSources.shardCount());
+        };
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private DataSource pool(String name, ShardingProperties.Node node, int poolSize) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(node.getUrl());
+        pool.setUsername(node.getUsername());
+        pool.setPassword(node.getPassword());
+        pool.setMaximumPoolSize(poolSize);
+        pools.add(pool);
+        return pool;
+    }
+}
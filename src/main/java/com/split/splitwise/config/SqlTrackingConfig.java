@@ -0,0 +1,58 @@
+package com.split.splitwise.config;
+
+import com.split.splitwise.metrics.SqlStatementFilter;
+import com.split.splitwise.metrics.SqlStatementTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the JDBC DataSource with datasource-proxy so every statement is
+ * reported to SqlStatementTracker, and registers the per-request filter.
+ *
+ * Off unless splitwise.sql.tracking.enabled=true, which the dev profile (and
+ * so the integration tests) sets; the proxy sits on every JDBC call.
+ */
+@Configuration
+@ConditionalOnProperty(name = "splitwise.sql.tracking.enabled", havingValue = "true")
+public class SqlTrackingConfig {
+
+    @Bean
+    public static SqlStatementTracker sqlStatementTracker() {
+        return new SqlStatementTracker();
+    }
+
+    /**
+     * Static so the post-processor is registered before the DataSource is created.
+     */
+    @Bean
+    public static BeanPostProcessor sqlTrackingDataSourcePostProcessor(ObjectProvider<SqlStatementTracker> tracker) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(tracker.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SqlStatementFilter sqlStatementFilter(
+            SqlStatementTracker sqlStatementTracker,
+            MeterRegistry meterRegistry,
+            @Value("${splitwise.sql.repeated-select-threshold:3}") int repeatedSelectThreshold) {
+        return new SqlStatementFilter(sqlStatementTracker, meterRegistry, repeatedSelectThreshold);
+    }
+}
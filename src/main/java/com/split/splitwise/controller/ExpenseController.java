@@ -1,11 +1,19 @@
 package com.split.splitwise.controller;
 
 import com.split.splitwise.dto.request.CreateExpenseRequest;
+import com.split.splitwise.dto.request.SettlementMode;
 import com.split.splitwise.dto.response.ApiResponse;
 import com.split.splitwise.dto.response.BalanceResponse;
 import com.split.splitwise.dto.response.ExpenseResponse;
+import com.split.splitwise.dto.response.ExpenseSearchResponse;
 import com.split.splitwise.dto.response.SettlementResponse;
+import com.split.splitwise.service.ExpenseSearchService;
 import com.split.splitwise.service.ExpenseService;
+import com.split.splitwise.service.GroupService;
+import com.split.splitwise.service.SettlementPlanService;
+import com.split.splitwise.service.cache.GroupVersionTracker;
+import com.split.splitwise.service.cache.LedgerReadCoalescer;
+import com.split.splitwise.service.stream.BalanceStreamRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -13,9 +21,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.UUID;
 
@@ -27,6 +37,12 @@ import java.util.UUID;
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final ExpenseSearchService expenseSearchService;
+    private final GroupService groupService;
+    private final GroupVersionTracker groupVersionTracker;
+    private final LedgerReadCoalescer ledgerReadCoalescer;
+    private final SettlementPlanService settlementPlanService;
+    private final BalanceStreamRegistry balanceStreamRegistry;
 
     @PostMapping("/expenses")
     @Operation(summary = "Create an expense", 
@@ -48,25 +64,83 @@ public class ExpenseController {
                 .body(ApiResponse.success("Expense created successfully", expense));
     }
 
+    @GetMapping("/expenses/search")
+    @Operation(summary = "Search expenses",
+               description = "Full-text search on expense descriptions, ranked by relevance and served from an "
+                       + "in-memory index. The last word also matches as a prefix")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Matching expenses"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Blank query"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Group not found")
+    })
+    public ResponseEntity<ApiResponse<ExpenseSearchResponse>> searchExpenses(
+            @Parameter(description = "Group UUID") @PathVariable UUID groupId,
+            @Parameter(description = "Words to search for") @RequestParam("q") String query,
+            @Parameter(description = "Maximum results (1-100)") @RequestParam(defaultValue = "20") int limit) {
+
+        log.info("REST request to search expenses in group {}: {}", groupId, query);
+        ExpenseSearchResponse results = expenseSearchService.searchExpenses(groupId, query, limit);
+        return ResponseEntity.ok(ApiResponse.success(results));
+    }
+
     @GetMapping("/balances")
     @Operation(summary = "Get group balances", 
                description = "Calculates net balance for each member. Positive = gets money, Negative = owes money")
     public ResponseEntity<ApiResponse<BalanceResponse>> getBalances(
-            @Parameter(description = "Group UUID") @PathVariable UUID groupId) {
+            @Parameter(description = "Group UUID") @PathVariable UUID groupId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         log.info("REST request to get balances for group: {}", groupId);
-        BalanceResponse balances = expenseService.calculateBalances(groupId);
-        return ResponseEntity.ok(ApiResponse.success(balances));
+        String etag = groupVersionTracker.etag(groupId, "balances");
+        if (groupVersionTracker.isNotModified(groupId, ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        BalanceResponse balances = ledgerReadCoalescer.balances(groupId);
+        groupVersionTracker.track(groupId);
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.success(balances));
+    }
+
+    @GetMapping("/balances/stream")
+    @Operation(summary = "Stream balance changes",
+               description = "Server-sent events: one balance-delta event per committed expense. "
+                       + "Fetch /balances first, then add each delta; refetch after reconnecting")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Group not found")
+    })
+    public SseEmitter streamBalances(@Parameter(description = "Group UUID") @PathVariable UUID groupId) {
+        log.info("REST request to stream balances for group: {}", groupId);
+        groupService.findGroupByIdOrThrow(groupId);
+        return balanceStreamRegistry.subscribe(groupId);
     }
 
     @GetMapping("/settlements")
     @Operation(summary = "Get optimized settlements", 
-               description = "Returns minimum transactions needed to settle all debts using O(n log n) algorithm")
+               description = "SIMPLIFIED (default): minimum transactions needed to settle all debts using "
+                       + "O(n log n) algorithm. PAIRWISE: who owes whom per pair of users, netted from the splits. "
+                       + "STABLE: the group's standing plan, where a new expense only changes the transfers it touches")
     public ResponseEntity<ApiResponse<SettlementResponse>> getSettlements(
-            @Parameter(description = "Group UUID") @PathVariable UUID groupId) {
+            @Parameter(description = "Group UUID") @PathVariable UUID groupId,
+            @Parameter(description = "SIMPLIFIED, PAIRWISE or STABLE") @RequestParam(defaultValue = "SIMPLIFIED") SettlementMode mode,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        log.info("REST request to get {} settlements for group: {}", mode, groupId);
+        if (mode == SettlementMode.STABLE) {
+            // read from a projection that trails the group version, so a version ETag could pin a stale plan
+            return ResponseEntity.ok(ApiResponse.success(settlementPlanService.getPlan(groupId)));
+        }
+
+        String view = mode == SettlementMode.PAIRWISE ? "settlements-pairwise" : "settlements";
+        String etag = groupVersionTracker.etag(groupId, view);
+        if (groupVersionTracker.isNotModified(groupId, ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
 
-        log.info("REST request to get settlements for group: {}", groupId);
-        SettlementResponse settlements = expenseService.calculateSettlements(groupId);
-        return ResponseEntity.ok(ApiResponse.success(settlements));
+        SettlementResponse settlements = mode == SettlementMode.PAIRWISE
+                ? ledgerReadCoalescer.pairwiseSettlements(groupId)
+                : ledgerReadCoalescer.settlements(groupId);
+        groupVersionTracker.track(groupId);
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.success(settlements));
     }
 }
@@ -0,0 +1,67 @@
+package com.split.splitwise.controller;
+
+import com.split.splitwise.dto.request.BulkAddMembersRequest;
+import com.split.splitwise.dto.request.BulkCreateGroupsRequest;
+import com.split.splitwise.dto.response.ApiResponse;
+import com.split.splitwise.dto.response.BulkOperationResponse;
+import com.split.splitwise.service.GroupBulkService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * Bulk variants of the group endpoints, as custom methods on the collection
+ * ({@code /groups:bulk}) and on a group's members ({@code /groups/{id}/members:bulk}).
+ * Both answer 200 with a per-item result; individual failures do not fail the request.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+@Tag(name = "Groups", description = "Group management APIs")
+public class GroupBulkController {
+
+    private final GroupBulkService groupBulkService;
+
+    @PostMapping("/groups:bulk")
+    @Operation(summary = "Create groups in bulk",
+            description = "Creates each group with its creator as first member; results are reported per item")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Per-item results"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input")
+    })
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> createGroups(
+            @Valid @RequestBody BulkCreateGroupsRequest request) {
+
+        log.info("REST request to bulk create {} groups", request.getGroups().size());
+        BulkOperationResponse result = groupBulkService.createGroups(request);
+        return ResponseEntity.ok(ApiResponse.success(
+                String.format("%d of %d groups created", result.getSucceeded(), result.getRequested()), result));
+    }
+
+    @PostMapping("/groups/{id}/members:bulk")
+    @Operation(summary = "Add members in bulk",
+            description = "Adds every listed user that exists and is not yet a member; results are reported per item")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Per-item results"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Group not found")
+    })
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> addMembers(
+            @Parameter(description = "Group UUID") @PathVariable UUID id,
+            @Valid @RequestBody BulkAddMembersRequest request) {
+
+        log.info("REST request to bulk add {} members to group {}", request.getUserIds().size(), id);
+        BulkOperationResponse result = groupBulkService.addMembers(id, request);
+        return ResponseEntity.ok(ApiResponse.success(
+                String.format("%d of %d members added", result.getSucceeded(), result.getRequested()), result));
+    }
+}
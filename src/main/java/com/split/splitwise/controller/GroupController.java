@@ -1,10 +1,15 @@
 package com.split.splitwise.controller;
 
+import com.split.splitwise.datasource.ReplicaRoutingContext;
 import com.split.splitwise.dto.request.AddMemberRequest;
 import com.split.splitwise.dto.request.CreateGroupRequest;
 import com.split.splitwise.dto.response.ApiResponse;
+import com.split.splitwise.dto.response.GroupAnalyticsResponse;
 import com.split.splitwise.dto.response.GroupResponse;
+import com.split.splitwise.entity.RollupGranularity;
+import com.split.splitwise.service.AnalyticsService;
 import com.split.splitwise.service.GroupService;
+import com.split.splitwise.service.cache.GroupVersionTracker;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -12,10 +17,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.UUID;
 
 @Slf4j
@@ -26,6 +34,8 @@ import java.util.UUID;
 public class GroupController {
 
     private final GroupService groupService;
+    private final GroupVersionTracker groupVersionTracker;
+    private final AnalyticsService analyticsService;
 
     @PostMapping
     @Operation(summary = "Create a new group", description = "Creates a group and adds creator as first member")
@@ -64,13 +74,45 @@ public class GroupController {
     @Operation(summary = "Get group details", description = "Retrieves group with all members")
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Group found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Group unchanged since ETag"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Group not found")
     })
     public ResponseEntity<ApiResponse<GroupResponse>> getGroupById(
-            @Parameter(description = "Group UUID") @PathVariable UUID id) {
+            @Parameter(description = "Group UUID") @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         log.info("REST request to get group: {}", id);
-        GroupResponse group = groupService.getGroupById(id);
-        return ResponseEntity.ok(ApiResponse.success(group));
+        String etag = groupVersionTracker.etag(id, "group");
+        if (groupVersionTracker.isNotModified(id, ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        // the version moves on primary commit, so a lagging replica must not answer under this tag
+        GroupResponse group = ReplicaRoutingContext.onPrimary(() -> groupService.getGroupById(id));
+        groupVersionTracker.track(id);
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.success(group));
+    }
+
+    @GetMapping("/{id}/analytics")
+    @Operation(summary = "Get spending analytics",
+               description = "Spend per payer and day, week or month, from pre-aggregated rollups. "
+                       + "Defaults to the last 30 days, 12 weeks or 12 months")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Spend per bucket"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid range"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Group not found")
+    })
+    public ResponseEntity<ApiResponse<GroupAnalyticsResponse>> getAnalytics(
+            @Parameter(description = "Group UUID") @PathVariable UUID id,
+            @Parameter(description = "DAY, WEEK or MONTH") @RequestParam(defaultValue = "MONTH") RollupGranularity granularity,
+            @Parameter(description = "First day of the range (ISO date)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the range (ISO date), default today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Only this payer") @RequestParam(required = false) UUID payerId) {
+
+        log.info("REST request to get {} analytics for group {}", granularity, id);
+        GroupAnalyticsResponse analytics = analyticsService.getAnalytics(id, granularity, from, to, payerId);
+        return ResponseEntity.ok(ApiResponse.success(analytics));
     }
 }
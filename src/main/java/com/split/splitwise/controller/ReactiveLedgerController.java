@@ -0,0 +1,60 @@
+package com.split.splitwise.controller;
+
+import com.split.splitwise.dto.response.ApiResponse;
+import com.split.splitwise.dto.response.BalanceResponse;
+import com.split.splitwise.dto.response.SettlementResponse;
+import com.split.splitwise.service.ReactiveLedgerService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking variants of the balance and settlement reads.
+ *
+ * Returning Mono makes Spring MVC complete the request asynchronously:
+ * the servlet thread is released while R2DBC waits on the database,
+ * so idle pollers no longer pin a request thread each.
+ */
+@Slf4j
+@RestController
+@Profile("reactive-reads")
+@RequestMapping("/api/v1/reactive/groups/{groupId}")
+@RequiredArgsConstructor
+@Tag(name = "Reactive Reads", description = "Non-blocking balance and settlement APIs")
+public class ReactiveLedgerController {
+
+    private final ReactiveLedgerService reactiveLedgerService;
+
+    @GetMapping("/balances")
+    @Operation(summary = "Get group balances (non-blocking)",
+               description = "Same result as /api/v1/groups/{groupId}/balances, served over R2DBC")
+    public Mono<ResponseEntity<ApiResponse<BalanceResponse>>> getBalances(
+            @Parameter(description = "Group UUID") @PathVariable UUID groupId) {
+
+        log.debug("Reactive request to get balances for group: {}", groupId);
+        return reactiveLedgerService.calculateBalances(groupId)
+                .map(balances -> ResponseEntity.ok(ApiResponse.success(balances)));
+    }
+
+    @GetMapping("/settlements")
+    @Operation(summary = "Get optimized settlements (non-blocking)",
+               description = "Same result as /api/v1/groups/{groupId}/settlements, served over R2DBC")
+    public Mono<ResponseEntity<ApiResponse<SettlementResponse>>> getSettlements(
+            @Parameter(description = "Group UUID") @PathVariable UUID groupId) {
+
+        log.debug("Reactive request to get settlements for group: {}", groupId);
+        return reactiveLedgerService.calculateSettlements(groupId)
+                .map(settlements -> ResponseEntity.ok(ApiResponse.success(settlements)));
+    }
+}
@@ -1,8 +1,12 @@
 package com.split.splitwise.controller;
 
 import com.split.splitwise.dto.request.CreateUserRequest;
+import com.split.splitwise.dto.response.ActivityFeedResponse;
 import com.split.splitwise.dto.response.ApiResponse;
+import com.split.splitwise.dto.response.UserDashboardResponse;
 import com.split.splitwise.dto.response.UserResponse;
+import com.split.splitwise.service.ActivityFeedService;
+import com.split.splitwise.service.DashboardService;
 import com.split.splitwise.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -26,6 +30,8 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final DashboardService dashboardService;
+    private final ActivityFeedService activityFeedService;
 
     @PostMapping
     @Operation(summary = "Create a new user", description = "Creates a new user with unique email")
@@ -44,6 +50,22 @@ public class UserController {
                 .body(ApiResponse.success("User created successfully", user));
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "Search users by prefix",
+               description = "Type-ahead prefix match on email and name, served from an in-memory index")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Matching users"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Blank query")
+    })
+    public ResponseEntity<ApiResponse<List<UserResponse>>> searchUsers(
+            @Parameter(description = "Email or name prefix") @RequestParam("q") String query,
+            @Parameter(description = "Maximum results (1-50)") @RequestParam(defaultValue = "10") int limit) {
+
+        log.info("REST request to search users with prefix: {}", query);
+        List<UserResponse> users = userService.searchUsers(query, limit);
+        return ResponseEntity.ok(ApiResponse.success(users));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID", description = "Retrieves a user by their UUID")
     @ApiResponses({
@@ -58,6 +80,38 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success(user));
     }
 
+    @GetMapping("/{id}/dashboard")
+    @Operation(summary = "Get user dashboard",
+               description = "All groups of the user with their net balance and last activity, from the ledger projections")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Dashboard"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public ResponseEntity<ApiResponse<UserDashboardResponse>> getDashboard(
+            @Parameter(description = "User UUID") @PathVariable UUID id) {
+
+        log.info("REST request to get dashboard for user: {}", id);
+        UserDashboardResponse dashboard = dashboardService.getDashboard(id);
+        return ResponseEntity.ok(ApiResponse.success(dashboard));
+    }
+
+    @GetMapping("/{id}/activity")
+    @Operation(summary = "Get activity feed",
+               description = "Recent activity across the user's groups, newest first, paged by cursor")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "One page of activity"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public ResponseEntity<ApiResponse<ActivityFeedResponse>> getActivity(
+            @Parameter(description = "User UUID") @PathVariable UUID id,
+            @Parameter(description = "nextCursor from the previous page") @RequestParam(required = false) Long before,
+            @Parameter(description = "Page size (1-100)") @RequestParam(defaultValue = "20") int limit) {
+
+        log.info("REST request to get activity for user: {}", id);
+        ActivityFeedResponse activity = activityFeedService.getActivity(id, before, limit);
+        return ResponseEntity.ok(ApiResponse.success(activity));
+    }
+
     @GetMapping
     @Operation(summary = "Get all users", description = "Retrieves all registered users")
     public ResponseEntity<ApiResponse<List<UserResponse>>> getAllUsers() {
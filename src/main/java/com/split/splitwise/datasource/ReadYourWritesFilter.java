@@ -0,0 +1,69 @@
+package com.split.splitwise.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Read-your-writes stickiness for replica routing.
+ *
+ * Any mutating request (POST/PUT/PATCH/DELETE) gets a short-lived cookie whose
+ * Max-Age is the stickiness window. While the client still sends it, its
+ * read-only transactions are pinned to the primary. The cookie carries the
+ * state, so stickiness holds across app instances with no shared store.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "sw-rw";
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final int windowSeconds;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.windowSeconds = (int) Math.max(1, (window.toMillis() + 999) / 1000);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        boolean mutating = !SAFE_METHODS.contains(request.getMethod());
+        if (mutating) {
+            Cookie cookie = new Cookie(COOKIE_NAME, "1");
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge(windowSeconds);
+            response.addCookie(cookie);
+        }
+
+        if (mutating || hasStickyCookie(request)) {
+            ReplicaRoutingContext.forcePrimary();
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingContext.clear();
+        }
+    }
+
+    private boolean hasStickyCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,36 @@
+package com.split.splitwise.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "splitwise.datasource")
+public class ReplicaProperties {
+
+    /**
+     * Read replicas; read-only transactions are spread across them round-robin.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Maximum pool size per replica.
+     */
+    private int replicaPoolSize = 10;
+
+    /**
+     * How long after a write a client keeps reading from the primary.
+     * Should exceed the typical replication lag.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,48 @@
+package com.split.splitwise.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread override that pins read-only transactions to the primary.
+ *
+ * Set by ReadYourWritesFilter for clients that wrote recently, so they
+ * never read from a replica that hasn't caught up with their own write, and
+ * by onPrimary for reads whose result is tied to a node-local version
+ * (ETags, coalesced reads, resident caches): those must not see older data
+ * than the version says.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static void forcePrimary() {
+        PRIMARY_FORCED.set(Boolean.TRUE);
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+
+    public static void clear() {
+        PRIMARY_FORCED.remove();
+    }
+
+    /**
+     * Runs the action with read-only transactions pinned to the primary, then
+     * restores the previous state. Transactions must start inside the action.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        if (isPrimaryForced()) {
+            return action.get();
+        }
+        forcePrimary();
+        try {
+            return action.get();
+        } finally {
+            clear();
+        }
+    }
+}
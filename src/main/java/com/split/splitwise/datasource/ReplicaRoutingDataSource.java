@@ -0,0 +1,57 @@
+package com.split.splitwise.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes read-only transactions to replicas (round-robin) and everything else to the primary.
+ *
+ * Routing key:
+ * - Read-write transaction or no transaction -> primary
+ * - Read-only transaction, client wrote recently or the read is tied to a
+ *   group version (ReplicaRoutingContext) -> primary
+ * - Read-only transaction -> next replica
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy: the transaction manager
+ * borrows its connection before the read-only flag is published, so routing
+ * has to be deferred until the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    private static final String REPLICA_PREFIX = "replica-";
+
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = REPLICA_PREFIX + i;
+            targets.put(key, replicas.get(i));
+            replicaKeys.add(key);
+        }
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaKeys.isEmpty()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || ReplicaRoutingContext.isPrimaryForced()) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+    }
+}
@@ -0,0 +1,23 @@
+package com.split.splitwise.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkAddMembersRequest {
+
+    @NotEmpty(message = "At least one user ID is required")
+    @Size(max = 1000, message = "At most 1000 users can be added per request")
+    private List<@NotNull(message = "User ID is required") UUID> userIds;
+}
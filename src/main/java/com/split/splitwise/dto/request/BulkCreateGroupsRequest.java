@@ -0,0 +1,23 @@
+package com.split.splitwise.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkCreateGroupsRequest {
+
+    @NotEmpty(message = "At least one group is required")
+    @Size(max = 500, message = "At most 500 groups can be created per request")
+    private List<@Valid @NotNull(message = "Group is required") CreateGroupRequest> groups;
+}
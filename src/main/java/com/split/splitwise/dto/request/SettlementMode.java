@@ -0,0 +1,13 @@
+package com.split.splitwise.dto.request;
+
+/**
+ * How /settlements presents the group's debts.
+ */
+public enum SettlementMode {
+    /** Fewest transfers that settle every net balance (debt simplification). */
+    SIMPLIFIED,
+    /** One transfer per pair of users, netting only what the two owe each other directly. */
+    PAIRWISE,
+    /** The group's standing plan, patched per expense so unaffected transfers stay put; lags commits slightly. */
+    STABLE
+}
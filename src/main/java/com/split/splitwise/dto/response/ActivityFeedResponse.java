@@ -0,0 +1,43 @@
+package com.split.splitwise.dto.response;
+
+import com.split.splitwise.entity.LedgerEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of a user's activity feed, newest first. Pass {@code nextCursor}
+ * as {@code before} to get the next page; it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ActivityFeedResponse {
+
+    private UUID userId;
+    private List<Entry> entries;
+    private Long nextCursor;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Entry {
+        private long offset;
+        private UUID groupId;
+        private LedgerEventType type;
+        private UUID actorId;
+        private String actorName;
+        private String description;
+        private BigDecimal amount;
+        private BigDecimal userDelta;
+        private LocalDateTime occurredAt;
+    }
+}
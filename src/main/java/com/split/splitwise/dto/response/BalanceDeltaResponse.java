@@ -0,0 +1,38 @@
+package com.split.splitwise.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Change to group balances caused by one committed expense.
+ * Adding each delta to the member's current balance yields the new balance.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceDeltaResponse {
+
+    private UUID groupId;
+    private UUID expenseId;
+    private String description;
+    private LocalDateTime createdAt;
+    private List<UserDelta> deltas;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class UserDelta {
+        private UUID userId;
+        private String userName;
+        private BigDecimal delta;
+    }
+}
@@ -0,0 +1,60 @@
+package com.split.splitwise.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-item outcome of a bulk request. Items are reported in request order;
+ * {@code index} points back into the submitted list.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkOperationResponse {
+
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private List<ItemResult> results;
+
+    public enum Status {
+        CREATED,
+        ADDED,
+        DUPLICATE,
+        NOT_FOUND,
+        FAILED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ItemResult {
+        private int index;
+        private UUID id;
+        private Status status;
+        private String message;
+
+        public boolean succeeded() {
+            return status == Status.CREATED || status == Status.ADDED;
+        }
+    }
+
+    public static BulkOperationResponse of(List<ItemResult> results) {
+        int succeeded = (int) results.stream().filter(ItemResult::succeeded).count();
+        return BulkOperationResponse.builder()
+                .requested(results.size())
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(results)
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.split.splitwise.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExpenseSearchResponse {
+
+    private UUID groupId;
+    private String query;
+    private List<Hit> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Hit {
+        private UUID expenseId;
+        private String description;
+        private BigDecimal totalAmount;
+        private String paidByName;
+        private LocalDateTime createdAt;
+        private Double score;
+    }
+}
@@ -0,0 +1,50 @@
+package com.split.splitwise.dto.response;
+
+import com.split.splitwise.entity.RollupGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GroupAnalyticsResponse {
+
+    private UUID groupId;
+    private RollupGranularity granularity;
+    private LocalDate from;
+    private LocalDate to;
+    private Long expenseCount;
+    private BigDecimal totalAmount;
+    private List<PayerSpend> payers;
+    private List<Bucket> buckets;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Bucket {
+        private LocalDate bucketStart;
+        private Long expenseCount;
+        private BigDecimal totalAmount;
+        private List<PayerSpend> payers;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class PayerSpend {
+        private UUID payerId;
+        private String payerName;
+        private Long expenseCount;
+        private BigDecimal totalAmount;
+    }
+}
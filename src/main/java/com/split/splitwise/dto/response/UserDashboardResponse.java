@@ -0,0 +1,37 @@
+package com.split.splitwise.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserDashboardResponse {
+
+    private UUID userId;
+    private String userName;
+    private BigDecimal totalOwedToUser;
+    private BigDecimal totalUserOwes;
+    private BigDecimal netBalance;
+    private List<GroupEntry> groups;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class GroupEntry {
+        private UUID groupId;
+        private String groupName;
+        private Integer memberCount;
+        private BigDecimal balance;
+        private LocalDateTime lastActivityAt;
+    }
+}
@@ -0,0 +1,68 @@
+package com.split.splitwise.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One item in a user's activity timeline, maintained by ActivityProjection.
+ *
+ * Keyed by (user, ledger offset): the offset orders the timeline, serves as
+ * the paging cursor and makes re-applying an event idempotent.
+ */
+@Entity
+@Table(name = "activity_entries")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ActivityEntry {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "group_id", nullable = false)
+    private UUID groupId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 40)
+    private LedgerEventType type;
+
+    @Column(name = "actor_id", nullable = false)
+    private UUID actorId;
+
+    @Column(name = "actor_name", length = 100)
+    private String actorName;
+
+    @Column(length = 255)
+    private String description;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "user_delta", precision = 19, scale = 2)
+    private BigDecimal userDelta;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "user_id", nullable = false)
+        private UUID userId;
+
+        @Column(name = "event_offset", nullable = false)
+        private long eventOffset;
+    }
+}
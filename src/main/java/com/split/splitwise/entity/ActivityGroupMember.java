@@ -0,0 +1,38 @@
+package com.split.splitwise.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Group membership as seen by ActivityProjection, folded from the ledger so the
+ * projection can be replayed without reading group_members.
+ */
+@Entity
+@Table(name = "activity_group_members")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityGroupMember {
+
+    @EmbeddedId
+    private Key id;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "group_id", nullable = false)
+        private UUID groupId;
+
+        @Column(name = "user_id", nullable = false)
+        private UUID userId;
+    }
+}
@@ -2,6 +2,8 @@ package com.split.splitwise.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -10,6 +12,8 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "groups")
 @Getter
 @Setter
@@ -18,9 +22,20 @@ import java.util.UUID;
 @Builder
 public class Group {
 
+    /**
+     * Assigned in the application rather than by the database so the owning
+     * shard is known before the first statement (see ShardContext).
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private UUID id;
+    @Builder.Default
+    private UUID id = UUID.randomUUID();
+
+    /**
+     * Also lets Spring Data tell a new group (null version) from an existing one
+     * now that ids are assigned up front.
+     */
+    @Version
+    private Long version;
 
     @Column(nullable = false, length = 100)
     private String name;
@@ -0,0 +1,61 @@
+package com.split.splitwise.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One immutable entry in the append-only ledger log.
+ *
+ * The id doubles as the log offset that projections checkpoint against.
+ * Payloads are self-contained JSON (names included), so projections can be
+ * rebuilt from this table alone.
+ */
+@Entity
+@Table(name = "ledger_events", indexes = {
+        @Index(name = "idx_ledger_event_group", columnList = "group_id, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, updatable = false, length = 40)
+    private LedgerEventType type;
+
+    @Column(name = "group_id", nullable = false, updatable = false)
+    private UUID groupId;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    @Column(nullable = false, updatable = false)
+    private String payload;
+
+    @CreationTimestamp
+    @Column(name = "recorded_at", nullable = false, updatable = false)
+    private LocalDateTime recordedAt;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LedgerEvent that = (LedgerEvent) o;
+        return id != null && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
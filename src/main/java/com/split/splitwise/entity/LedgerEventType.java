@@ -0,0 +1,7 @@
+package com.split.splitwise.entity;
+
+public enum LedgerEventType {
+    GROUP_CREATED,
+    MEMBER_ADDED,
+    EXPENSE_CREATED
+}
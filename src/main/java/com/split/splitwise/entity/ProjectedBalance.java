@@ -0,0 +1,45 @@
+package com.split.splitwise.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Net balance of one member in one group, maintained by BalanceProjection.
+ */
+@Entity
+@Table(name = "projected_balances")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectedBalance {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "user_name", length = 100)
+    private String userName;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "group_id", nullable = false)
+        private UUID groupId;
+
+        @Column(name = "user_id", nullable = false)
+        private UUID userId;
+    }
+}
@@ -0,0 +1,40 @@
+package com.split.splitwise.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Per-group totals maintained by GroupSummaryProjection.
+ */
+@Entity
+@Table(name = "projected_group_summaries")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectedGroupSummary {
+
+    @Id
+    @Column(name = "group_id")
+    private UUID groupId;
+
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "member_count", nullable = false)
+    private int memberCount;
+
+    @Column(name = "expense_count", nullable = false)
+    private long expenseCount;
+
+    @Column(name = "total_spent", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalSpent;
+
+    @Column(name = "last_activity_at")
+    private LocalDateTime lastActivityAt;
+}
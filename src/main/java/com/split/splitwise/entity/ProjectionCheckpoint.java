@@ -0,0 +1,37 @@
+package com.split.splitwise.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last ledger offset a projection has applied.
+ *
+ * Updated in the same transaction as the projection's rows; the version
+ * makes two projector instances racing on one batch roll one of them back.
+ */
+@Entity
+@Table(name = "projection_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectionCheckpoint {
+
+    @Id
+    @Column(length = 60)
+    private String name;
+
+    @Column(name = "last_offset", nullable = false)
+    private long lastOffset;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,46 @@
+package com.split.splitwise.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * A ledger offset a projection moved past without seeing its event.
+ *
+ * Written when the projector gives up waiting on a gap; LedgerProjector looks
+ * the offset up again on later polls and applies the event if its transaction
+ * commits late. Rows expire after gap-retention, when the writer is taken to
+ * have rolled back.
+ */
+@Entity
+@Table(name = "projection_gaps")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectionGap {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "skipped_at", nullable = false)
+    private LocalDateTime skippedAt;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "projection_name", nullable = false, length = 60)
+        private String projection;
+
+        @Column(name = "event_offset", nullable = false)
+        private long eventOffset;
+    }
+}
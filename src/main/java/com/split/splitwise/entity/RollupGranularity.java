@@ -0,0 +1,43 @@
+package com.split.splitwise.entity;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Time bucket size of a spend rollup. Weeks start on Monday (ISO-8601).
+ */
+public enum RollupGranularity {
+    DAY,
+    WEEK,
+    MONTH;
+
+    public LocalDate bucketStart(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    public LocalDate next(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+        };
+    }
+
+    /**
+     * Number of buckets from the bucket containing {@code from} to the one containing {@code to}, inclusive.
+     */
+    public long bucketsBetween(LocalDate from, LocalDate to) {
+        ChronoUnit unit = switch (this) {
+            case DAY -> ChronoUnit.DAYS;
+            case WEEK -> ChronoUnit.WEEKS;
+            case MONTH -> ChronoUnit.MONTHS;
+        };
+        return unit.between(bucketStart(from), bucketStart(to)) + 1;
+    }
+}
@@ -0,0 +1,57 @@
+package com.split.splitwise.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One transfer of a group's standing settlement plan, maintained by
+ * SettlementPlanProjection. updatedAt moves only when this transfer's amount
+ * changes, so clients can tell which instructions are new.
+ */
+@Entity
+@Table(name = "settlement_transfers")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SettlementTransfer {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "from_user_name", length = 100)
+    private String fromUserName;
+
+    @Column(name = "to_user_name", length = 100)
+    private String toUserName;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "group_id", nullable = false)
+        private UUID groupId;
+
+        @Column(name = "from_user_id", nullable = false)
+        private UUID fromUserId;
+
+        @Column(name = "to_user_id", nullable = false)
+        private UUID toUserId;
+    }
+}
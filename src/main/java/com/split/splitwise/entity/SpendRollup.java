@@ -0,0 +1,59 @@
+package com.split.splitwise.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Expense count and amount paid by one payer in one group during one time
+ * bucket, maintained by SpendRollupProjection for each RollupGranularity.
+ */
+@Entity
+@Table(name = "spend_rollups", indexes = {
+        @Index(name = "idx_spend_rollup_range", columnList = "group_id, granularity, bucket_start")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SpendRollup {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "payer_name", length = 100)
+    private String payerName;
+
+    @Column(name = "expense_count", nullable = false)
+    private long expenseCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "group_id", nullable = false)
+        private UUID groupId;
+
+        @Column(name = "payer_id", nullable = false)
+        private UUID payerId;
+
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false, length = 10)
+        private RollupGranularity granularity;
+
+        @Column(name = "bucket_start", nullable = false)
+        private LocalDate bucketStart;
+    }
+}
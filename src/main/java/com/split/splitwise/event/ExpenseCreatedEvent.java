@@ -0,0 +1,12 @@
+package com.split.splitwise.event;
+
+import com.split.splitwise.entity.Expense;
+
+import java.util.UUID;
+
+/**
+ * Published by ExpenseService once an expense and its splits have been persisted.
+ * The expense carries its payer and splits, so listeners can derive balance
+ * deltas without going back to the database.
+ */
+public record ExpenseCreatedEvent(UUID groupId, Expense expense) {}
@@ -0,0 +1,8 @@
+package com.split.splitwise.event;
+
+import com.split.splitwise.entity.Group;
+
+/**
+ * Published by GroupService once a group and its creator's membership have been persisted.
+ */
+public record GroupCreatedEvent(Group group) {}
@@ -0,0 +1,8 @@
+package com.split.splitwise.event;
+
+import java.util.UUID;
+
+/**
+ * Published by ShardRebalancer once a group's rows live on another shard.
+ */
+public record GroupMovedEvent(UUID groupId, int shard) {}
@@ -0,0 +1,10 @@
+package com.split.splitwise.event;
+
+import com.split.splitwise.entity.User;
+
+import java.util.UUID;
+
+/**
+ * Published by GroupService when a user joins a group.
+ */
+public record MemberAddedEvent(UUID groupId, User user) {}
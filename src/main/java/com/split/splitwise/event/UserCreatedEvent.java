@@ -0,0 +1,10 @@
+package com.split.splitwise.event;
+
+import com.split.splitwise.entity.User;
+
+/**
+ * Published by UserService once a new user has been persisted.
+ * Listeners that keep in-memory views (e.g. the search index) should
+ * consume it after commit so rolled-back users never become visible.
+ */
+public record UserCreatedEvent(User user) {}
@@ -0,0 +1,38 @@
+package com.split.splitwise.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * One ExpenseService.calculateBalances call, broken down by phase.
+ */
+@Name("com.split.splitwise.BalanceComputation")
+@Label("Balance Computation")
+@Category({"Splitwise", "Ledger"})
+@Description("Loading a group's expenses and folding them into net balances")
+@StackTrace(false)
+public class BalanceComputationEvent extends Event {
+
+    @Label("Group ID")
+    public String groupId;
+
+    @Label("Member Count")
+    public int memberCount;
+
+    @Label("Expense Count")
+    public int expenseCount;
+
+    @Label("Split Count")
+    public int splitCount;
+
+    @Label("Load Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    public long loadDuration;
+
+    @Label("Fold Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    public long foldDuration;
+
+    @Label("Assemble Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    public long assembleDuration;
+}
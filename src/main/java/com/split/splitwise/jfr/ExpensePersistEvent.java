@@ -0,0 +1,36 @@
+package com.split.splitwise.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * One ExpenseService.createExpense call, broken down by phase.
+ * Commit time is not included: the event ends when the entity is saved.
+ */
+@Name("com.split.splitwise.ExpensePersist")
+@Label("Expense Persist")
+@Category({"Splitwise", "Expenses"})
+@Description("Validating, splitting and saving a new expense")
+@StackTrace(false)
+public class ExpensePersistEvent extends Event {
+
+    @Label("Group ID")
+    public String groupId;
+
+    @Label("Split Type")
+    public String splitType;
+
+    @Label("Member Count")
+    public int memberCount;
+
+    @Label("Validation Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    public long validationDuration;
+
+    @Label("Split Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    public long splitDuration;
+
+    @Label("Persist Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    public long persistDuration;
+}
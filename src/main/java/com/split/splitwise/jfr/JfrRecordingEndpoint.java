@@ -0,0 +1,142 @@
+package com.split.splitwise.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.JmxEndpoint;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * On-demand JDK Flight Recorder control, over JMX only (org.springframework.boot:
+ * type=Endpoint,name=Jfr). A recording exposes the process's internals, so it is
+ * never served over HTTP.
+ *
+ * - start  starts a recording (JDK "default" settings without the events that
+ *          capture the environment, system properties and JVM arguments, plus
+ *          all Splitwise events)
+ * - dump   writes the running recording to a local .jfr file and returns its path
+ * - stop   stops and discards it
+ *
+ * Only one recording is managed at a time. Recording size on disk is bounded
+ * by maxAgeSeconds so it can be left running.
+ */
+@Slf4j
+@Component
+@JmxEndpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+    // These carry credentials passed as environment variables, -D properties or JVM flags
+    private static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty",
+            "jdk.JVMInformation");
+
+    private static final List<Class<? extends jdk.jfr.Event>> SPLITWISE_EVENTS = List.of(
+            BalanceComputationEvent.class,
+            SettlementSolveEvent.class,
+            SplitCalculationEvent.class,
+            ExpensePersistEvent.class);
+
+    private Recording recording;
+    private Path lastDump;
+
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable Long maxAgeSeconds) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return status();
+        }
+
+        recording = new Recording(settings());
+        recording.setName("splitwise-on-demand");
+        recording.setToDisk(true);
+        recording.setMaxAge(Duration.ofSeconds(maxAgeSeconds != null ? maxAgeSeconds : 600));
+        SPLITWISE_EVENTS.forEach(event -> recording.enable(event));
+        recording.start();
+
+        log.info("Started JFR recording {}", recording.getId());
+        return status();
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> dump() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return status();
+        }
+
+        try {
+            deleteLastDump();
+            lastDump = Files.createTempFile("splitwise-", ".jfr");
+            recording.dump(lastDump);
+            log.info("Dumped JFR recording {} to {}", recording.getId(), lastDump);
+            Map<String, Object> status = status();
+            status.put("file", lastDump.toAbsolutePath().toString());
+            return status;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to dump JFR recording", e);
+        }
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording != null) {
+            recording.close();
+            log.info("Stopped JFR recording {}", recording.getId());
+            recording = null;
+        }
+        deleteLastDump();
+        return status();
+    }
+
+    /**
+     * The JDK "default" settings with the sensitive events switched off.
+     */
+    static Map<String, String> settings() {
+        Map<String, String> settings;
+        try {
+            settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Unable to load JFR configuration", e);
+        }
+        SENSITIVE_EVENTS.forEach(event -> settings.put(event + "#enabled", "false"));
+        return settings;
+    }
+
+    private void deleteLastDump() {
+        if (lastDump == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(lastDump);
+        } catch (IOException e) {
+            log.warn("Unable to delete previous JFR dump {}", lastDump, e);
+        }
+        lastDump = null;
+    }
+
+    private Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", recording != null && recording.getState() == RecordingState.RUNNING);
+        if (recording != null) {
+            status.put("id", recording.getId());
+            status.put("startTime", String.valueOf(recording.getStartTime()));
+            status.put("maxAge", String.valueOf(recording.getMaxAge()));
+        }
+        return status;
+    }
+}
@@ -0,0 +1,34 @@
+package com.split.splitwise.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * One ExpenseService.calculateSettlements call: balances, then debt simplification.
+ */
+@Name("com.split.splitwise.SettlementSolve")
+@Label("Settlement Solve")
+@Category({"Splitwise", "Ledger"})
+@Description("Computing balances and the optimized settlement plan for a group")
+@StackTrace(false)
+public class SettlementSolveEvent extends Event {
+
+    @Label("Group ID")
+    public String groupId;
+
+    @Label("Member Count")
+    public int memberCount;
+
+    @Label("Expense Count")
+    public int expenseCount;
+
+    @Label("Settlement Count")
+    public int settlementCount;
+
+    @Label("Balance Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    public long balanceDuration;
+
+    @Label("Solve Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    public long solveDuration;
+}
@@ -0,0 +1,23 @@
+package com.split.splitwise.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * One SplitStrategy.calculateSplits call.
+ */
+@Name("com.split.splitwise.SplitCalculation")
+@Label("Split Calculation")
+@Category({"Splitwise", "Expenses"})
+@Description("Dividing an expense among group members")
+@StackTrace(false)
+public class SplitCalculationEvent extends Event {
+
+    @Label("Group ID")
+    public String groupId;
+
+    @Label("Split Type")
+    public String splitType;
+
+    @Label("Member Count")
+    public int memberCount;
+}
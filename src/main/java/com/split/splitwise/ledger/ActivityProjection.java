@@ -0,0 +1,180 @@
+package com.split.splitwise.ledger;
+
+import com.split.splitwise.entity.ActivityEntry;
+import com.split.splitwise.entity.ActivityGroupMember;
+import com.split.splitwise.entity.LedgerEvent;
+import com.split.splitwise.repository.ActivityEntryRepository;
+import com.split.splitwise.repository.ActivityGroupMemberRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Per-user activity timelines (fan-out-on-write).
+ *
+ * Each event is copied into the timeline of everyone it concerns: the creator
+ * for GROUP_CREATED, every member for MEMBER_ADDED, payer and participants for
+ * EXPENSE_CREATED. Timelines are trimmed to the newest timeline-size entries
+ * after every batch.
+ *
+ * Events that would fan out to more than fanout-limit users are not copied
+ * (only a joining member still gets their own entry); ActivityFeedService reads
+ * those groups' expenses straight from ledger_events instead (fan-out-on-read).
+ *
+ * Membership is folded from the log into activity_group_members, so a replay
+ * sees each group exactly as it was when the event was recorded.
+ */
+@Component
+public class ActivityProjection implements LedgerProjection {
+
+    private final ActivityEntryRepository activityEntryRepository;
+    private final ActivityGroupMemberRepository activityGroupMemberRepository;
+    private final LedgerPayloadReader payloadReader;
+    private final EntityManager entityManager;
+    private final int timelineSize;
+    private final int fanoutLimit;
+
+    public ActivityProjection(ActivityEntryRepository activityEntryRepository,
+                              ActivityGroupMemberRepository activityGroupMemberRepository,
+                              LedgerPayloadReader payloadReader,
+                              EntityManager entityManager,
+                              @Value("${splitwise.activity.timeline-size:200}") int timelineSize,
+                              @Value("${splitwise.activity.fanout-limit:500}") int fanoutLimit) {
+        this.activityEntryRepository = activityEntryRepository;
+        this.activityGroupMemberRepository = activityGroupMemberRepository;
+        this.payloadReader = payloadReader;
+        this.entityManager = entityManager;
+        this.timelineSize = timelineSize;
+        this.fanoutLimit = fanoutLimit;
+    }
+
+    @Override
+    public String name() {
+        return "activity";
+    }
+
+    @Override
+    public void apply(List<LedgerEvent> events) {
+        Map<UUID, Set<UUID>> members = loadMembers(events);
+        Set<UUID> touchedUsers = new HashSet<>();
+
+        for (LedgerEvent event : events) {
+            UUID groupId = event.getGroupId();
+            switch (event.getType()) {
+                case GROUP_CREATED -> {
+                    GroupCreatedPayload payload = payloadReader.read(event, GroupCreatedPayload.class);
+                    join(members, groupId, payload.createdBy());
+                    append(touchedUsers, payload.createdBy(), base(event, payload.createdBy(),
+                            payload.createdBy(), payload.createdByName())
+                            .description(payload.name())
+                            .build());
+                }
+                case MEMBER_ADDED -> {
+                    MemberAddedPayload payload = payloadReader.read(event, MemberAddedPayload.class);
+                    Set<UUID> recipients = join(members, groupId, payload.userId());
+                    if (recipients.size() > fanoutLimit) {
+                        recipients = Set.of(payload.userId());
+                    }
+                    for (UUID userId : recipients) {
+                        append(touchedUsers, userId,
+                                base(event, userId, payload.userId(), payload.userName()).build());
+                    }
+                }
+                case EXPENSE_CREATED -> {
+                    ExpenseCreatedPayload payload = payloadReader.read(event, ExpenseCreatedPayload.class);
+                    Set<UUID> recipients = participants(payload);
+                    if (recipients.size() > fanoutLimit) {
+                        continue;
+                    }
+                    for (UUID userId : recipients) {
+                        append(touchedUsers, userId, expenseEntry(event, payload, userId));
+                    }
+                }
+            }
+        }
+
+        if (!touchedUsers.isEmpty()) {
+            entityManager.flush();
+            touchedUsers.forEach(userId -> activityEntryRepository.trimTimeline(userId, timelineSize));
+        }
+    }
+
+    @Override
+    public void reset() {
+        activityEntryRepository.deleteAllInBatch();
+        activityGroupMemberRepository.deleteAllInBatch();
+    }
+
+    /**
+     * Timeline entry for one participant of an expense; also used by the
+     * fan-out-on-read path so both paths render an expense identically.
+     */
+    public static ActivityEntry expenseEntry(LedgerEvent event, ExpenseCreatedPayload payload, UUID userId) {
+        BigDecimal delta = payload.paidBy().equals(userId) ? payload.totalAmount() : BigDecimal.ZERO;
+        for (ExpenseCreatedPayload.Share share : payload.shares()) {
+            if (share.userId().equals(userId)) {
+                delta = delta.subtract(share.amountOwed());
+            }
+        }
+        return base(event, userId, payload.paidBy(), payload.paidByName())
+                .description(payload.description())
+                .amount(payload.totalAmount())
+                .userDelta(delta)
+                .build();
+    }
+
+    public static Set<UUID> participants(ExpenseCreatedPayload payload) {
+        Set<UUID> participants = new HashSet<>();
+        participants.add(payload.paidBy());
+        payload.shares().forEach(share -> participants.add(share.userId()));
+        return participants;
+    }
+
+    private static ActivityEntry.ActivityEntryBuilder base(LedgerEvent event, UUID userId,
+                                                           UUID actorId, String actorName) {
+        return ActivityEntry.builder()
+                .id(new ActivityEntry.Key(userId, event.getId()))
+                .groupId(event.getGroupId())
+                .type(event.getType())
+                .actorId(actorId)
+                .actorName(actorName)
+                .occurredAt(event.getRecordedAt());
+    }
+
+    private void append(Set<UUID> touchedUsers, UUID userId, ActivityEntry entry) {
+        entityManager.persist(entry);
+        touchedUsers.add(userId);
+    }
+
+    private Set<UUID> join(Map<UUID, Set<UUID>> members, UUID groupId, UUID userId) {
+        Set<UUID> groupMembers = members.computeIfAbsent(groupId, id -> new HashSet<>());
+        if (groupMembers.add(userId)) {
+            entityManager.persist(new ActivityGroupMember(new ActivityGroupMember.Key(groupId, userId)));
+        }
+        return groupMembers;
+    }
+
+    /**
+     * Current membership of every group that gains a member in this batch, in one query.
+     */
+    private Map<UUID, Set<UUID>> loadMembers(List<LedgerEvent> events) {
+        Set<UUID> groupIds = new HashSet<>();
+        for (LedgerEvent event : events) {
+            switch (event.getType()) {
+                case GROUP_CREATED, MEMBER_ADDED -> groupIds.add(event.getGroupId());
+                case EXPENSE_CREATED -> { }
+            }
+        }
+
+        Map<UUID, Set<UUID>> members = new HashMap<>();
+        if (!groupIds.isEmpty()) {
+            activityGroupMemberRepository.findByIdGroupIdIn(groupIds).forEach(member -> members
+                    .computeIfAbsent(member.getId().getGroupId(), id -> new HashSet<>())
+                    .add(member.getId().getUserId()));
+        }
+        return members;
+    }
+}
@@ -0,0 +1,95 @@
+package com.split.splitwise.ledger;
+
+import com.split.splitwise.entity.LedgerEvent;
+import com.split.splitwise.entity.ProjectedBalance;
+import com.split.splitwise.repository.ProjectedBalanceRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Net balance per (group, member), folded from MEMBER_ADDED and EXPENSE_CREATED.
+ *
+ * Same sign convention as ExpenseService.calculateBalances: the payer gains the
+ * total, each participant loses their share. A batch is folded into one delta
+ * per key first, then applied with one read per batch: loaded rows are
+ * updated through dirty checking, new rows are persisted directly.
+ */
+@Component
+@RequiredArgsConstructor
+public class BalanceProjection implements LedgerProjection {
+
+    private final ProjectedBalanceRepository projectedBalanceRepository;
+    private final LedgerPayloadReader payloadReader;
+    private final EntityManager entityManager;
+
+    @Override
+    public String name() {
+        return "balances";
+    }
+
+    @Override
+    public void apply(List<LedgerEvent> events) {
+        Map<ProjectedBalance.Key, BigDecimal> deltas = new HashMap<>();
+        Map<ProjectedBalance.Key, String> names = new HashMap<>();
+
+        for (LedgerEvent event : events) {
+            UUID groupId = event.getGroupId();
+            switch (event.getType()) {
+                case GROUP_CREATED -> {
+                    GroupCreatedPayload payload = payloadReader.read(event, GroupCreatedPayload.class);
+                    accumulate(deltas, names, groupId, payload.createdBy(), payload.createdByName(), BigDecimal.ZERO);
+                }
+                case MEMBER_ADDED -> {
+                    MemberAddedPayload payload = payloadReader.read(event, MemberAddedPayload.class);
+                    accumulate(deltas, names, groupId, payload.userId(), payload.userName(), BigDecimal.ZERO);
+                }
+                case EXPENSE_CREATED -> {
+                    ExpenseCreatedPayload payload = payloadReader.read(event, ExpenseCreatedPayload.class);
+                    accumulate(deltas, names, groupId, payload.paidBy(), payload.paidByName(), payload.totalAmount());
+                    for (ExpenseCreatedPayload.Share share : payload.shares()) {
+                        accumulate(deltas, names, groupId, share.userId(), share.userName(),
+                                share.amountOwed().negate());
+                    }
+                }
+            }
+        }
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Set<UUID> groupIds = new HashSet<>();
+        deltas.keySet().forEach(key -> groupIds.add(key.getGroupId()));
+
+        Map<ProjectedBalance.Key, ProjectedBalance> rows = new HashMap<>();
+        projectedBalanceRepository.findByIdGroupIdIn(groupIds).forEach(row -> rows.put(row.getId(), row));
+
+        deltas.forEach((key, delta) -> {
+            ProjectedBalance row = rows.get(key);
+            if (row == null) {
+                row = ProjectedBalance.builder().id(key).balance(BigDecimal.ZERO).build();
+                rows.put(key, row);
+                entityManager.persist(row);
+            }
+            row.setBalance(row.getBalance().add(delta));
+            row.setUserName(names.get(key));
+        });
+    }
+
+    @Override
+    public void reset() {
+        projectedBalanceRepository.deleteAllInBatch();
+    }
+
+    private static void accumulate(Map<ProjectedBalance.Key, BigDecimal> deltas,
+                                   Map<ProjectedBalance.Key, String> names,
+                                   UUID groupId, UUID userId, String userName, BigDecimal delta) {
+        ProjectedBalance.Key key = new ProjectedBalance.Key(groupId, userId);
+        deltas.merge(key, delta, BigDecimal::add);
+        names.put(key, userName);
+    }
+}
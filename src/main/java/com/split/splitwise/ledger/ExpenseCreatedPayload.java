@@ -0,0 +1,19 @@
+package com.split.splitwise.ledger;
+
+import com.split.splitwise.entity.SplitType;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public record ExpenseCreatedPayload(
+        UUID expenseId,
+        String description,
+        BigDecimal totalAmount,
+        UUID paidBy,
+        String paidByName,
+        SplitType splitType,
+        List<Share> shares) {
+
+    public record Share(UUID userId, String userName, BigDecimal amountOwed) {}
+}
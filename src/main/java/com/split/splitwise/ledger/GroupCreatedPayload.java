@@ -0,0 +1,5 @@
+package com.split.splitwise.ledger;
+
+import java.util.UUID;
+
+public record GroupCreatedPayload(String name, UUID createdBy, String createdByName) {}
@@ -0,0 +1,74 @@
+package com.split.splitwise.ledger;
+
+import com.split.splitwise.entity.LedgerEvent;
+import com.split.splitwise.entity.ProjectedGroupSummary;
+import com.split.splitwise.repository.ProjectedGroupSummaryRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Member count, expense count, total spent and last activity per group.
+ */
+@Component
+@RequiredArgsConstructor
+public class GroupSummaryProjection implements LedgerProjection {
+
+    private final ProjectedGroupSummaryRepository projectedGroupSummaryRepository;
+    private final LedgerPayloadReader payloadReader;
+    private final EntityManager entityManager;
+
+    @Override
+    public String name() {
+        return "group-summaries";
+    }
+
+    @Override
+    public void apply(List<LedgerEvent> events) {
+        Set<UUID> groupIds = new HashSet<>();
+        events.forEach(event -> groupIds.add(event.getGroupId()));
+        if (groupIds.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, ProjectedGroupSummary> summaries = new HashMap<>();
+        projectedGroupSummaryRepository.findAllById(groupIds)
+                .forEach(summary -> summaries.put(summary.getGroupId(), summary));
+
+        for (LedgerEvent event : events) {
+            ProjectedGroupSummary summary = summaries.get(event.getGroupId());
+            if (summary == null) {
+                summary = ProjectedGroupSummary.builder()
+                        .groupId(event.getGroupId())
+                        .totalSpent(BigDecimal.ZERO)
+                        .build();
+                summaries.put(summary.getGroupId(), summary);
+                entityManager.persist(summary);
+            }
+
+            switch (event.getType()) {
+                case GROUP_CREATED -> {
+                    summary.setName(payloadReader.read(event, GroupCreatedPayload.class).name());
+                    summary.setMemberCount(summary.getMemberCount() + 1);
+                }
+                case MEMBER_ADDED -> summary.setMemberCount(summary.getMemberCount() + 1);
+                case EXPENSE_CREATED -> {
+                    ExpenseCreatedPayload payload = payloadReader.read(event, ExpenseCreatedPayload.class);
+                    summary.setExpenseCount(summary.getExpenseCount() + 1);
+                    summary.setTotalSpent(summary.getTotalSpent().add(payload.totalAmount()));
+                }
+            }
+            if (summary.getLastActivityAt() == null || event.getRecordedAt().isAfter(summary.getLastActivityAt())) {
+                summary.setLastActivityAt(event.getRecordedAt());
+            }
+        }
+    }
+
+    @Override
+    public void reset() {
+        projectedGroupSummaryRepository.deleteAllInBatch();
+    }
+}
@@ -0,0 +1,35 @@
+package com.split.splitwise.ledger;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.JmxEndpoint;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Ledger log and projection status, over JMX only (org.springframework.boot:
+ * type=Endpoint,name=Ledger). A rebuild truncates a projection and the app has
+ * no HTTP authentication, so the endpoint is never served over HTTP.
+ *
+ * - status               head offset, and each projection's checkpoint and lag
+ * - rebuild(projection)  rebuild one projection by replaying the log
+ */
+@Component
+@JmxEndpoint(id = "ledger")
+@RequiredArgsConstructor
+public class LedgerEndpoint {
+
+    private final LedgerProjector ledgerProjector;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return ledgerProjector.status();
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild(String projection) {
+        return Map.of("projection", projection, "eventsReplayed", ledgerProjector.rebuild(projection));
+    }
+}
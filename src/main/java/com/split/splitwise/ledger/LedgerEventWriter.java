@@ -0,0 +1,79 @@
+package com.split.splitwise.ledger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.split.splitwise.entity.Expense;
+import com.split.splitwise.entity.LedgerEvent;
+import com.split.splitwise.entity.LedgerEventType;
+import com.split.splitwise.event.ExpenseCreatedEvent;
+import com.split.splitwise.event.GroupCreatedEvent;
+import com.split.splitwise.event.MemberAddedEvent;
+import com.split.splitwise.repository.LedgerEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Appends domain events published by GroupService and ExpenseService to ledger_events.
+ *
+ * Runs BEFORE_COMMIT, inside the writing transaction, so an event is in the log
+ * if and only if the change it describes committed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LedgerEventWriter {
+
+    private final LedgerEventRepository ledgerEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onGroupCreated(GroupCreatedEvent event) {
+        append(LedgerEventType.GROUP_CREATED, event.group().getId(), new GroupCreatedPayload(
+                event.group().getName(),
+                event.group().getCreatedBy().getId(),
+                event.group().getCreatedBy().getName()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onMemberAdded(MemberAddedEvent event) {
+        append(LedgerEventType.MEMBER_ADDED, event.groupId(),
+                new MemberAddedPayload(event.user().getId(), event.user().getName()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onExpenseCreated(ExpenseCreatedEvent event) {
+        Expense expense = event.expense();
+        List<ExpenseCreatedPayload.Share> shares = expense.getSplits().stream()
+                .map(split -> new ExpenseCreatedPayload.Share(
+                        split.getUser().getId(), split.getUser().getName(), split.getAmountOwed()))
+                .toList();
+
+        append(LedgerEventType.EXPENSE_CREATED, event.groupId(), new ExpenseCreatedPayload(
+                expense.getId(),
+                expense.getDescription(),
+                expense.getTotalAmount(),
+                expense.getPaidBy().getId(),
+                expense.getPaidBy().getName(),
+                expense.getSplitType(),
+                shares));
+    }
+
+    private void append(LedgerEventType type, UUID groupId, Object payload) {
+        try {
+            LedgerEvent saved = ledgerEventRepository.save(LedgerEvent.builder()
+                    .type(type)
+                    .groupId(groupId)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .build());
+            log.debug("Appended {} for group {} at offset {}", type, groupId, saved.getId());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize " + type + " payload", e);
+        }
+    }
+}
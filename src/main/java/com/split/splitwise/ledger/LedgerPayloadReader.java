@@ -0,0 +1,23 @@
+package com.split.splitwise.ledger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.split.splitwise.entity.LedgerEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class LedgerPayloadReader {
+
+    private final ObjectMapper objectMapper;
+
+    public <T> T read(LedgerEvent event, Class<T> payloadType) {
+        try {
+            return objectMapper.readValue(event.getPayload(), payloadType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(String.format(
+                    "Corrupt %s payload at ledger offset %d", event.getType(), event.getId()), e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.split.splitwise.ledger;
+
+import com.split.splitwise.entity.LedgerEvent;
+
+import java.util.List;
+
+/**
+ * A read model derived from ledger_events.
+ *
+ * LedgerProjector calls apply() with batches in offset order, inside the
+ * transaction that also advances the projection's checkpoint, so each event
+ * takes effect exactly once. An event whose transaction committed after the
+ * projector gave up on its gap arrives later, behind higher offsets, so
+ * apply() must not assume it never sees an older event. Implementations
+ * should fold the whole batch before writing: during a replay batches are large.
+ */
+public interface LedgerProjection {
+
+    String name();
+
+    void apply(List<LedgerEvent> events);
+
+    /**
+     * Deletes all projected state ahead of a replay from offset 0.
+     */
+    void reset();
+}
@@ -0,0 +1,285 @@
+package com.split.splitwise.ledger;
+
+import com.split.splitwise.entity.LedgerEvent;
+import com.split.splitwise.entity.ProjectionCheckpoint;
+import com.split.splitwise.entity.ProjectionGap;
+import com.split.splitwise.event.ExpenseCreatedEvent;
+import com.split.splitwise.event.GroupCreatedEvent;
+import com.split.splitwise.event.MemberAddedEvent;
+import com.split.splitwise.exception.ResourceNotFoundException;
+import com.split.splitwise.repository.LedgerEventRepository;
+import com.split.splitwise.repository.ProjectionCheckpointRepository;
+import com.split.splitwise.repository.ProjectionGapRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds ledger_events to every LedgerProjection from its checkpointed offset.
+ *
+ * Runs on one background thread: polled every poll-interval and woken right
+ * after each committed write. Each batch is applied in one transaction with
+ * the checkpoint update, so a crash never applies an event twice.
+ *
+ * Identity offsets are handed out at insert but become visible at commit, so a
+ * slower transaction can leave a temporary gap. The projector stops in front
+ * of a gap until it is older than gap-timeout, then moves past it and records
+ * the missing offsets in projection_gaps. Every pass looks those offsets up
+ * again and applies events that committed late, in the same transaction that
+ * clears their gap rows; offsets still missing after gap-retention are taken
+ * to be rollbacks and forgotten.
+ *
+ * rebuild() resets a projection and replays the whole log in large batches,
+ * reading only ledger_events, never the OLTP tables.
+ */
+@Slf4j
+@Component
+public class LedgerProjector {
+
+    private final List<LedgerProjection> projections;
+    private final LedgerEventRepository ledgerEventRepository;
+    private final ProjectionCheckpointRepository checkpointRepository;
+    private final ProjectionGapRepository gapRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration pollInterval;
+    private final Duration gapTimeout;
+    private final Duration gapRetention;
+    private final int batchSize;
+    private final int replayBatchSize;
+
+    private ScheduledExecutorService executor;
+
+    public LedgerProjector(List<LedgerProjection> projections,
+                           LedgerEventRepository ledgerEventRepository,
+                           ProjectionCheckpointRepository checkpointRepository,
+                           ProjectionGapRepository gapRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${splitwise.ledger.projector.enabled:true}") boolean enabled,
+                           @Value("${splitwise.ledger.projector.poll-interval:1s}") Duration pollInterval,
+                           @Value("${splitwise.ledger.projector.gap-timeout:5s}") Duration gapTimeout,
+                           @Value("${splitwise.ledger.projector.gap-retention:10m}") Duration gapRetention,
+                           @Value("${splitwise.ledger.projector.batch-size:500}") int batchSize,
+                           @Value("${splitwise.ledger.projector.replay-batch-size:5000}") int replayBatchSize) {
+        this.projections = projections;
+        this.ledgerEventRepository = ledgerEventRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.gapRepository = gapRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.pollInterval = pollInterval;
+        this.gapTimeout = gapTimeout;
+        this.gapRetention = gapRetention;
+        this.batchSize = batchSize;
+        this.replayBatchSize = replayBatchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ledger-projector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::drainQuietly, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Ledger projector started for {}", projections.stream().map(LedgerProjection::name).toList());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onGroupCreated(GroupCreatedEvent event) {
+        wakeUp();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMemberAdded(MemberAddedEvent event) {
+        wakeUp();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onExpenseCreated(ExpenseCreatedEvent event) {
+        wakeUp();
+    }
+
+    /**
+     * Brings every projection up to the head of the log. Returns events applied.
+     */
+    public synchronized int drain() {
+        int applied = 0;
+        for (LedgerProjection projection : projections) {
+            applied += drain(projection, batchSize);
+        }
+        return applied;
+    }
+
+    /**
+     * Discards a projection's state and replays the log from offset 0.
+     */
+    public synchronized int rebuild(String name) {
+        LedgerProjection projection = projections.stream()
+                .filter(candidate -> candidate.name().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Projection", "name", name));
+
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            projection.reset();
+            gapRepository.deleteByProjection(projection.name());
+            checkpoint(projection).setLastOffset(0);
+        });
+
+        int replayed = drain(projection, replayBatchSize);
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Rebuilt projection {} from {} events in {} ms", name, replayed, millis);
+        return replayed;
+    }
+
+    public Map<String, Object> status() {
+        long head = ledgerEventRepository.findHeadOffset();
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("headOffset", head);
+
+        Map<String, Object> checkpoints = new LinkedHashMap<>();
+        for (LedgerProjection projection : projections) {
+            long offset = checkpointRepository.findById(projection.name())
+                    .map(ProjectionCheckpoint::getLastOffset)
+                    .orElse(0L);
+            checkpoints.put(projection.name(), Map.of("offset", offset, "lag", head - offset,
+                    "skippedOffsets", gapRepository.countByIdProjection(projection.name())));
+        }
+        status.put("projections", checkpoints);
+        return status;
+    }
+
+    private void wakeUp() {
+        ScheduledExecutorService current = executor;
+        if (current != null) {
+            current.execute(this::drainQuietly);
+        }
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            log.warn("Ledger projection pass failed; retrying on next poll", e);
+        }
+    }
+
+    private int drain(LedgerProjection projection, int limit) {
+        Integer late = transactionTemplate.execute(status -> applyLateEvents(projection));
+        int total = late == null ? 0 : late;
+        while (true) {
+            Integer applied = transactionTemplate.execute(status -> applyNextBatch(projection, limit));
+            if (applied == null || applied == 0) {
+                return total;
+            }
+            total += applied;
+        }
+    }
+
+    private int applyNextBatch(LedgerProjection projection, int limit) {
+        ProjectionCheckpoint checkpoint = checkpoint(projection);
+        List<LedgerEvent> events = contiguousPrefix(
+                ledgerEventRepository.findByIdGreaterThanOrderByIdAsc(checkpoint.getLastOffset(), Limit.of(limit)),
+                checkpoint.getLastOffset());
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        recordSkippedOffsets(projection, events, checkpoint.getLastOffset());
+        projection.apply(events);
+        checkpoint.setLastOffset(events.get(events.size() - 1).getId());
+        return events.size();
+    }
+
+    /**
+     * Applies events that committed after the projection moved past their
+     * offset. Deleting the gap row in the same transaction keeps this
+     * exactly-once: a second instance racing on the row fails its delete and
+     * rolls back.
+     */
+    private int applyLateEvents(LedgerProjection projection) {
+        List<ProjectionGap> gaps = gapRepository.findByIdProjection(projection.name());
+        if (gaps.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, ProjectionGap> byOffset = new HashMap<>();
+        gaps.forEach(gap -> byOffset.put(gap.getId().getEventOffset(), gap));
+
+        List<LedgerEvent> late = ledgerEventRepository.findByIdInOrderByIdAsc(byOffset.keySet());
+        if (!late.isEmpty()) {
+            projection.apply(late);
+            late.forEach(event -> gapRepository.delete(byOffset.remove(event.getId())));
+            log.info("Applied {} late ledger events to projection {}", late.size(), projection.name());
+        }
+
+        LocalDateTime expiry = LocalDateTime.now().minus(gapRetention);
+        byOffset.values().stream()
+                .filter(gap -> gap.getSkippedAt().isBefore(expiry))
+                .forEach(gapRepository::delete);
+        return late.size();
+    }
+
+    private void recordSkippedOffsets(LedgerProjection projection, List<LedgerEvent> events, long offset) {
+        LocalDateTime now = LocalDateTime.now();
+        long expected = offset + 1;
+        for (LedgerEvent event : events) {
+            for (long missing = expected; missing < event.getId(); missing++) {
+                gapRepository.save(ProjectionGap.builder()
+                        .id(new ProjectionGap.Key(projection.name(), missing))
+                        .skippedAt(now)
+                        .build());
+            }
+            expected = event.getId() + 1;
+        }
+    }
+
+    private List<LedgerEvent> contiguousPrefix(List<LedgerEvent> events, long offset) {
+        LocalDateTime gapDeadline = LocalDateTime.now().minus(gapTimeout);
+        long expected = offset + 1;
+
+        for (int i = 0; i < events.size(); i++) {
+            LedgerEvent event = events.get(i);
+            if (event.getId() != expected && event.getRecordedAt().isAfter(gapDeadline)) {
+                return events.subList(0, i);
+            }
+            expected = event.getId() + 1;
+        }
+        return events;
+    }
+
+    private ProjectionCheckpoint checkpoint(LedgerProjection projection) {
+        return checkpointRepository.findById(projection.name())
+                .orElseGet(() -> checkpointRepository.save(ProjectionCheckpoint.builder()
+                        .name(projection.name())
+                        .lastOffset(0)
+                        .build()));
+    }
+}
@@ -0,0 +1,258 @@
+package com.split.splitwise.ledger;
+
+import com.split.splitwise.dto.response.SettlementResponse;
+import com.split.splitwise.entity.LedgerEvent;
+import com.split.splitwise.entity.LedgerEventType;
+import com.split.splitwise.entity.SettlementTransfer;
+import com.split.splitwise.repository.SettlementTransferRepository;
+import com.split.splitwise.service.SettlementService;
+import com.split.splitwise.service.plan.SettlementPlan;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Standing settlement plan per group, patched from EXPENSE_CREATED.
+ *
+ * A batch is folded into one balance change per (group, member), and each
+ * touched group's plan is patched with SettlementPlan.patch. Only the transfers
+ * around members whose balance changed are rewritten, so most instructions stay
+ * as they were. When the patched plan uses too many
+ * transfers (SettlementPlan.withinBound with splitwise.settlement-plan.slack),
+ * the group's plan is recomputed from its balances with SettlementService.
+ *
+ * The plan holds the balances itself, so neither step reads expenses or
+ * projected_balances. patch only moves transfers of changed members and of
+ * their direct counterparties, so a batch reads just those: one query for the
+ * changed members' transfers, which names the counterparties, and one for the
+ * counterparties' transfers. The bound is checked against two counts per
+ * touched group; only a recompute reads a group's whole plan.
+ */
+@Slf4j
+@Component
+public class SettlementPlanProjection implements LedgerProjection {
+
+    private static final int MONEY_SCALE = 2;
+
+    private final SettlementTransferRepository settlementTransferRepository;
+    private final LedgerPayloadReader payloadReader;
+    private final EntityManager entityManager;
+    private final SettlementService settlementService;
+    private final double slack;
+
+    private final Counter patched;
+    private final Counter recomputed;
+    private final Counter transfersChanged;
+
+    public SettlementPlanProjection(SettlementTransferRepository settlementTransferRepository,
+                                    LedgerPayloadReader payloadReader,
+                                    EntityManager entityManager,
+                                    SettlementService settlementService,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${splitwise.settlement-plan.slack:0.5}") double slack) {
+        this.settlementTransferRepository = settlementTransferRepository;
+        this.payloadReader = payloadReader;
+        this.entityManager = entityManager;
+        this.settlementService = settlementService;
+        this.slack = slack;
+        this.patched = updates(meterRegistry, "patched");
+        this.recomputed = updates(meterRegistry, "recomputed");
+        this.transfersChanged = Counter.builder("splitwise.settlement-plan.transfers-changed")
+                .description("Plan transfers added, changed or removed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String name() {
+        return "settlement-plans";
+    }
+
+    @Override
+    public void apply(List<LedgerEvent> events) {
+        Map<UUID, Map<UUID, Long>> deltas = new LinkedHashMap<>();
+        Map<UUID, LocalDateTime> recordedAt = new HashMap<>();
+        Map<UUID, String> names = new HashMap<>();
+
+        for (LedgerEvent event : events) {
+            if (event.getType() != LedgerEventType.EXPENSE_CREATED) {
+                continue;
+            }
+            ExpenseCreatedPayload payload = payloadReader.read(event, ExpenseCreatedPayload.class);
+            Map<UUID, Long> group = deltas.computeIfAbsent(event.getGroupId(), id -> new HashMap<>());
+
+            group.merge(payload.paidBy(), toCents(payload.totalAmount()), Long::sum);
+            names.put(payload.paidBy(), payload.paidByName());
+            for (ExpenseCreatedPayload.Share share : payload.shares()) {
+                group.merge(share.userId(), -toCents(share.amountOwed()), Long::sum);
+                names.put(share.userId(), share.userName());
+            }
+            recordedAt.put(event.getGroupId(), event.getRecordedAt());
+        }
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        // Changed members and their direct counterparties, per group
+        Map<UUID, Set<UUID>> affected = new HashMap<>();
+        deltas.forEach((groupId, groupDeltas) -> affected.put(groupId, new HashSet<>(groupDeltas.keySet())));
+        List<SettlementTransfer> incident = findIncident(affected);
+        for (SettlementTransfer row : incident) {
+            if (touches(row, deltas.get(row.getId().getGroupId()).keySet())) {
+                affected.get(row.getId().getGroupId()).add(row.getId().getFromUserId());
+                affected.get(row.getId().getGroupId()).add(row.getId().getToUserId());
+            }
+        }
+        if (!incident.isEmpty()) {
+            incident = findIncident(affected);
+        }
+
+        Map<UUID, Map<SettlementTransfer.Key, SettlementTransfer>> rowsByGroup = new HashMap<>();
+        for (SettlementTransfer row : incident) {
+            if (!touches(row, affected.get(row.getId().getGroupId()))) {
+                continue;
+            }
+            rowsByGroup.computeIfAbsent(row.getId().getGroupId(), id -> new HashMap<>()).put(row.getId(), row);
+            names.putIfAbsent(row.getId().getFromUserId(), row.getFromUserName());
+            names.putIfAbsent(row.getId().getToUserId(), row.getToUserName());
+        }
+
+        deltas.forEach((groupId, groupDeltas) -> update(groupId, groupDeltas, affected.get(groupId),
+                rowsByGroup.getOrDefault(groupId, new HashMap<>()), names, recordedAt.get(groupId)));
+    }
+
+    @Override
+    public void reset() {
+        settlementTransferRepository.deleteAllInBatch();
+    }
+
+    /**
+     * Patches the part of a group's plan around {@code affected}: {@code rows} holds
+     * every transfer sent or received by an affected member, and nothing else.
+     */
+    private void update(UUID groupId, Map<UUID, Long> deltas, Set<UUID> affected,
+                        Map<SettlementTransfer.Key, SettlementTransfer> rows,
+                        Map<UUID, String> names, LocalDateTime updatedAt) {
+        // Transfers and members outside the loaded part are left as they are by patch
+        Set<UUID> listed = new HashSet<>();
+        for (SettlementTransfer.Key key : rows.keySet()) {
+            listed.add(key.getFromUserId());
+            listed.add(key.getToUserId());
+        }
+        listed.retainAll(affected);
+        long otherTransfers = settlementTransferRepository.countByIdGroupId(groupId) - rows.size();
+        long otherMembers = settlementTransferRepository.countMembers(groupId) - listed.size();
+
+        SettlementPlan plan = toPlan(rows.values());
+        Set<SettlementPlan.Pair> changed = plan.patch(deltas);
+
+        // Every member listed in a plan has a non-zero balance, and the loaded
+        // part holds all transfers of affected members, so theirs are exact
+        long transfers = otherTransfers + plan.transferCount();
+        long members = otherMembers + affected.stream().filter(plan.balances()::containsKey).count();
+        if (SettlementPlan.withinBound(transfers, members, slack)) {
+            patched.increment();
+        } else {
+            log.debug("Plan for group {} has {} transfers for {} members; recomputing",
+                    groupId, transfers, members);
+            rows = new HashMap<>();
+            for (SettlementTransfer row : settlementTransferRepository.findByIdGroupIdOrderByAmountDesc(groupId)) {
+                rows.put(row.getId(), row);
+                names.putIfAbsent(row.getId().getFromUserId(), row.getFromUserName());
+                names.putIfAbsent(row.getId().getToUserId(), row.getToUserName());
+            }
+            plan = toPlan(rows.values());
+            plan.patch(deltas);
+            plan = recompute(plan, names);
+            changed = new LinkedHashSet<>();
+            for (SettlementTransfer.Key key : rows.keySet()) {
+                changed.add(new SettlementPlan.Pair(key.getFromUserId(), key.getToUserId()));
+            }
+            for (SettlementPlan.Transfer transfer : plan.transfers()) {
+                changed.add(new SettlementPlan.Pair(transfer.from(), transfer.to()));
+            }
+            recomputed.increment();
+        }
+
+        for (SettlementPlan.Pair pair : changed) {
+            SettlementTransfer.Key key = new SettlementTransfer.Key(groupId, pair.from(), pair.to());
+            SettlementTransfer row = rows.get(key);
+            long cents = plan.amount(pair.from(), pair.to());
+
+            if (cents == 0) {
+                if (row != null) {
+                    entityManager.remove(row);
+                    transfersChanged.increment();
+                }
+                continue;
+            }
+            BigDecimal amount = BigDecimal.valueOf(cents, MONEY_SCALE);
+            if (row == null) {
+                entityManager.persist(SettlementTransfer.builder()
+                        .id(key)
+                        .fromUserName(names.get(pair.from()))
+                        .toUserName(names.get(pair.to()))
+                        .amount(amount)
+                        .updatedAt(updatedAt)
+                        .build());
+                transfersChanged.increment();
+            } else if (row.getAmount().compareTo(amount) != 0) {
+                row.setAmount(amount);
+                row.setUpdatedAt(updatedAt);
+                transfersChanged.increment();
+            }
+        }
+    }
+
+    private List<SettlementTransfer> findIncident(Map<UUID, Set<UUID>> usersByGroup) {
+        Set<UUID> userIds = new HashSet<>();
+        usersByGroup.values().forEach(userIds::addAll);
+        return settlementTransferRepository.findIncident(usersByGroup.keySet(), userIds);
+    }
+
+    /**
+     * The query matches users across all groups of the batch; this keeps a row only
+     * if it touches a user of its own group.
+     */
+    private static boolean touches(SettlementTransfer row, Set<UUID> users) {
+        return users.contains(row.getId().getFromUserId()) || users.contains(row.getId().getToUserId());
+    }
+
+    private static SettlementPlan toPlan(Collection<SettlementTransfer> rows) {
+        return SettlementPlan.of(rows.stream()
+                .map(row -> new SettlementPlan.Transfer(
+                        row.getId().getFromUserId(), row.getId().getToUserId(), toCents(row.getAmount())))
+                .toList());
+    }
+
+    private SettlementPlan recompute(SettlementPlan plan, Map<UUID, String> names) {
+        Map<UUID, BigDecimal> balances = new HashMap<>();
+        plan.balances().forEach((userId, cents) -> balances.put(userId, BigDecimal.valueOf(cents, MONEY_SCALE)));
+
+        List<SettlementPlan.Transfer> transfers = new ArrayList<>();
+        for (SettlementResponse.Settlement settlement : settlementService.calculateOptimizedSettlements(balances, names)) {
+            transfers.add(new SettlementPlan.Transfer(
+                    settlement.getFromUserId(), settlement.getToUserId(), toCents(settlement.getAmount())));
+        }
+        return SettlementPlan.of(transfers);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(MONEY_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static Counter updates(MeterRegistry registry, String outcome) {
+        return Counter.builder("splitwise.settlement-plan.updates")
+                .description("Group plans patched in place vs. recomputed after exceeding the slack")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
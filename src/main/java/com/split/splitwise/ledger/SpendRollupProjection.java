@@ -0,0 +1,93 @@
+package com.split.splitwise.ledger;
+
+import com.split.splitwise.entity.LedgerEvent;
+import com.split.splitwise.entity.LedgerEventType;
+import com.split.splitwise.entity.RollupGranularity;
+import com.split.splitwise.entity.SpendRollup;
+import com.split.splitwise.repository.SpendRollupRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Spend per (group, payer, day/week/month), folded from EXPENSE_CREATED.
+ *
+ * An expense lands in the bucket of the date its event was recorded, once per
+ * granularity. Like BalanceProjection, a batch is folded into one increment per
+ * key first and applied with a single read of the existing rows.
+ */
+@Component
+@RequiredArgsConstructor
+public class SpendRollupProjection implements LedgerProjection {
+
+    private final SpendRollupRepository spendRollupRepository;
+    private final LedgerPayloadReader payloadReader;
+    private final EntityManager entityManager;
+
+    @Override
+    public String name() {
+        return "spend-rollups";
+    }
+
+    @Override
+    public void apply(List<LedgerEvent> events) {
+        Map<SpendRollup.Key, SpendRollup> increments = new HashMap<>();
+
+        for (LedgerEvent event : events) {
+            if (event.getType() != LedgerEventType.EXPENSE_CREATED) {
+                continue;
+            }
+            ExpenseCreatedPayload payload = payloadReader.read(event, ExpenseCreatedPayload.class);
+            LocalDate date = event.getRecordedAt().toLocalDate();
+
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                SpendRollup.Key key = new SpendRollup.Key(
+                        event.getGroupId(), payload.paidBy(), granularity, granularity.bucketStart(date));
+                SpendRollup increment = increments.computeIfAbsent(key, k -> SpendRollup.builder()
+                        .id(k)
+                        .totalAmount(BigDecimal.ZERO)
+                        .build());
+                increment.setExpenseCount(increment.getExpenseCount() + 1);
+                increment.setTotalAmount(increment.getTotalAmount().add(payload.totalAmount()));
+                increment.setPayerName(payload.paidByName());
+            }
+        }
+
+        if (increments.isEmpty()) {
+            return;
+        }
+
+        // findAllById would load composite keys one by one; the touched groups' rows for the
+        // touched buckets are few, so read those in one query instead
+        Set<UUID> groupIds = new HashSet<>();
+        Set<LocalDate> bucketStarts = new HashSet<>();
+        increments.keySet().forEach(key -> {
+            groupIds.add(key.getGroupId());
+            bucketStarts.add(key.getBucketStart());
+        });
+
+        Map<SpendRollup.Key, SpendRollup> rows = new HashMap<>();
+        spendRollupRepository.findByIdGroupIdInAndIdBucketStartIn(groupIds, bucketStarts)
+                .forEach(row -> rows.put(row.getId(), row));
+
+        increments.forEach((key, increment) -> {
+            SpendRollup row = rows.get(key);
+            if (row == null) {
+                entityManager.persist(increment);
+                return;
+            }
+            row.setExpenseCount(row.getExpenseCount() + increment.getExpenseCount());
+            row.setTotalAmount(row.getTotalAmount().add(increment.getTotalAmount()));
+            row.setPayerName(increment.getPayerName());
+        });
+    }
+
+    @Override
+    public void reset() {
+        spendRollupRepository.deleteAllInBatch();
+    }
+}
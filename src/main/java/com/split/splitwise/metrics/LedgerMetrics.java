@@ -0,0 +1,233 @@
+package com.split.splitwise.metrics;
+
+import com.split.splitwise.entity.SplitType;
+import com.split.splitwise.jfr.BalanceComputationEvent;
+import com.split.splitwise.jfr.ExpensePersistEvent;
+import com.split.splitwise.jfr.SettlementSolveEvent;
+import com.split.splitwise.jfr.SplitCalculationEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters and JFR events for the ledger hot paths.
+ *
+ * Every (metric, split type, participants bucket) combination is registered up
+ * front and held in arrays, so recording is an array index plus a Timer.record -
+ * no tag building or registry lookup per call. Cheap enough to stay on in production.
+ *
+ * The participants tag counts the users an operation actually touched: the
+ * splits of one expense, or the users appearing in a group's expenses. For
+ * EXACT splits and for balances that can be fewer than the group's members.
+ *
+ * ExpenseService times each operation with a LedgerRecording and passes it here
+ * with plain counts; this class records the meters and fills in and commits the
+ * operation's JFR event. Failed expense writes are timed too, tagged
+ * outcome=failure. The API is void-only, so a mocked LedgerMetrics in unit
+ * tests needs no stubbing.
+ */
+@Component
+public class LedgerMetrics {
+
+    /**
+     * Participant count buckets used as a low-cardinality tag. NONE covers empty
+     * groups and expenses that failed before their splits were calculated.
+     */
+    public enum Participants {
+        NONE("0", 0),
+        XS("1-10", 10),
+        S("11-100", 100),
+        M("101-1000", 1_000),
+        L("1001-10000", 10_000),
+        XL("10000+", Integer.MAX_VALUE);
+
+        private final String tag;
+        private final int upperBound;
+
+        Participants(String tag, int upperBound) {
+            this.tag = tag;
+            this.upperBound = upperBound;
+        }
+
+        public static Participants of(int participants) {
+            for (Participants size : values()) {
+                if (participants <= size.upperBound) {
+                    return size;
+                }
+            }
+            return XL;
+        }
+    }
+
+    private static final String SPLIT_TYPE = "split.type";
+    private static final String PARTICIPANTS = "participants";
+    private static final String OUTCOME = "outcome";
+
+    private final Map<SplitType, Timer[]> expenseCreateTimers = new EnumMap<>(SplitType.class);
+    private final Map<SplitType, Timer[]> expenseFailureTimers = new EnumMap<>(SplitType.class);
+    private final Map<SplitType, Timer[]> splitCalculationTimers = new EnumMap<>(SplitType.class);
+    private final Timer[] balanceTimers;
+    private final Timer[] settlementTimers;
+    private final Timer[] settlementSolveTimers;
+    private final DistributionSummary[] expensesScanned;
+    private final DistributionSummary[] splitsScanned;
+    private final DistributionSummary[] settlementsProduced;
+
+    public LedgerMetrics(MeterRegistry registry) {
+        for (SplitType splitType : SplitType.values()) {
+            expenseCreateTimers.put(splitType, timers(registry, "splitwise.expense.create",
+                    "Time to validate, split and persist an expense", splitType, "success"));
+            expenseFailureTimers.put(splitType, timers(registry, "splitwise.expense.create",
+                    "Time to validate, split and persist an expense", splitType, "failure"));
+            splitCalculationTimers.put(splitType, timers(registry, "splitwise.split.calculate",
+                    "Time spent in a SplitStrategy", splitType, null));
+        }
+        balanceTimers = timers(registry, "splitwise.balances.calculate",
+                "Time to load expenses and fold them into net balances", null, null);
+        settlementTimers = timers(registry, "splitwise.settlements.calculate",
+                "Time to compute balances and the optimized settlement plan", null, null);
+        settlementSolveTimers = timers(registry, "splitwise.settlement.solve",
+                "Time spent in SettlementService debt simplification", null, null);
+        expensesScanned = summaries(registry, "splitwise.balances.expenses.scanned",
+                "Expenses read per balance calculation", "expenses");
+        splitsScanned = summaries(registry, "splitwise.balances.splits.scanned",
+                "Splits read per balance calculation", "splits");
+        settlementsProduced = summaries(registry, "splitwise.settlements.produced",
+                "Transactions in each settlement plan", "settlements");
+    }
+
+    /**
+     * Meters backed by an empty composite registry: every call is a no-op.
+     * For code paths constructed outside Spring (unit tests, benchmarks).
+     */
+    public static LedgerMetrics noop() {
+        return new LedgerMetrics(new CompositeMeterRegistry());
+    }
+
+    /**
+     * Phases: validation, split, persist. The JFR event is only committed for
+     * successful writes.
+     */
+    public void recordExpenseCreated(LedgerRecording<ExpensePersistEvent> recording, UUID groupId,
+                                     SplitType splitType, int participants, boolean succeeded) {
+        Map<SplitType, Timer[]> timers = succeeded ? expenseCreateTimers : expenseFailureTimers;
+        timers.get(splitType)[bucket(participants)].record(recording.elapsedNanos(), TimeUnit.NANOSECONDS);
+
+        ExpensePersistEvent event = recording.end();
+        if (event != null && succeeded) {
+            event.groupId = groupId.toString();
+            event.splitType = splitType.name();
+            event.memberCount = participants;
+            event.validationDuration = recording.phaseNanos(0);
+            event.splitDuration = recording.phaseNanos(1);
+            event.persistDuration = recording.phaseNanos(2);
+            event.commit();
+        }
+    }
+
+    public void recordSplitCalculation(LedgerRecording<SplitCalculationEvent> recording, UUID groupId,
+                                       SplitType splitType, int participants) {
+        splitCalculationTimers.get(splitType)[bucket(participants)]
+                .record(recording.elapsedNanos(), TimeUnit.NANOSECONDS);
+
+        SplitCalculationEvent event = recording.end();
+        if (event != null) {
+            event.groupId = groupId.toString();
+            event.splitType = splitType.name();
+            event.memberCount = participants;
+            event.commit();
+        }
+    }
+
+    /**
+     * Phases: load, fold, assemble.
+     */
+    public void recordBalances(LedgerRecording<BalanceComputationEvent> recording, UUID groupId,
+                               int participants, int expenses, int splits) {
+        int bucket = bucket(participants);
+        balanceTimers[bucket].record(recording.elapsedNanos(), TimeUnit.NANOSECONDS);
+        expensesScanned[bucket].record(expenses);
+        splitsScanned[bucket].record(splits);
+
+        BalanceComputationEvent event = recording.end();
+        if (event != null) {
+            event.groupId = groupId.toString();
+            event.memberCount = participants;
+            event.expenseCount = expenses;
+            event.splitCount = splits;
+            event.loadDuration = recording.phaseNanos(0);
+            event.foldDuration = recording.phaseNanos(1);
+            event.assembleDuration = recording.phaseNanos(2);
+            event.commit();
+        }
+    }
+
+    /**
+     * Phases: balances, solve.
+     */
+    public void recordSettlements(LedgerRecording<SettlementSolveEvent> recording, UUID groupId,
+                                  int participants, int expenses, int settlements) {
+        int bucket = bucket(participants);
+        settlementTimers[bucket].record(recording.elapsedNanos(), TimeUnit.NANOSECONDS);
+        settlementsProduced[bucket].record(settlements);
+
+        SettlementSolveEvent event = recording.end();
+        if (event != null) {
+            event.groupId = groupId.toString();
+            event.memberCount = participants;
+            event.expenseCount = expenses;
+            event.settlementCount = settlements;
+            event.balanceDuration = recording.phaseNanos(0);
+            event.solveDuration = recording.phaseNanos(1);
+            event.commit();
+        }
+    }
+
+    public void recordSettlementSolve(int participants, long nanos) {
+        settlementSolveTimers[bucket(participants)].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static int bucket(int participants) {
+        return Participants.of(participants).ordinal();
+    }
+
+    private static Timer[] timers(MeterRegistry registry, String name, String description,
+                                  SplitType splitType, String outcome) {
+        Participants[] sizes = Participants.values();
+        Timer[] timers = new Timer[sizes.length];
+        for (Participants size : sizes) {
+            Timer.Builder builder = Timer.builder(name)
+                    .description(description)
+                    .tag(PARTICIPANTS, size.tag);
+            if (splitType != null) {
+                builder.tag(SPLIT_TYPE, splitType.name());
+            }
+            if (outcome != null) {
+                builder.tag(OUTCOME, outcome);
+            }
+            timers[size.ordinal()] = builder.register(registry);
+        }
+        return timers;
+    }
+
+    private static DistributionSummary[] summaries(MeterRegistry registry, String name,
+                                                   String description, String baseUnit) {
+        Participants[] sizes = Participants.values();
+        DistributionSummary[] summaries = new DistributionSummary[sizes.length];
+        for (Participants size : sizes) {
+            summaries[size.ordinal()] = DistributionSummary.builder(name)
+                    .description(description)
+                    .baseUnit(baseUnit)
+                    .tag(PARTICIPANTS, size.tag)
+                    .register(registry);
+        }
+        return summaries;
+    }
+}
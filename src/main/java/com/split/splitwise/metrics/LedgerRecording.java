@@ -0,0 +1,60 @@
+package com.split.splitwise.metrics;
+
+import jdk.jfr.Event;
+
+/**
+ * Timing of one ledger operation: its JFR event plus System.nanoTime() phase marks.
+ *
+ * Started before the operation and marked at each phase boundary, then handed
+ * to LedgerMetrics, which records the Micrometer meters and fills in and
+ * commits the event when a running recording wants it. Keeps the
+ * begin/nanoTime/shouldCommit bookkeeping out of the services.
+ */
+public final class LedgerRecording<E extends Event> {
+
+    private static final int MAX_PHASES = 3;
+
+    private final E event;
+    private final long start;
+    private final long[] marks = new long[MAX_PHASES];
+    private int phases;
+
+    private LedgerRecording(E event) {
+        this.event = event;
+        event.begin();
+        this.start = System.nanoTime();
+    }
+
+    public static <E extends Event> LedgerRecording<E> start(E event) {
+        return new LedgerRecording<>(event);
+    }
+
+    /**
+     * Ends the current phase; the next one starts now.
+     */
+    public void mark() {
+        marks[phases++] = System.nanoTime();
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Duration of a marked phase, or 0 if the operation stopped before reaching it.
+     */
+    long phaseNanos(int index) {
+        if (index >= phases) {
+            return 0L;
+        }
+        return marks[index] - (index == 0 ? start : marks[index - 1]);
+    }
+
+    /**
+     * Ends the event and returns it when it should be committed, otherwise null.
+     */
+    E end() {
+        event.end();
+        return event.shouldCommit() ? event : null;
+    }
+}
@@ -0,0 +1,78 @@
+package com.split.splitwise.metrics;
+
+import com.split.splitwise.entity.Group;
+import com.split.splitwise.entity.User;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.Map;
+
+/**
+ * Per-region metrics of the second-level cache, read from the JCache caches
+ * behind the regions rather than from Hibernate statistics, so they work in
+ * every profile.
+ *
+ * - cache.gets{cache,result}, cache.puts, cache.removals, cache.evictions:
+ *   Micrometer's JCacheMetrics, from the JCache statistics MBean that
+ *   application.conf enables on every region (monitoring.statistics)
+ * - splitwise.cache.hit.ratio{region}: hits / (hits + misses) of those
+ *   counters, so dashboards and /actuator/metrics show it directly. NaN until
+ *   a region has been queried.
+ *
+ * Nothing is registered when the second-level cache is off.
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    private static final Map<String, String> REGIONS = Map.of(
+            "user", User.class.getName(),
+            "group", Group.class.getName(),
+            "query", "default-query-results-region");
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getCache().getRegionFactory();
+        if (!(regionFactory instanceof JCacheRegionFactory jcache)) {
+            return;
+        }
+        CacheManager cacheManager = jcache.getCacheManager();
+
+        REGIONS.forEach((tag, region) -> {
+            Cache<Object, Object> cache = cacheManager.getCache(region);
+            if (cache == null) {
+                return;
+            }
+            JCacheMetrics.monitor(registry, cache, Tags.of("region", tag));
+            Gauge.builder("splitwise.cache.hit.ratio", registry, meters -> hitRatio(meters, region))
+                    .description("Second-level cache hit ratio since startup")
+                    .tag("region", tag)
+                    .register(registry);
+        });
+    }
+
+    private static double hitRatio(MeterRegistry registry, String cache) {
+        FunctionCounter hits = registry.find("cache.gets").tags("cache", cache, "result", "hit").functionCounter();
+        FunctionCounter misses = registry.find("cache.gets").tags("cache", cache, "result", "miss").functionCounter();
+        if (hits == null || misses == null) {
+            return Double.NaN;
+        }
+        double lookups = hits.count() + misses.count();
+        return lookups == 0 ? Double.NaN : hits.count() / lookups;
+    }
+}
@@ -0,0 +1,91 @@
+package com.split.splitwise.metrics;
+
+import java.util.*;
+
+/**
+ * SQL statements executed on one thread while this capture was open.
+ *
+ * Used per request by SqlStatementFilter, and directly by tests to assert
+ * query budgets:
+ * <pre>
+ * try (SqlCapture capture = sqlStatementTracker.capture()) {
+ *     mockMvc.perform(get("/api/v1/groups/{id}/balances", groupId));
+ * }
+ * capture.assertStatementCount(2);
+ * </pre>
+ * Results stay readable after close().
+ */
+public class SqlCapture implements AutoCloseable {
+
+    private final SqlStatementTracker tracker;
+    private final Map<String, Integer> countsBySql = new LinkedHashMap<>();
+    private int statementCount;
+    private long elapsedMillis;
+    private boolean closed;
+
+    SqlCapture(SqlStatementTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    void record(String sql, long elapsed) {
+        statementCount++;
+        elapsedMillis += elapsed;
+        countsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    public int statementCount() {
+        return statementCount;
+    }
+
+    public long elapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public List<String> statements() {
+        List<String> statements = new ArrayList<>();
+        countsBySql.forEach((sql, count) -> statements.addAll(Collections.nCopies(count, sql)));
+        return statements;
+    }
+
+    /**
+     * Identical SELECTs executed at least {@code threshold} times - the signature
+     * of an N+1 (lazy association or per-row lookup in a loop). Repeated INSERTs
+     * for child rows are expected and not reported.
+     */
+    public Map<String, Integer> repeatedSelects(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        countsBySql.forEach((sql, count) -> {
+            if (count >= threshold && isSelect(sql)) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+
+    public void assertStatementCount(int expected) {
+        if (statementCount != expected) {
+            throw new AssertionError(String.format(
+                    "Expected %d SQL statements but %d were executed:%n%s",
+                    expected, statementCount, String.join(System.lineSeparator(), statements())));
+        }
+    }
+
+    public void assertNoRepeatedSelects() {
+        Map<String, Integer> repeated = repeatedSelects(2);
+        if (!repeated.isEmpty()) {
+            throw new AssertionError("Repeated identical SELECTs (possible N+1): " + repeated);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            tracker.release(this);
+        }
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql.stripLeading().regionMatches(true, 0, "select", 0, 6);
+    }
+}
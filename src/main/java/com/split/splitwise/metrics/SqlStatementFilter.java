@@ -0,0 +1,88 @@
+package com.split.splitwise.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts SQL statements per request and publishes them per endpoint:
+ * - splitwise.sql.statements (distribution summary)
+ * - splitwise.sql.time (timer, total time spent in JDBC)
+ *
+ * Tagged by HTTP method and URI template (never the raw path, to keep
+ * cardinality bounded). Repeated identical SELECTs above the configured
+ * threshold are logged as a likely N+1.
+ *
+ * Requests that go async (Mono and SSE endpoints) are not reported: their
+ * statements run on other threads after this filter returns, so the count
+ * would read 0. The async dispatch that completes them is not filtered either.
+ */
+@Slf4j
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    private static final String UNMAPPED = "UNMAPPED";
+
+    private final SqlStatementTracker tracker;
+    private final MeterRegistry meterRegistry;
+    private final int repeatedSelectThreshold;
+
+    public SqlStatementFilter(SqlStatementTracker tracker, MeterRegistry meterRegistry,
+                              int repeatedSelectThreshold) {
+        this.tracker = tracker;
+        this.meterRegistry = meterRegistry;
+        this.repeatedSelectThreshold = repeatedSelectThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        SqlCapture capture = tracker.capture();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            capture.close();
+            if (!request.isAsyncStarted()) {
+                publish(request, capture);
+            }
+        }
+    }
+
+    private void publish(HttpServletRequest request, SqlCapture capture) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNMAPPED;
+        String method = request.getMethod();
+
+        DistributionSummary.builder("splitwise.sql.statements")
+                .description("SQL statements executed per request")
+                .baseUnit("statements")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(capture.statementCount());
+
+        Timer.builder("splitwise.sql.time")
+                .description("Time spent executing SQL per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(capture.elapsedMillis(), TimeUnit.MILLISECONDS);
+
+        Map<String, Integer> repeated = capture.repeatedSelects(repeatedSelectThreshold);
+        if (!repeated.isEmpty()) {
+            log.warn("Possible N+1 on {} {}: {} statements, repeated selects {}",
+                    method, uri, capture.statementCount(), repeated);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.split.splitwise.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Receives every statement executed through the proxied DataSource and
+ * forwards it to the SqlCaptures open on the current thread.
+ *
+ * Captures nest: a test can hold one around a MockMvc call while the
+ * request filter holds its own, and both see the same statements.
+ * Threads without an open capture pay a single ThreadLocal read.
+ */
+public class SqlStatementTracker implements QueryExecutionListener {
+
+    private final ThreadLocal<List<SqlCapture>> activeCaptures = new ThreadLocal<>();
+
+    public SqlCapture capture() {
+        List<SqlCapture> captures = activeCaptures.get();
+        if (captures == null) {
+            captures = new ArrayList<>(2);
+            activeCaptures.set(captures);
+        }
+        SqlCapture capture = new SqlCapture(this);
+        captures.add(capture);
+        return capture;
+    }
+
+    void release(SqlCapture capture) {
+        List<SqlCapture> captures = activeCaptures.get();
+        if (captures == null) {
+            return;
+        }
+        captures.remove(capture);
+        if (captures.isEmpty()) {
+            activeCaptures.remove();
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        List<SqlCapture> captures = activeCaptures.get();
+        if (captures == null) {
+            return;
+        }
+
+        long elapsed = execInfo.getElapsedTime();
+        for (QueryInfo queryInfo : queryInfoList) {
+            for (SqlCapture capture : captures) {
+                capture.record(queryInfo.getQuery(), elapsed);
+            }
+            elapsed = 0;
+        }
+    }
+}
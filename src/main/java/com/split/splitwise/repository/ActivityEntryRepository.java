@@ -0,0 +1,29 @@
+package com.split.splitwise.repository;
+
+import com.split.splitwise.entity.ActivityEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ActivityEntryRepository extends JpaRepository<ActivityEntry, ActivityEntry.Key> {
+
+    List<ActivityEntry> findByIdUserIdAndIdEventOffsetLessThanOrderByIdEventOffsetDesc(
+            UUID userId, long beforeOffset, Limit limit);
+
+    /**
+     * Deletes everything older than the user's newest {@code keep} entries.
+     * A no-op while the timeline is within bounds (the subquery is empty).
+     */
+    @Modifying
+    @Query(value = "DELETE FROM activity_entries WHERE user_id = :userId AND event_offset <= " +
+            "(SELECT event_offset FROM activity_entries WHERE user_id = :userId " +
+            "ORDER BY event_offset DESC OFFSET :keep ROWS FETCH NEXT 1 ROWS ONLY)", nativeQuery = true)
+    int trimTimeline(@Param("userId") UUID userId, @Param("keep") int keep);
+}
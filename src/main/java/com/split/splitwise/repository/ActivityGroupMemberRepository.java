@@ -0,0 +1,16 @@
+package com.split.splitwise.repository;
+
+import com.split.splitwise.entity.ActivityGroupMember;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ActivityGroupMemberRepository
+        extends JpaRepository<ActivityGroupMember, ActivityGroupMember.Key> {
+
+    List<ActivityGroupMember> findByIdGroupIdIn(Collection<UUID> groupIds);
+}
@@ -1,11 +1,17 @@
 package com.split.splitwise.repository;
 
 import com.split.splitwise.entity.GroupMember;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -13,15 +19,55 @@ import java.util.UUID;
 @Repository
 public interface GroupMemberRepository extends JpaRepository<GroupMember, UUID> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByGroupIdAndUserId(UUID groupId, UUID userId);
 
     @Query("SELECT gm.user.id FROM GroupMember gm WHERE gm.group.id = :groupId")
     Set<UUID> findUserIdsByGroupId(@Param("groupId") UUID groupId);
 
+    @Query("SELECT gm.user.id FROM GroupMember gm " +
+            "WHERE gm.group.id = :groupId AND gm.user.id IN :userIds")
+    Set<UUID> findMemberUserIdsIn(@Param("groupId") UUID groupId, @Param("userIds") Collection<UUID> userIds);
+
     @Query("SELECT gm FROM GroupMember gm " +
             "JOIN FETCH gm.user " +
             "WHERE gm.group.id = :groupId")
     List<GroupMember> findByGroupIdWithUser(@Param("groupId") UUID groupId);
 
     long countByGroupId(UUID groupId);
+
+    /**
+     * Every group the user belongs to, with their projected balance and the group's
+     * last activity. Reads only the maintained projections, so the cost depends on
+     * the number of memberships, not on expense history.
+     */
+    @Query("SELECT g.id AS groupId, g.name AS groupName, s.memberCount AS memberCount, " +
+            "b.balance AS balance, s.lastActivityAt AS lastActivityAt " +
+            "FROM GroupMember gm " +
+            "JOIN gm.group g " +
+            "LEFT JOIN ProjectedBalance b ON b.id.groupId = g.id AND b.id.userId = gm.user.id " +
+            "LEFT JOIN ProjectedGroupSummary s ON s.groupId = g.id " +
+            "WHERE gm.user.id = :userId " +
+            "ORDER BY s.lastActivityAt DESC NULLS LAST, g.name")
+    List<DashboardRow> findDashboardRows(@Param("userId") UUID userId);
+
+    /**
+     * The user's groups whose projected member count exceeds the given size.
+     */
+    @Query("SELECT s.groupId FROM GroupMember gm " +
+            "JOIN ProjectedGroupSummary s ON s.groupId = gm.group.id " +
+            "WHERE gm.user.id = :userId AND s.memberCount > :memberCount")
+    List<UUID> findGroupIdsLargerThan(@Param("userId") UUID userId, @Param("memberCount") int memberCount);
+
+    interface DashboardRow {
+        UUID getGroupId();
+
+        String getGroupName();
+
+        Integer getMemberCount();
+
+        BigDecimal getBalance();
+
+        LocalDateTime getLastActivityAt();
+    }
 }
@@ -0,0 +1,30 @@
+package com.split.splitwise.repository;
+
+import com.split.splitwise.entity.LedgerEvent;
+import com.split.splitwise.entity.LedgerEventType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface LedgerEventRepository extends JpaRepository<LedgerEvent, Long> {
+
+    List<LedgerEvent> findByIdGreaterThanOrderByIdAsc(long offset, Limit limit);
+
+    List<LedgerEvent> findByIdInOrderByIdAsc(Collection<Long> offsets);
+
+    List<LedgerEvent> findByGroupIdInAndTypeAndIdLessThanOrderByIdDesc(
+            Collection<UUID> groupIds, LedgerEventType type, long beforeOffset, Limit limit);
+
+    List<LedgerEvent> findByGroupIdAndTypeAndRecordedAtGreaterThanEqualOrderByIdAsc(
+            UUID groupId, LedgerEventType type, LocalDateTime since);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM LedgerEvent e")
+    long findHeadOffset();
+}
@@ -0,0 +1,17 @@
+package com.split.splitwise.repository;
+
+import com.split.splitwise.entity.ProjectedBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ProjectedBalanceRepository extends JpaRepository<ProjectedBalance, ProjectedBalance.Key> {
+
+    List<ProjectedBalance> findByIdGroupId(UUID groupId);
+
+    List<ProjectedBalance> findByIdGroupIdIn(Collection<UUID> groupIds);
+}
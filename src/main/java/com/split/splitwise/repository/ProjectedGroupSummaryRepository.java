@@ -0,0 +1,11 @@
+package com.split.splitwise.repository;
+
+import com.split.splitwise.entity.ProjectedGroupSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ProjectedGroupSummaryRepository extends JpaRepository<ProjectedGroupSummary, UUID> {
+}
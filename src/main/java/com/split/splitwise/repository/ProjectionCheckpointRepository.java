@@ -0,0 +1,9 @@
+package com.split.splitwise.repository;
+
+import com.split.splitwise.entity.ProjectionCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProjectionCheckpointRepository extends JpaRepository<ProjectionCheckpoint, String> {
+}
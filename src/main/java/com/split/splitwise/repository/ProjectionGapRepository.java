@@ -0,0 +1,22 @@
+package com.split.splitwise.repository;
+
+import com.split.splitwise.entity.ProjectionGap;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProjectionGapRepository extends JpaRepository<ProjectionGap, ProjectionGap.Key> {
+
+    List<ProjectionGap> findByIdProjection(String projection);
+
+    long countByIdProjection(String projection);
+
+    @Modifying
+    @Query("DELETE FROM ProjectionGap g WHERE g.id.projection = :projection")
+    int deleteByProjection(@Param("projection") String projection);
+}
@@ -0,0 +1,36 @@
+package com.split.splitwise.repository;
+
+import com.split.splitwise.entity.SettlementTransfer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SettlementTransferRepository extends JpaRepository<SettlementTransfer, SettlementTransfer.Key> {
+
+    List<SettlementTransfer> findByIdGroupIdOrderByAmountDesc(UUID groupId);
+
+    /**
+     * Transfers of the given groups sent or received by any of the given users.
+     */
+    @Query("SELECT t FROM SettlementTransfer t WHERE t.id.groupId IN :groupIds " +
+            "AND (t.id.fromUserId IN :userIds OR t.id.toUserId IN :userIds)")
+    List<SettlementTransfer> findIncident(@Param("groupIds") Collection<UUID> groupIds,
+                                          @Param("userIds") Collection<UUID> userIds);
+
+    long countByIdGroupId(UUID groupId);
+
+    /**
+     * Members sending or receiving at least one transfer of the group's plan.
+     */
+    @Query(value = "SELECT COUNT(*) FROM (" +
+            "SELECT from_user_id FROM settlement_transfers WHERE group_id = :groupId " +
+            "UNION SELECT to_user_id FROM settlement_transfers WHERE group_id = :groupId) members",
+            nativeQuery = true)
+    long countMembers(@Param("groupId") UUID groupId);
+}
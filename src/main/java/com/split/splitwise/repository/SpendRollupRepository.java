@@ -0,0 +1,20 @@
+package com.split.splitwise.repository;
+
+import com.split.splitwise.entity.RollupGranularity;
+import com.split.splitwise.entity.SpendRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SpendRollupRepository extends JpaRepository<SpendRollup, SpendRollup.Key> {
+
+    List<SpendRollup> findByIdGroupIdAndIdGranularityAndIdBucketStartBetweenOrderByIdBucketStart(
+            UUID groupId, RollupGranularity granularity, LocalDate from, LocalDate to);
+
+    List<SpendRollup> findByIdGroupIdInAndIdBucketStartIn(Collection<UUID> groupIds, Collection<LocalDate> bucketStarts);
+}
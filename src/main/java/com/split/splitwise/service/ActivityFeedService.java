@@ -0,0 +1,144 @@
+package com.split.splitwise.service;
+
+import com.split.splitwise.dto.response.ActivityFeedResponse;
+import com.split.splitwise.entity.ActivityEntry;
+import com.split.splitwise.entity.LedgerEvent;
+import com.split.splitwise.entity.LedgerEventType;
+import com.split.splitwise.ledger.ActivityProjection;
+import com.split.splitwise.ledger.ExpenseCreatedPayload;
+import com.split.splitwise.ledger.LedgerPayloadReader;
+import com.split.splitwise.repository.ActivityEntryRepository;
+import com.split.splitwise.repository.GroupMemberRepository;
+import com.split.splitwise.repository.LedgerEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Reads a user's activity feed with cursor paging on the ledger offset.
+ *
+ * The page comes from the user's precomputed timeline (ActivityProjection). For
+ * groups above the fan-out limit, whose expenses were not copied into timelines,
+ * the expenses the user took part in are read from ledger_events and merged in
+ * by offset (duplicates from before a group grew past the limit collapse on the
+ * offset). That scan is bounded per page; when it stops early the page is cut at
+ * the lowest scanned offset and the cursor resumes from there.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class ActivityFeedService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_EVENTS_SCANNED = 1_000;
+
+    private final UserService userService;
+    private final ActivityEntryRepository activityEntryRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final LedgerEventRepository ledgerEventRepository;
+    private final LedgerPayloadReader payloadReader;
+    private final int fanoutLimit;
+
+    public ActivityFeedService(UserService userService,
+                               ActivityEntryRepository activityEntryRepository,
+                               GroupMemberRepository groupMemberRepository,
+                               LedgerEventRepository ledgerEventRepository,
+                               LedgerPayloadReader payloadReader,
+                               @Value("${splitwise.activity.fanout-limit:500}") int fanoutLimit) {
+        this.userService = userService;
+        this.activityEntryRepository = activityEntryRepository;
+        this.groupMemberRepository = groupMemberRepository;
+        this.ledgerEventRepository = ledgerEventRepository;
+        this.payloadReader = payloadReader;
+        this.fanoutLimit = fanoutLimit;
+    }
+
+    public ActivityFeedResponse getActivity(UUID userId, Long before, int limit) {
+        log.debug("Fetching activity for user {} before offset {}", userId, before);
+        userService.findUserByIdOrThrow(userId);
+
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        long cursor = before != null ? before : Long.MAX_VALUE;
+
+        NavigableMap<Long, ActivityEntry> merged = new TreeMap<>(Comparator.reverseOrder());
+        activityEntryRepository.findByIdUserIdAndIdEventOffsetLessThanOrderByIdEventOffsetDesc(
+                        userId, cursor, Limit.of(pageSize + 1))
+                .forEach(entry -> merged.put(entry.getId().getEventOffset(), entry));
+
+        long floor = 0;
+        List<UUID> largeGroups = groupMemberRepository.findGroupIdsLargerThan(userId, fanoutLimit);
+        if (!largeGroups.isEmpty()) {
+            floor = readLargeGroupExpenses(userId, largeGroups, cursor, pageSize, merged);
+        }
+
+        List<ActivityFeedResponse.Entry> entries = new ArrayList<>(pageSize);
+        Long nextCursor = null;
+        for (ActivityEntry entry : merged.headMap(floor, true).values()) {
+            if (entries.size() == pageSize) {
+                nextCursor = entries.get(pageSize - 1).getOffset();
+                break;
+            }
+            entries.add(toResponse(entry));
+        }
+        if (nextCursor == null && floor > 0) {
+            nextCursor = floor;
+        }
+
+        return ActivityFeedResponse.builder()
+                .userId(userId)
+                .entries(entries)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Adds the user's expenses in large groups below the cursor to {@code merged}.
+     * Returns the lowest offset the scan covered, or 0 if it reached the start of the log.
+     */
+    private long readLargeGroupExpenses(UUID userId, List<UUID> groupIds, long cursor, int pageSize,
+                                        Map<Long, ActivityEntry> merged) {
+        int found = 0;
+        int scanned = 0;
+        long scanBefore = cursor;
+        while (scanned < MAX_EVENTS_SCANNED) {
+            int batch = Math.min(pageSize * 4, MAX_EVENTS_SCANNED - scanned);
+            List<LedgerEvent> events = ledgerEventRepository.findByGroupIdInAndTypeAndIdLessThanOrderByIdDesc(
+                    groupIds, LedgerEventType.EXPENSE_CREATED, scanBefore, Limit.of(batch));
+
+            for (LedgerEvent event : events) {
+                ExpenseCreatedPayload payload = payloadReader.read(event, ExpenseCreatedPayload.class);
+                if (ActivityProjection.participants(payload).contains(userId)) {
+                    merged.putIfAbsent(event.getId(), ActivityProjection.expenseEntry(event, payload, userId));
+                    found++;
+                }
+            }
+            if (events.size() < batch) {
+                return 0;
+            }
+            scanned += events.size();
+            scanBefore = events.get(events.size() - 1).getId();
+            if (found > pageSize) {
+                break;
+            }
+        }
+        return scanBefore;
+    }
+
+    private static ActivityFeedResponse.Entry toResponse(ActivityEntry entry) {
+        return ActivityFeedResponse.Entry.builder()
+                .offset(entry.getId().getEventOffset())
+                .groupId(entry.getGroupId())
+                .type(entry.getType())
+                .actorId(entry.getActorId())
+                .actorName(entry.getActorName())
+                .description(entry.getDescription())
+                .amount(entry.getAmount())
+                .userDelta(entry.getUserDelta())
+                .occurredAt(entry.getOccurredAt())
+                .build();
+    }
+}
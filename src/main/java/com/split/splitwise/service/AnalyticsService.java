@@ -0,0 +1,129 @@
+package com.split.splitwise.service;
+
+import com.split.splitwise.dto.response.GroupAnalyticsResponse;
+import com.split.splitwise.entity.RollupGranularity;
+import com.split.splitwise.entity.SpendRollup;
+import com.split.splitwise.exception.ValidationException;
+import com.split.splitwise.repository.SpendRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Spend per payer and time bucket for a group, read from the spend_rollups
+ * projection (see SpendRollupProjection). A range query reads one row per
+ * (payer, bucket) in the range, however many expenses the group has.
+ *
+ * Rollups are updated shortly after each commit, so an expense made a moment
+ * ago may not be counted yet.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AnalyticsService {
+
+    private static final int MAX_BUCKETS = 366;
+
+    private final GroupService groupService;
+    private final SpendRollupRepository spendRollupRepository;
+
+    /**
+     * Buckets from the one containing {@code from} to the one containing {@code to},
+     * oldest first; buckets without expenses are included with zero totals.
+     * A missing {@code to} means today; a missing {@code from} means the last
+     * 30 days, 12 weeks or 12 months.
+     */
+    public GroupAnalyticsResponse getAnalytics(UUID groupId, RollupGranularity granularity,
+                                               LocalDate from, LocalDate to, UUID payerId) {
+        log.debug("Fetching {} analytics for group {} from {} to {}", granularity, groupId, from, to);
+
+        LocalDate end = granularity.bucketStart(to != null ? to : LocalDate.now());
+        LocalDate start = granularity.bucketStart(from != null ? from : defaultFrom(granularity, end));
+        if (start.isAfter(end)) {
+            throw new ValidationException("'from' must not be after 'to'");
+        }
+        if (granularity.bucketsBetween(start, end) > MAX_BUCKETS) {
+            throw new ValidationException(String.format(
+                    "Range spans more than %d %s buckets; use a coarser granularity", MAX_BUCKETS, granularity));
+        }
+        groupService.findGroupByIdOrThrow(groupId);
+
+        List<SpendRollup> rows = spendRollupRepository
+                .findByIdGroupIdAndIdGranularityAndIdBucketStartBetweenOrderByIdBucketStart(
+                        groupId, granularity, start, end);
+
+        Map<LocalDate, List<GroupAnalyticsResponse.PayerSpend>> byBucket = new HashMap<>();
+        Map<UUID, GroupAnalyticsResponse.PayerSpend> byPayer = new LinkedHashMap<>();
+        for (SpendRollup row : rows) {
+            UUID rowPayer = row.getId().getPayerId();
+            if (payerId != null && !payerId.equals(rowPayer)) {
+                continue;
+            }
+            byBucket.computeIfAbsent(row.getId().getBucketStart(), date -> new ArrayList<>())
+                    .add(spend(rowPayer, row.getPayerName(), row.getExpenseCount(), row.getTotalAmount()));
+
+            GroupAnalyticsResponse.PayerSpend total = byPayer.computeIfAbsent(rowPayer,
+                    id -> spend(id, row.getPayerName(), 0, BigDecimal.ZERO));
+            total.setPayerName(row.getPayerName());
+            total.setExpenseCount(total.getExpenseCount() + row.getExpenseCount());
+            total.setTotalAmount(total.getTotalAmount().add(row.getTotalAmount()));
+        }
+
+        List<GroupAnalyticsResponse.Bucket> buckets = new ArrayList<>();
+        for (LocalDate bucket = start; !bucket.isAfter(end); bucket = granularity.next(bucket)) {
+            List<GroupAnalyticsResponse.PayerSpend> payers = byBucket.getOrDefault(bucket, List.of());
+            buckets.add(GroupAnalyticsResponse.Bucket.builder()
+                    .bucketStart(bucket)
+                    .expenseCount(payers.stream().mapToLong(GroupAnalyticsResponse.PayerSpend::getExpenseCount).sum())
+                    .totalAmount(sum(payers))
+                    .payers(payers)
+                    .build());
+        }
+
+        List<GroupAnalyticsResponse.PayerSpend> payers = new ArrayList<>(byPayer.values());
+        payers.sort(Comparator.comparing(GroupAnalyticsResponse.PayerSpend::getTotalAmount).reversed());
+
+        return GroupAnalyticsResponse.builder()
+                .groupId(groupId)
+                .granularity(granularity)
+                .from(start)
+                .to(granularity.next(end).minusDays(1))
+                .expenseCount(payers.stream().mapToLong(GroupAnalyticsResponse.PayerSpend::getExpenseCount).sum())
+                .totalAmount(sum(payers))
+                .payers(payers)
+                .buckets(buckets)
+                .build();
+    }
+
+    private static LocalDate defaultFrom(RollupGranularity granularity, LocalDate end) {
+        return switch (granularity) {
+            case DAY -> end.minusDays(29);
+            case WEEK -> end.minusWeeks(11);
+            case MONTH -> end.minusMonths(11);
+        };
+    }
+
+    private static GroupAnalyticsResponse.PayerSpend spend(UUID payerId, String payerName,
+                                                           long expenseCount, BigDecimal totalAmount) {
+        return GroupAnalyticsResponse.PayerSpend.builder()
+                .payerId(payerId)
+                .payerName(payerName)
+                .expenseCount(expenseCount)
+                .totalAmount(totalAmount)
+                .build();
+    }
+
+    private static BigDecimal sum(List<GroupAnalyticsResponse.PayerSpend> spends) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (GroupAnalyticsResponse.PayerSpend spend : spends) {
+            total = total.add(spend.getTotalAmount());
+        }
+        return total;
+    }
+}
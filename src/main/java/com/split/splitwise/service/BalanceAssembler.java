@@ -0,0 +1,78 @@
+package com.split.splitwise.service;
+
+import com.split.splitwise.dto.response.BalanceResponse;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Turns raw per-user net amounts into the API balance view.
+ *
+ * Shared by the JPA read path (ExpenseService) and the reactive read path
+ * (ReactiveLedgerService) so both round and classify balances identically.
+ * Stateless and free of persistence concerns on purpose - calling it never
+ * opens a transaction or borrows a connection.
+ */
+public final class BalanceAssembler {
+
+    private static final int MONEY_SCALE = 2;
+    private static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
+
+    private BalanceAssembler() {
+    }
+
+    public static BalanceResponse toBalanceResponse(UUID groupId,
+                                                    Map<UUID, BigDecimal> balances,
+                                                    Map<UUID, String> userNames) {
+        List<BalanceResponse.UserBalance> userBalances = balances.entrySet().stream()
+                .map(entry -> {
+                    BigDecimal balance = entry.getValue().setScale(MONEY_SCALE, ROUNDING_MODE);
+                    BalanceResponse.BalanceStatus status = determineBalanceStatus(balance);
+
+                    return BalanceResponse.UserBalance.builder()
+                            .userId(entry.getKey())
+                            .userName(userNames.get(entry.getKey()))
+                            .balance(balance)
+                            .status(status)
+                            .build();
+                })
+                .sorted(Comparator.comparing(BalanceResponse.UserBalance::getBalance).reversed())
+                .collect(Collectors.toList());
+
+        return BalanceResponse.builder()
+                .groupId(groupId)
+                .balances(userBalances)
+                .build();
+    }
+
+    public static Map<UUID, BigDecimal> netBalances(BalanceResponse balanceResponse) {
+        return balanceResponse.getBalances().stream()
+                .collect(Collectors.toMap(
+                        BalanceResponse.UserBalance::getUserId,
+                        BalanceResponse.UserBalance::getBalance
+                ));
+    }
+
+    public static Map<UUID, String> userNames(BalanceResponse balanceResponse) {
+        return balanceResponse.getBalances().stream()
+                .collect(Collectors.toMap(
+                        BalanceResponse.UserBalance::getUserId,
+                        BalanceResponse.UserBalance::getUserName
+                ));
+    }
+
+    private static BalanceResponse.BalanceStatus determineBalanceStatus(BigDecimal balance) {
+        int comparison = balance.compareTo(BigDecimal.ZERO);
+        if (comparison > 0) {
+            return BalanceResponse.BalanceStatus.GETS_BACK;
+        } else if (comparison < 0) {
+            return BalanceResponse.BalanceStatus.OWES_MONEY;
+        }
+        return BalanceResponse.BalanceStatus.SETTLED;
+    }
+}
@@ -0,0 +1,66 @@
+package com.split.splitwise.service;
+
+import com.split.splitwise.dto.response.UserDashboardResponse;
+import com.split.splitwise.entity.User;
+import com.split.splitwise.repository.GroupMemberRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Home-screen view: every group of a user with their net position in it.
+ *
+ * Served from the ledger projections (projected_balances, projected_group_summaries)
+ * in one query, so it lags committed writes by the projector's catch-up time
+ * (usually milliseconds, see LedgerProjector). A membership the projector has not
+ * reached yet shows a zero balance.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DashboardService {
+
+    private final UserService userService;
+    private final GroupMemberRepository groupMemberRepository;
+
+    public UserDashboardResponse getDashboard(UUID userId) {
+        log.debug("Building dashboard for user {}", userId);
+
+        User user = userService.findUserByIdOrThrow(userId);
+
+        List<UserDashboardResponse.GroupEntry> groups = groupMemberRepository.findDashboardRows(userId).stream()
+                .map(row -> UserDashboardResponse.GroupEntry.builder()
+                        .groupId(row.getGroupId())
+                        .groupName(row.getGroupName())
+                        .memberCount(row.getMemberCount())
+                        .balance(row.getBalance() != null ? row.getBalance() : BigDecimal.ZERO)
+                        .lastActivityAt(row.getLastActivityAt())
+                        .build())
+                .toList();
+
+        BigDecimal owedToUser = BigDecimal.ZERO;
+        BigDecimal userOwes = BigDecimal.ZERO;
+        for (UserDashboardResponse.GroupEntry group : groups) {
+            if (group.getBalance().signum() > 0) {
+                owedToUser = owedToUser.add(group.getBalance());
+            } else {
+                userOwes = userOwes.add(group.getBalance().negate());
+            }
+        }
+
+        return UserDashboardResponse.builder()
+                .userId(user.getId())
+                .userName(user.getName())
+                .totalOwedToUser(owedToUser)
+                .totalUserOwes(userOwes)
+                .netBalance(owedToUser.subtract(userOwes))
+                .groups(groups)
+                .build();
+    }
+}
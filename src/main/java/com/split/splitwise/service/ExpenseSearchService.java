@@ -0,0 +1,59 @@
+package com.split.splitwise.service;
+
+import com.split.splitwise.dto.response.ExpenseSearchResponse;
+import com.split.splitwise.exception.ValidationException;
+import com.split.splitwise.service.search.ExpenseDocument;
+import com.split.splitwise.service.search.ExpenseSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Full-text search over a group's expense descriptions, served from the
+ * in-process ExpenseSearchIndex; only the group lookup touches the database.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ExpenseSearchService {
+
+    private static final int MAX_SEARCH_RESULTS = 100;
+
+    private final GroupService groupService;
+    private final ExpenseSearchIndex expenseSearchIndex;
+
+    public ExpenseSearchResponse searchExpenses(UUID groupId, String query, int limit) {
+        log.debug("Searching expenses in group {} for: {}", groupId, query);
+
+        if (query == null || query.isBlank()) {
+            throw new ValidationException("Search query must not be blank");
+        }
+        groupService.findGroupByIdOrThrow(groupId);
+
+        int boundedLimit = Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS);
+        List<ExpenseSearchResponse.Hit> results = expenseSearchIndex.search(groupId, query, boundedLimit).stream()
+                .map(hit -> {
+                    ExpenseDocument doc = hit.document();
+                    return ExpenseSearchResponse.Hit.builder()
+                            .expenseId(doc.expenseId())
+                            .description(doc.description())
+                            .totalAmount(doc.totalAmount())
+                            .paidByName(doc.paidByName())
+                            .createdAt(doc.createdAt())
+                            .score(hit.score())
+                            .build();
+                })
+                .toList();
+
+        return ExpenseSearchResponse.builder()
+                .groupId(groupId)
+                .query(query)
+                .results(results)
+                .build();
+    }
+}
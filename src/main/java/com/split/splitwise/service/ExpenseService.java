@@ -5,19 +5,27 @@ import com.split.splitwise.dto.response.BalanceResponse;
 import com.split.splitwise.dto.response.ExpenseResponse;
 import com.split.splitwise.dto.response.SettlementResponse;
 import com.split.splitwise.entity.*;
+import com.split.splitwise.event.ExpenseCreatedEvent;
+import com.split.splitwise.jfr.BalanceComputationEvent;
+import com.split.splitwise.jfr.ExpensePersistEvent;
+import com.split.splitwise.jfr.SettlementSolveEvent;
+import com.split.splitwise.jfr.SplitCalculationEvent;
 import com.split.splitwise.mapper.ExpenseMapper;
+import com.split.splitwise.metrics.LedgerMetrics;
+import com.split.splitwise.metrics.LedgerRecording;
 import com.split.splitwise.repository.ExpenseRepository;
 import com.split.splitwise.service.split.SplitStrategy;
 import com.split.splitwise.service.split.SplitStrategyFactory;
+import com.split.splitwise.sharding.ShardContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Service for managing expenses.
@@ -43,29 +51,45 @@ public class ExpenseService {
     private final ExpenseMapper expenseMapper;
     private final SettlementService settlementService;
     private final SplitStrategyFactory splitStrategyFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LedgerMetrics ledgerMetrics;
 
     @Transactional
     public ExpenseResponse createExpense(UUID groupId, CreateExpenseRequest request) {
+        ShardContext.bindGroup(groupId);
         log.info("Creating expense in group {}: {} - {}", 
                 groupId, request.getDescription(), request.getTotalAmount());
-
-        Group group = groupService.findGroupByIdOrThrow(groupId);
-        User payer = userService.findUserByIdOrThrow(request.getPaidBy());
-
-        groupService.validateUserIsMember(groupId, request.getPaidBy());
-
-        Expense expense = Expense.builder()
-                .description(request.getDescription())
-                .totalAmount(request.getTotalAmount().setScale(MONEY_SCALE, ROUNDING_MODE))
-                .paidBy(payer)
-                .group(group)
-                .splitType(request.getSplitType())
-                .build();
-
-        List<ExpenseSplit> splits = createSplits(expense, groupId, request);
-        splits.forEach(expense::addSplit);
-
-        Expense savedExpense = expenseRepository.save(expense);
+        LedgerRecording<ExpensePersistEvent> recording = LedgerRecording.start(new ExpensePersistEvent());
+        int participants = 0;
+        boolean succeeded = false;
+        Expense savedExpense;
+        try {
+            Group group = groupService.findGroupByIdOrThrow(groupId);
+            User payer = userService.findUserByIdOrThrow(request.getPaidBy());
+
+            groupService.validateUserIsMember(groupId, request.getPaidBy());
+
+            Expense expense = Expense.builder()
+                    .description(request.getDescription())
+                    .totalAmount(request.getTotalAmount().setScale(MONEY_SCALE, ROUNDING_MODE))
+                    .paidBy(payer)
+                    .group(group)
+                    .splitType(request.getSplitType())
+                    .build();
+            recording.mark();
+
+            List<ExpenseSplit> splits = createSplits(expense, groupId, request);
+            splits.forEach(expense::addSplit);
+            participants = splits.size();
+            recording.mark();
+
+            savedExpense = expenseRepository.save(expense);
+            eventPublisher.publishEvent(new ExpenseCreatedEvent(groupId, savedExpense));
+            recording.mark();
+            succeeded = true;
+        } finally {
+            ledgerMetrics.recordExpenseCreated(recording, groupId, request.getSplitType(), participants, succeeded);
+        }
 
         log.info("Expense created successfully with ID: {}", savedExpense.getId());
         return expenseMapper.toResponse(savedExpense);
@@ -83,7 +107,12 @@ public class ExpenseService {
      */
     private List<ExpenseSplit> createSplits(Expense expense, UUID groupId, CreateExpenseRequest request) {
         SplitStrategy strategy = splitStrategyFactory.getStrategy(request.getSplitType());
-        return strategy.calculateSplits(expense, groupId, request);
+
+        LedgerRecording<SplitCalculationEvent> recording = LedgerRecording.start(new SplitCalculationEvent());
+        List<ExpenseSplit> splits = strategy.calculateSplits(expense, groupId, request);
+        ledgerMetrics.recordSplitCalculation(recording, groupId, request.getSplitType(), splits.size());
+
+        return splits;
     }
 
     /**
@@ -98,13 +127,46 @@ public class ExpenseService {
      * - Each participant gets -amountOwed (what they owe)
      */
     public BalanceResponse calculateBalances(UUID groupId) {
+        return computeBalances(groupId).response();
+    }
+
+    public SettlementResponse calculateSettlements(UUID groupId) {
+        ShardContext.bindGroup(groupId);
+        log.info("Calculating optimized settlements for group: {}", groupId);
+        LedgerRecording<SettlementSolveEvent> recording = LedgerRecording.start(new SettlementSolveEvent());
+
+        ComputedBalances balances = computeBalances(groupId);
+        recording.mark();
+
+        Map<UUID, BigDecimal> netBalances = BalanceAssembler.netBalances(balances.response());
+        Map<UUID, String> userNames = BalanceAssembler.userNames(balances.response());
+
+        List<SettlementResponse.Settlement> settlements = 
+                settlementService.calculateOptimizedSettlements(netBalances, userNames);
+        recording.mark();
+
+        ledgerMetrics.recordSettlements(recording, groupId, netBalances.size(), balances.expenseCount(), settlements.size());
+        log.info("Generated {} optimized settlements for group {}", settlements.size(), groupId);
+
+        return SettlementResponse.builder()
+                .groupId(groupId)
+                .settlements(settlements)
+                .totalTransactions(settlements.size())
+                .build();
+    }
+
+    private ComputedBalances computeBalances(UUID groupId) {
+        ShardContext.bindGroup(groupId);
         log.info("Calculating balances for group: {}", groupId);
+        LedgerRecording<BalanceComputationEvent> recording = LedgerRecording.start(new BalanceComputationEvent());
 
         groupService.findGroupByIdOrThrow(groupId);
 
         List<Expense> expenses = expenseRepository.findByGroupIdWithSplits(groupId);
+        recording.mark();
         Map<UUID, BigDecimal> balances = new HashMap<>();
         Map<UUID, String> userNames = new HashMap<>();
+        int splitsScanned = 0;
 
         for (Expense expense : expenses) {
             UUID payerId = expense.getPaidBy().getId();
@@ -112,6 +174,7 @@ public class ExpenseService {
 
             balances.merge(payerId, expense.getTotalAmount(), BigDecimal::add);
 
+            splitsScanned += expense.getSplits().size();
             for (ExpenseSplit split : expense.getSplits()) {
                 UUID userId = split.getUser().getId();
                 userNames.putIfAbsent(userId, split.getUser().getName());
@@ -119,66 +182,16 @@ public class ExpenseService {
                 balances.merge(userId, split.getAmountOwed().negate(), BigDecimal::add);
             }
         }
+        recording.mark();
 
-        List<BalanceResponse.UserBalance> userBalances = balances.entrySet().stream()
-                .map(entry -> {
-                    BigDecimal balance = entry.getValue().setScale(MONEY_SCALE, ROUNDING_MODE);
-                    BalanceResponse.BalanceStatus status = determineBalanceStatus(balance);
+        BalanceResponse response = BalanceAssembler.toBalanceResponse(groupId, balances, userNames);
+        recording.mark();
 
-                    return BalanceResponse.UserBalance.builder()
-                            .userId(entry.getKey())
-                            .userName(userNames.get(entry.getKey()))
-                            .balance(balance)
-                            .status(status)
-                            .build();
-                })
-                .sorted(Comparator.comparing(BalanceResponse.UserBalance::getBalance).reversed())
-                .collect(Collectors.toList());
+        ledgerMetrics.recordBalances(recording, groupId, balances.size(), expenses.size(), splitsScanned);
+        log.debug("Calculated balances for {} users in group {}", response.getBalances().size(), groupId);
 
-        log.debug("Calculated balances for {} users in group {}", userBalances.size(), groupId);
-
-        return BalanceResponse.builder()
-                .groupId(groupId)
-                .balances(userBalances)
-                .build();
+        return new ComputedBalances(response, expenses.size());
     }
 
-    private BalanceResponse.BalanceStatus determineBalanceStatus(BigDecimal balance) {
-        int comparison = balance.compareTo(BigDecimal.ZERO);
-        if (comparison > 0) {
-            return BalanceResponse.BalanceStatus.GETS_BACK;
-        } else if (comparison < 0) {
-            return BalanceResponse.BalanceStatus.OWES_MONEY;
-        }
-        return BalanceResponse.BalanceStatus.SETTLED;
-    }
-
-    public SettlementResponse calculateSettlements(UUID groupId) {
-        log.info("Calculating optimized settlements for group: {}", groupId);
-
-        BalanceResponse balanceResponse = calculateBalances(groupId);
-
-        Map<UUID, BigDecimal> netBalances = balanceResponse.getBalances().stream()
-                .collect(Collectors.toMap(
-                        BalanceResponse.UserBalance::getUserId,
-                        BalanceResponse.UserBalance::getBalance
-                ));
-
-        Map<UUID, String> userNames = balanceResponse.getBalances().stream()
-                .collect(Collectors.toMap(
-                        BalanceResponse.UserBalance::getUserId,
-                        BalanceResponse.UserBalance::getUserName
-                ));
-
-        List<SettlementResponse.Settlement> settlements = 
-                settlementService.calculateOptimizedSettlements(netBalances, userNames);
-
-        log.info("Generated {} optimized settlements for group {}", settlements.size(), groupId);
-
-        return SettlementResponse.builder()
-                .groupId(groupId)
-                .settlements(settlements)
-                .totalTransactions(settlements.size())
-                .build();
-    }
+    private record ComputedBalances(BalanceResponse response, int expenseCount) {}
 }
@@ -0,0 +1,156 @@
+package com.split.splitwise.service;
+
+import com.split.splitwise.dto.request.BulkAddMembersRequest;
+import com.split.splitwise.dto.request.BulkCreateGroupsRequest;
+import com.split.splitwise.dto.request.CreateGroupRequest;
+import com.split.splitwise.dto.response.BulkOperationResponse;
+import com.split.splitwise.dto.response.BulkOperationResponse.ItemResult;
+import com.split.splitwise.dto.response.BulkOperationResponse.Status;
+import com.split.splitwise.entity.Group;
+import com.split.splitwise.entity.GroupMember;
+import com.split.splitwise.entity.User;
+import com.split.splitwise.event.MemberAddedEvent;
+import com.split.splitwise.repository.GroupMemberRepository;
+import com.split.splitwise.repository.UserRepository;
+import com.split.splitwise.sharding.ShardContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk onboarding: many members into one group, or many groups at once.
+ *
+ * Existence and duplicate checks are one IN query per request instead of one
+ * lookup per item, new GroupMember rows go out as JDBC batches
+ * (hibernate.jdbc.batch_size), and nothing is re-fetched afterwards.
+ * Failures are reported per item; only a missing group fails a member bulk-add
+ * as a whole.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class GroupBulkService {
+
+    private final GroupService groupService;
+    private final GroupMemberRepository groupMemberRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public GroupBulkService(GroupService groupService,
+                            GroupMemberRepository groupMemberRepository,
+                            UserRepository userRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager) {
+        this.groupService = groupService;
+        this.groupMemberRepository = groupMemberRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Adds every listed user that exists and is not yet a member, in one transaction.
+     */
+    @Transactional
+    public BulkOperationResponse addMembers(UUID groupId, BulkAddMembersRequest request) {
+        ShardContext.bindGroup(groupId);
+        List<UUID> userIds = request.getUserIds();
+        log.info("Bulk adding {} users to group {}", userIds.size(), groupId);
+
+        Group group = groupService.findGroupByIdOrThrow(groupId);
+
+        Map<UUID, User> users = findUsers(userIds);
+        Set<UUID> alreadyMembers = users.isEmpty()
+                ? Set.of()
+                : groupMemberRepository.findMemberUserIdsIn(groupId, users.keySet());
+
+        List<ItemResult> results = new ArrayList<>(userIds.size());
+        List<GroupMember> newMembers = new ArrayList<>();
+        Set<UUID> seen = new HashSet<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            UUID userId = userIds.get(i);
+            User user = users.get(userId);
+            if (!seen.add(userId)) {
+                results.add(item(i, userId, Status.DUPLICATE, "Listed more than once in this request"));
+            } else if (user == null) {
+                results.add(item(i, userId, Status.NOT_FOUND, "User not found"));
+            } else if (alreadyMembers.contains(userId)) {
+                results.add(item(i, userId, Status.DUPLICATE, "Already a member of this group"));
+            } else {
+                newMembers.add(GroupMember.builder()
+                        .group(group)
+                        .user(user)
+                        .build());
+                results.add(item(i, userId, Status.ADDED, null));
+            }
+        }
+
+        groupMemberRepository.saveAll(newMembers);
+        newMembers.forEach(member -> eventPublisher.publishEvent(new MemberAddedEvent(groupId, member.getUser())));
+
+        log.info("Bulk added {} of {} users to group {}", newMembers.size(), userIds.size(), groupId);
+        return BulkOperationResponse.of(results);
+    }
+
+    /**
+     * Creates each group in its own short transaction: a transaction is bound to
+     * one group (see ShardContext), and one bad item must not roll back the rest.
+     * Creators are resolved up front with a single IN query.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkOperationResponse createGroups(BulkCreateGroupsRequest request) {
+        List<CreateGroupRequest> groups = request.getGroups();
+        log.info("Bulk creating {} groups", groups.size());
+
+        Map<UUID, User> creators = findUsers(groups.stream().map(CreateGroupRequest::getCreatedBy).toList());
+
+        List<ItemResult> results = new ArrayList<>(groups.size());
+        for (int i = 0; i < groups.size(); i++) {
+            CreateGroupRequest group = groups.get(i);
+            User creator = creators.get(group.getCreatedBy());
+            if (creator == null) {
+                results.add(item(i, null, Status.NOT_FOUND, "Creator user not found: " + group.getCreatedBy()));
+                continue;
+            }
+
+            try {
+                UUID groupId = transactionTemplate.execute(status -> {
+                    UUID id = UUID.randomUUID();
+                    ShardContext.bindGroup(id);
+                    return groupService.persistNewGroup(id, group.getName(), creator).getId();
+                });
+                results.add(item(i, groupId, Status.CREATED, null));
+            } catch (RuntimeException e) {
+                log.warn("Bulk group creation failed for item {} ({}): {}", i, group.getName(), e.getMessage());
+                results.add(item(i, null, Status.FAILED, e.getMessage()));
+            }
+        }
+
+        BulkOperationResponse response = BulkOperationResponse.of(results);
+        log.info("Bulk created {} of {} groups", response.getSucceeded(), groups.size());
+        return response;
+    }
+
+    private Map<UUID, User> findUsers(Collection<UUID> userIds) {
+        return userRepository.findAllById(new HashSet<>(userIds)).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    private static ItemResult item(int index, UUID id, Status status, String message) {
+        return ItemResult.builder()
+                .index(index)
+                .id(id)
+                .status(status)
+                .message(message)
+                .build();
+    }
+}
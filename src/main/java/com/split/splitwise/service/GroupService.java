@@ -6,14 +6,18 @@ import com.split.splitwise.dto.response.GroupResponse;
 import com.split.splitwise.entity.Group;
 import com.split.splitwise.entity.GroupMember;
 import com.split.splitwise.entity.User;
+import com.split.splitwise.event.GroupCreatedEvent;
+import com.split.splitwise.event.MemberAddedEvent;
 import com.split.splitwise.exception.BusinessRuleException;
 import com.split.splitwise.exception.DuplicateResourceException;
 import com.split.splitwise.exception.ResourceNotFoundException;
 import com.split.splitwise.mapper.GroupMapper;
 import com.split.splitwise.repository.GroupMemberRepository;
 import com.split.splitwise.repository.GroupRepository;
+import com.split.splitwise.sharding.ShardContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,15 +34,33 @@ public class GroupService {
     private final GroupMemberRepository groupMemberRepository;
     private final UserService userService;
     private final GroupMapper groupMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public GroupResponse createGroup(CreateGroupRequest request) {
         log.info("Creating group: {} by user: {}", request.getName(), request.getCreatedBy());
 
+        UUID groupId = UUID.randomUUID();
+        ShardContext.bindGroup(groupId);
+
         User creator = userService.findUserByIdOrThrow(request.getCreatedBy());
+        Group savedGroup = persistNewGroup(groupId, request.getName(), creator);
+
+        log.info("Group created successfully with ID: {}", savedGroup.getId());
+
+        return groupRepository.findByIdWithMembers(savedGroup.getId())
+                .map(groupMapper::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Group", "id", savedGroup.getId()));
+    }
 
+    /**
+     * Inserts a group with its creator as first member and publishes GroupCreatedEvent.
+     * The caller's transaction must already be bound to groupId.
+     */
+    Group persistNewGroup(UUID groupId, String name, User creator) {
         Group group = Group.builder()
-                .name(request.getName())
+                .id(groupId)
+                .name(name)
                 .createdBy(creator)
                 .build();
 
@@ -51,16 +73,13 @@ public class GroupService {
         savedGroup.addMember(creatorMember);
 
         groupMemberRepository.save(creatorMember);
-
-        log.info("Group created successfully with ID: {}", savedGroup.getId());
-
-        return groupRepository.findByIdWithMembers(savedGroup.getId())
-                .map(groupMapper::toResponse)
-                .orElseThrow(() -> new ResourceNotFoundException("Group", "id", savedGroup.getId()));
+        eventPublisher.publishEvent(new GroupCreatedEvent(savedGroup));
+        return savedGroup;
     }
 
     @Transactional
     public GroupResponse addMember(UUID groupId, AddMemberRequest request) {
+        ShardContext.bindGroup(groupId);
         log.info("Adding user {} to group {}", request.getUserId(), groupId);
 
         Group group = findGroupByIdOrThrow(groupId);
@@ -77,6 +96,7 @@ public class GroupService {
                 .build();
 
         groupMemberRepository.save(member);
+        eventPublisher.publishEvent(new MemberAddedEvent(groupId, user));
 
         log.info("User {} added to group {} successfully", request.getUserId(), groupId);
 
@@ -86,6 +106,7 @@ public class GroupService {
     }
 
     public GroupResponse getGroupById(UUID groupId) {
+        ShardContext.bindGroup(groupId);
         log.debug("Fetching group with ID: {}", groupId);
 
         return groupRepository.findByIdWithMembers(groupId)
@@ -94,11 +115,13 @@ public class GroupService {
     }
 
     public Group findGroupByIdOrThrow(UUID groupId) {
+        ShardContext.bindGroup(groupId);
         return groupRepository.findById(groupId)
                 .orElseThrow(() -> new ResourceNotFoundException("Group", "id", groupId));
     }
 
     public void validateUserIsMember(UUID groupId, UUID userId) {
+        ShardContext.bindGroup(groupId);
         if (!groupMemberRepository.existsByGroupIdAndUserId(groupId, userId)) {
             throw new BusinessRuleException(
                     String.format("User %s is not a member of group %s", userId, groupId));
@@ -106,10 +129,12 @@ public class GroupService {
     }
 
     public Set<UUID> getGroupMemberIds(UUID groupId) {
+        ShardContext.bindGroup(groupId);
         return groupMemberRepository.findUserIdsByGroupId(groupId);
     }
 
     public long getMemberCount(UUID groupId) {
+        ShardContext.bindGroup(groupId);
         return groupMemberRepository.countByGroupId(groupId);
     }
 }
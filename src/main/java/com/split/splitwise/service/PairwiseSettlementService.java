@@ -0,0 +1,71 @@
+package com.split.splitwise.service;
+
+import com.split.splitwise.dto.response.SettlementResponse;
+import com.split.splitwise.entity.Expense;
+import com.split.splitwise.entity.ExpenseSplit;
+import com.split.splitwise.entity.User;
+import com.split.splitwise.repository.ExpenseRepository;
+import com.split.splitwise.service.pairwise.PairwiseDebtMatrix;
+import com.split.splitwise.sharding.ShardContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.RoundingMode;
+import java.util.*;
+
+/**
+ * Settlements without debt simplification: for every pair of users, the net
+ * of what each owes the other according to the splits (participant owes payer).
+ *
+ * Users are numbered as they are met and pairs go into a PairwiseDebtMatrix,
+ * so a group with thousands of members costs memory per pair that actually
+ * shares an expense, never a members-squared matrix.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PairwiseSettlementService {
+
+    private final ExpenseRepository expenseRepository;
+    private final GroupService groupService;
+
+    public SettlementResponse calculatePairwiseSettlements(UUID groupId) {
+        ShardContext.bindGroup(groupId);
+        log.info("Calculating pairwise settlements for group: {}", groupId);
+
+        groupService.findGroupByIdOrThrow(groupId);
+        List<Expense> expenses = expenseRepository.findByGroupIdWithSplits(groupId);
+
+        Map<UUID, Integer> userIndex = new HashMap<>();
+        List<User> users = new ArrayList<>();
+        PairwiseDebtMatrix debts = new PairwiseDebtMatrix();
+
+        for (Expense expense : expenses) {
+            int creditor = indexOf(expense.getPaidBy(), userIndex, users);
+            for (ExpenseSplit split : expense.getSplits()) {
+                long cents = split.getAmountOwed().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+                debts.add(indexOf(split.getUser(), userIndex, users), creditor, cents);
+            }
+        }
+
+        List<SettlementResponse.Settlement> settlements = debts.toSettlements(
+                index -> users.get(index).getId(), index -> users.get(index).getName());
+        log.info("Generated {} pairwise settlements for group {}", settlements.size(), groupId);
+
+        return SettlementResponse.builder()
+                .groupId(groupId)
+                .settlements(settlements)
+                .totalTransactions(settlements.size())
+                .build();
+    }
+
+    private static int indexOf(User user, Map<UUID, Integer> userIndex, List<User> users) {
+        return userIndex.computeIfAbsent(user.getId(), id -> {
+            users.add(user);
+            return users.size() - 1;
+        });
+    }
+}
@@ -0,0 +1,114 @@
+package com.split.splitwise.service;
+
+import com.split.splitwise.dto.response.BalanceResponse;
+import com.split.splitwise.dto.response.SettlementResponse;
+import com.split.splitwise.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Non-blocking balance and settlement reads over R2DBC.
+ *
+ * Unlike ExpenseService, balances are aggregated in the database:
+ * one row per user instead of every expense and split entity, so
+ * the amount of data crossing the wire is O(members), not O(splits).
+ *
+ * The write path stays on JPA; this service only reads committed rows.
+ * Settlement solving reuses SettlementService on the isolated ledger-read scheduler.
+ */
+@Slf4j
+@Service
+@Profile("reactive-reads")
+@RequiredArgsConstructor
+public class ReactiveLedgerService {
+
+    // group_members instead of groups: "groups" is a reserved word on H2,
+    // and every group has at least its creator as a member
+    private static final String GROUP_EXISTS_SQL =
+            "SELECT COUNT(*) FROM group_members WHERE group_id = :groupId";
+
+    private static final String NET_BALANCES_SQL =
+            "SELECT u.id, u.name, SUM(b.amount) FROM (" +
+            "  SELECT e.paid_by AS user_id, e.total_amount AS amount " +
+            "  FROM expenses e WHERE e.group_id = :groupId " +
+            "  UNION ALL " +
+            "  SELECT s.user_id AS user_id, -s.amount_owed AS amount " +
+            "  FROM expense_splits s JOIN expenses e ON e.id = s.expense_id " +
+            "  WHERE e.group_id = :groupId" +
+            ") b JOIN users u ON u.id = b.user_id " +
+            "GROUP BY u.id, u.name";
+
+    private final DatabaseClient ledgerDatabaseClient;
+    private final Scheduler ledgerReadScheduler;
+    private final SettlementService settlementService;
+
+    public Mono<BalanceResponse> calculateBalances(UUID groupId) {
+        return assertGroupExists(groupId)
+                .then(fetchNetBalances(groupId))
+                .publishOn(ledgerReadScheduler)
+                .map(rows -> toBalanceResponse(groupId, rows));
+    }
+
+    public Mono<SettlementResponse> calculateSettlements(UUID groupId) {
+        return calculateBalances(groupId)
+                .map(balanceResponse -> {
+                    List<SettlementResponse.Settlement> settlements = settlementService.calculateOptimizedSettlements(
+                            BalanceAssembler.netBalances(balanceResponse),
+                            BalanceAssembler.userNames(balanceResponse));
+
+                    log.debug("Generated {} settlements for group {} on reactive path", settlements.size(), groupId);
+
+                    return SettlementResponse.builder()
+                            .groupId(groupId)
+                            .settlements(settlements)
+                            .totalTransactions(settlements.size())
+                            .build();
+                });
+    }
+
+    private Mono<Void> assertGroupExists(UUID groupId) {
+        return ledgerDatabaseClient.sql(GROUP_EXISTS_SQL)
+                .bind("groupId", groupId)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(count -> count > 0
+                        ? Mono.<Void>empty()
+                        : Mono.error(new ResourceNotFoundException("Group", "id", groupId)));
+    }
+
+    private Mono<List<NetBalanceRow>> fetchNetBalances(UUID groupId) {
+        return ledgerDatabaseClient.sql(NET_BALANCES_SQL)
+                .bind("groupId", groupId)
+                .map(row -> new NetBalanceRow(
+                        row.get(0, UUID.class),
+                        row.get(1, String.class),
+                        row.get(2, BigDecimal.class)))
+                .all()
+                .collectList();
+    }
+
+    private BalanceResponse toBalanceResponse(UUID groupId, List<NetBalanceRow> rows) {
+        Map<UUID, BigDecimal> balances = new HashMap<>(rows.size() * 2);
+        Map<UUID, String> userNames = new HashMap<>(rows.size() * 2);
+
+        for (NetBalanceRow row : rows) {
+            balances.put(row.userId(), row.balance());
+            userNames.put(row.userId(), row.userName());
+        }
+
+        return BalanceAssembler.toBalanceResponse(groupId, balances, userNames);
+    }
+
+    private record NetBalanceRow(UUID userId, String userName, BigDecimal balance) {}
+}
@@ -0,0 +1,51 @@
+package com.split.splitwise.service;
+
+import com.split.splitwise.dto.response.SettlementResponse;
+import com.split.splitwise.repository.SettlementTransferRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads a group's standing settlement plan from the settlement_transfers
+ * projection (see SettlementPlanProjection). Unlike /settlements in SIMPLIFIED
+ * mode, a new expense only changes the transfers of the members it touched.
+ *
+ * The plan is updated shortly after each commit, so an expense made a moment
+ * ago may not be reflected yet.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SettlementPlanService {
+
+    private final GroupService groupService;
+    private final SettlementTransferRepository settlementTransferRepository;
+
+    public SettlementResponse getPlan(UUID groupId) {
+        log.debug("Fetching settlement plan for group {}", groupId);
+        groupService.findGroupByIdOrThrow(groupId);
+
+        List<SettlementResponse.Settlement> settlements = settlementTransferRepository
+                .findByIdGroupIdOrderByAmountDesc(groupId).stream()
+                .map(row -> SettlementResponse.Settlement.builder()
+                        .fromUserId(row.getId().getFromUserId())
+                        .fromUserName(row.getFromUserName())
+                        .toUserId(row.getId().getToUserId())
+                        .toUserName(row.getToUserName())
+                        .amount(row.getAmount())
+                        .build())
+                .toList();
+
+        return SettlementResponse.builder()
+                .groupId(groupId)
+                .settlements(settlements)
+                .totalTransactions(settlements.size())
+                .build();
+    }
+}
@@ -1,7 +1,9 @@
 package com.split.splitwise.service;
 
 import com.split.splitwise.dto.response.SettlementResponse;
+import com.split.splitwise.metrics.LedgerMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -39,6 +41,17 @@ public class SettlementService {
     private static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
     private static final BigDecimal EPSILON = new BigDecimal("0.01");
 
+    private final LedgerMetrics ledgerMetrics;
+
+    public SettlementService() {
+        this(LedgerMetrics.noop());
+    }
+
+    @Autowired
+    public SettlementService(LedgerMetrics ledgerMetrics) {
+        this.ledgerMetrics = ledgerMetrics;
+    }
+
     /**
      * Calculates the minimum number of transactions needed to settle all debts.
      *
@@ -51,6 +64,7 @@ public class SettlementService {
             Map<UUID, String> userNames) {
 
         log.debug("Starting settlement calculation for {} users", netBalances.size());
+        long start = System.nanoTime();
 
         PriorityQueue<UserBalance> creditors = new PriorityQueue<>(
                 Comparator.comparing(UserBalance::amount).reversed()
@@ -111,6 +125,7 @@ public class SettlementService {
             }
         }
 
+        ledgerMetrics.recordSettlementSolve(netBalances.size(), System.nanoTime() - start);
         log.info("Settlement calculation complete: {} transactions generated", settlements.size());
 
         return settlements;
@@ -3,12 +3,16 @@ package com.split.splitwise.service;
 import com.split.splitwise.dto.request.CreateUserRequest;
 import com.split.splitwise.dto.response.UserResponse;
 import com.split.splitwise.entity.User;
+import com.split.splitwise.event.UserCreatedEvent;
 import com.split.splitwise.exception.DuplicateResourceException;
 import com.split.splitwise.exception.ResourceNotFoundException;
+import com.split.splitwise.exception.ValidationException;
 import com.split.splitwise.mapper.UserMapper;
 import com.split.splitwise.repository.UserRepository;
+import com.split.splitwise.service.search.UserSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,8 +25,12 @@ import java.util.UUID;
 @Transactional(readOnly = true)
 public class UserService {
 
+    private static final int MAX_SEARCH_RESULTS = 50;
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserSearchIndex userSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public UserResponse createUser(CreateUserRequest request) {
@@ -34,6 +42,7 @@ public class UserService {
 
         User user = userMapper.toEntity(request);
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserCreatedEvent(savedUser));
 
         log.info("User created successfully with ID: {}", savedUser.getId());
         return userMapper.toResponse(savedUser);
@@ -53,6 +62,21 @@ public class UserService {
         return userMapper.toResponseList(users);
     }
 
+    /**
+     * Type-ahead prefix search on email and name, served entirely from
+     * the in-memory UserSearchIndex (no database round-trip).
+     */
+    public List<UserResponse> searchUsers(String query, int limit) {
+        log.debug("Searching users with prefix: {}", query);
+
+        if (query == null || query.isBlank()) {
+            throw new ValidationException("Search query must not be blank");
+        }
+
+        int boundedLimit = Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS);
+        return userSearchIndex.search(query, boundedLimit);
+    }
+
     public User findUserByIdOrThrow(UUID userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
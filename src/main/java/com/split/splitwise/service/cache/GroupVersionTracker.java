@@ -0,0 +1,126 @@
+package com.split.splitwise.service.cache;
+
+import com.split.splitwise.event.ExpenseCreatedEvent;
+import com.split.splitwise.event.GroupCreatedEvent;
+import com.split.splitwise.event.MemberAddedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks a monotonically increasing change version per group.
+ *
+ * The version is bumped after every committed createExpense / addMember
+ * (and, via ClusterInvalidator, after those committed on other nodes),
+ * and strong ETags for group views are derived from it. This lets
+ * controllers answer If-None-Match with 304 before touching the
+ * expense tables or serializing a response.
+ *
+ * Ordering guarantee:
+ * - Callers read the version BEFORE computing a view
+ * - Writers bump the version AFTER commit
+ * - Versioned reads run on the primary (ReplicaRoutingContext.onPrimary),
+ *   since the bump follows the primary commit, not replication
+ * So an ETag can never be attached to data older than its version.
+ *
+ * A group is tracked from its creation on this node, or else from its
+ * first successful read here (controllers call track after serving it), so
+ * groups that exist but were not written since startup can answer 304 from
+ * their second conditional read on.
+ *
+ * The epoch is random per process, so ETags issued before a restart
+ * (when versions reset) never match. Versions are per node as well: a client
+ * switching nodes gets one 200 with the new node's tag, then 304s again.
+ */
+@Slf4j
+@Component
+public class GroupVersionTracker {
+
+    private static final String WILDCARD = "*";
+    private static final String WEAK_PREFIX = "W/";
+
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE);
+    private final Map<UUID, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public long currentVersion(UUID groupId) {
+        AtomicLong version = versions.get(groupId);
+        return version == null ? 0L : version.get();
+    }
+
+    /**
+     * Starts tracking an existing group at version 0 unless it is tracked
+     * already. Only call it for groups known to exist.
+     */
+    public void track(UUID groupId) {
+        versions.putIfAbsent(groupId, new AtomicLong());
+    }
+
+    public long bump(UUID groupId) {
+        long version = versions.computeIfAbsent(groupId, id -> new AtomicLong()).incrementAndGet();
+        log.debug("Group {} advanced to version {}", groupId, version);
+        return version;
+    }
+
+    /**
+     * Advances every known group, for when this node may have missed changes (see ClusterInvalidator).
+     */
+    public void bumpAll() {
+        versions.values().forEach(AtomicLong::incrementAndGet);
+        log.debug("Advanced all {} tracked groups", versions.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onGroupCreated(GroupCreatedEvent event) {
+        track(event.group().getId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExpenseCreated(ExpenseCreatedEvent event) {
+        bump(event.groupId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMemberAdded(MemberAddedEvent event) {
+        bump(event.groupId());
+    }
+
+    /**
+     * Strong ETag for one view (balances, settlements, group) of a group at its current version.
+     */
+    public String etag(UUID groupId, String view) {
+        return "\"" + view + "-" + epoch + "-" + currentVersion(groupId) + "\"";
+    }
+
+    /**
+     * Evaluates an If-None-Match header against the given ETag.
+     * Handles lists of tags, the "*" wildcard and weak (W/) client tags.
+     *
+     * Only groups this node tracks can be not-modified: an unknown id
+     * (nonexistent, or neither written nor read here since restart) always
+     * falls through to the real read, which answers 404 for groups that don't
+     * exist and starts tracking the ones that do.
+     */
+    public boolean isNotModified(UUID groupId, String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank() || !versions.containsKey(groupId)) {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith(WEAK_PREFIX)) {
+                tag = tag.substring(WEAK_PREFIX.length());
+            }
+            if (tag.equals(WILDCARD) || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,110 @@
+package com.split.splitwise.service.cache;
+
+import com.split.splitwise.datasource.ReplicaRoutingContext;
+import com.split.splitwise.dto.response.BalanceResponse;
+import com.split.splitwise.dto.response.SettlementResponse;
+import com.split.splitwise.service.ExpenseService;
+import com.split.splitwise.service.PairwiseSettlementService;
+import com.split.splitwise.service.columnar.ColumnarLedgerStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Single-flight front for the balance and settlement reads.
+ *
+ * Concurrent requests for the same group at the same GroupVersionTracker
+ * version share one calculateBalances / calculateSettlements run, so a burst
+ * of page loads costs one findByGroupIdWithSplits scan (or one columnar scan
+ * when ColumnarLedgerStore is enabled). The version is read
+ * before joining; a request that arrives after a committed write sees a
+ * higher version and starts its own flight.
+ *
+ * Shared responses are only serialized, never mutated, so handing the same
+ * instance to several requests is safe.
+ *
+ * Flights run on the primary (ReplicaRoutingContext.onPrimary). The version is
+ * bumped once a write commits on the primary, so a replica that has not caught
+ * up would otherwise put pre-write data under the new version and its ETag.
+ */
+@Component
+public class LedgerReadCoalescer {
+
+    private final ExpenseService expenseService;
+    private final PairwiseSettlementService pairwiseSettlementService;
+    private final ColumnarLedgerStore columnarLedgerStore;
+    private final GroupVersionTracker groupVersionTracker;
+
+    private final SingleFlight<FlightKey, BalanceResponse> balanceFlights = new SingleFlight<>();
+    private final SingleFlight<FlightKey, SettlementResponse> settlementFlights = new SingleFlight<>();
+    private final SingleFlight<FlightKey, SettlementResponse> pairwiseFlights = new SingleFlight<>();
+
+    private final Counter balancesComputed;
+    private final Counter balancesCoalesced;
+    private final Counter settlementsComputed;
+    private final Counter settlementsCoalesced;
+    private final Counter pairwiseComputed;
+    private final Counter pairwiseCoalesced;
+
+    public LedgerReadCoalescer(ExpenseService expenseService,
+                               PairwiseSettlementService pairwiseSettlementService,
+                               ColumnarLedgerStore columnarLedgerStore,
+                               GroupVersionTracker groupVersionTracker,
+                               MeterRegistry meterRegistry) {
+        this.expenseService = expenseService;
+        this.pairwiseSettlementService = pairwiseSettlementService;
+        this.columnarLedgerStore = columnarLedgerStore;
+        this.groupVersionTracker = groupVersionTracker;
+        this.balancesComputed = counter(meterRegistry, "balances", "computed");
+        this.balancesCoalesced = counter(meterRegistry, "balances", "coalesced");
+        this.settlementsComputed = counter(meterRegistry, "settlements", "computed");
+        this.settlementsCoalesced = counter(meterRegistry, "settlements", "coalesced");
+        this.pairwiseComputed = counter(meterRegistry, "pairwise-settlements", "computed");
+        this.pairwiseCoalesced = counter(meterRegistry, "pairwise-settlements", "coalesced");
+    }
+
+    public BalanceResponse balances(UUID groupId) {
+        FlightKey key = new FlightKey(groupId, groupVersionTracker.currentVersion(groupId));
+        SingleFlight.Result<BalanceResponse> result =
+                balanceFlights.execute(key, () -> ReplicaRoutingContext.onPrimary(() -> columnarLedgerStore.isEnabled()
+                        ? columnarLedgerStore.balances(groupId)
+                        : expenseService.calculateBalances(groupId)));
+
+        (result.coalesced() ? balancesCoalesced : balancesComputed).increment();
+        return result.value();
+    }
+
+    public SettlementResponse settlements(UUID groupId) {
+        FlightKey key = new FlightKey(groupId, groupVersionTracker.currentVersion(groupId));
+        SingleFlight.Result<SettlementResponse> result =
+                settlementFlights.execute(key, () -> ReplicaRoutingContext.onPrimary(() -> columnarLedgerStore.isEnabled()
+                        ? columnarLedgerStore.settlements(groupId)
+                        : expenseService.calculateSettlements(groupId)));
+
+        (result.coalesced() ? settlementsCoalesced : settlementsComputed).increment();
+        return result.value();
+    }
+
+    public SettlementResponse pairwiseSettlements(UUID groupId) {
+        FlightKey key = new FlightKey(groupId, groupVersionTracker.currentVersion(groupId));
+        SingleFlight.Result<SettlementResponse> result =
+                pairwiseFlights.execute(key, () -> ReplicaRoutingContext.onPrimary(() -> columnarLedgerStore.isEnabled()
+                        ? columnarLedgerStore.pairwiseSettlements(groupId)
+                        : pairwiseSettlementService.calculatePairwiseSettlements(groupId)));
+
+        (result.coalesced() ? pairwiseCoalesced : pairwiseComputed).increment();
+        return result.value();
+    }
+
+    private static Counter counter(MeterRegistry registry, String view, String outcome) {
+        return Counter.builder("splitwise.reads")
+                .description("Balance/settlement reads, by whether they ran or joined an in-flight computation")
+                .tag("view", view)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private record FlightKey(UUID groupId, long version) {}
+}
@@ -0,0 +1,63 @@
+package com.split.splitwise.service.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one execution.
+ *
+ * The first caller for a key (the leader) runs the loader; callers arriving
+ * while it is in flight wait for and share its result or exception. Nothing is
+ * cached: once the leader finishes, the next call for the key runs again.
+ * Keys must therefore identify the data version (see LedgerReadCoalescer), so
+ * a caller never receives a result computed before a write it has observed.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public Result<V> execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return new Result<>(await(existing), true);
+        }
+
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return new Result<>(value, false);
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @param coalesced true when the value came from another caller's execution
+     */
+    public record Result<V>(V value, boolean coalesced) {}
+}
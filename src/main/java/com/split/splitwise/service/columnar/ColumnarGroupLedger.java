@@ -0,0 +1,191 @@
+package com.split.splitwise.service.columnar;
+
+import com.split.splitwise.entity.Expense;
+import com.split.splitwise.entity.ExpenseSplit;
+import com.split.splitwise.entity.User;
+import com.split.splitwise.service.pairwise.PairwiseDebtMatrix;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+/**
+ * One group's expenses in struct-of-arrays form.
+ *
+ * Columns (row i = i-th expense appended):
+ * - payer: index into the group's user dictionary
+ * - amount: total in cents
+ * - splitStart: row i's splits are [splitStart[i], splitStart[i + 1]) in
+ *   splitUser/splitAmount (compressed sparse rows)
+ *
+ * Users are dictionary-encoded once per group, so a scan touches only int and
+ * long arrays. Arrays grow by doubling; nothing is ever removed. Expense ids
+ * are kept in a set beside the columns, only to make appends idempotent.
+ *
+ * Not thread-safe; ColumnarLedgerStore guards each instance with a lock.
+ */
+final class ColumnarGroupLedger {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MONEY_SCALE = 2;
+
+    private final UUID groupId;
+
+    private final Map<UUID, Integer> userIndex = new HashMap<>();
+    private UUID[] users = new UUID[INITIAL_CAPACITY];
+    private String[] userNames = new String[INITIAL_CAPACITY];
+    private int userCount;
+
+    private final Set<UUID> expenseIds = new HashSet<>();
+    private int[] payer = new int[INITIAL_CAPACITY];
+    private long[] amount = new long[INITIAL_CAPACITY];
+    private int[] splitStart = new int[INITIAL_CAPACITY + 1];
+    private int expenseCount;
+
+    private int[] splitUser = new int[INITIAL_CAPACITY];
+    private long[] splitAmount = new long[INITIAL_CAPACITY];
+    private int splitCount;
+
+    ColumnarGroupLedger(UUID groupId) {
+        this.groupId = groupId;
+    }
+
+    UUID groupId() {
+        return groupId;
+    }
+
+    int expenseCount() {
+        return expenseCount;
+    }
+
+    int splitCount() {
+        return splitCount;
+    }
+
+    int userCount() {
+        return userCount;
+    }
+
+    /**
+     * Appends one expense unless it is already present, returning whether it was
+     * appended. The expense's payer and split users must be initialized.
+     */
+    boolean append(Expense expense) {
+        if (!expenseIds.add(expense.getId())) {
+            return false;
+        }
+        if (expenseCount == payer.length) {
+            int capacity = payer.length * 2;
+            payer = Arrays.copyOf(payer, capacity);
+            amount = Arrays.copyOf(amount, capacity);
+            splitStart = Arrays.copyOf(splitStart, capacity + 1);
+        }
+
+        int row = expenseCount;
+        payer[row] = userIndex(expense.getPaidBy());
+        amount[row] = toCents(expense.getTotalAmount());
+
+        List<ExpenseSplit> splits = expense.getSplits();
+        if (splitCount + splits.size() > splitUser.length) {
+            int capacity = Math.max(splitUser.length * 2, splitCount + splits.size());
+            splitUser = Arrays.copyOf(splitUser, capacity);
+            splitAmount = Arrays.copyOf(splitAmount, capacity);
+        }
+        splitStart[row] = splitCount;
+        for (ExpenseSplit split : splits) {
+            splitUser[splitCount] = userIndex(split.getUser());
+            splitAmount[splitCount] = toCents(split.getAmountOwed());
+            splitCount++;
+        }
+        splitStart[row + 1] = splitCount;
+        expenseCount++;
+        return true;
+    }
+
+    /**
+     * Net balance in cents per dictionary index: payers gain the total, each
+     * participant loses their share. Two sequential passes over primitive columns.
+     */
+    long[] netBalanceCents() {
+        long[] balances = new long[userCount];
+        for (int row = 0; row < expenseCount; row++) {
+            balances[payer[row]] += amount[row];
+        }
+        for (int split = 0; split < splitCount; split++) {
+            balances[splitUser[split]] -= splitAmount[split];
+        }
+        return balances;
+    }
+
+    /**
+     * Who owes whom from the splits as recorded: each participant owes the
+     * payer their share. One pass over the split ranges.
+     */
+    PairwiseDebtMatrix pairwiseDebts() {
+        PairwiseDebtMatrix debts = new PairwiseDebtMatrix(Math.min(splitCount, userCount * 4));
+        for (int row = 0; row < expenseCount; row++) {
+            int creditor = payer[row];
+            for (int split = splitStart[row]; split < splitStart[row + 1]; split++) {
+                debts.add(splitUser[split], creditor, splitAmount[split]);
+            }
+        }
+        return debts;
+    }
+
+    Map<UUID, BigDecimal> netBalances() {
+        long[] cents = netBalanceCents();
+        Map<UUID, BigDecimal> balances = new HashMap<>(userCount * 2);
+        for (int user = 0; user < userCount; user++) {
+            balances.put(users[user], BigDecimal.valueOf(cents[user], MONEY_SCALE));
+        }
+        return balances;
+    }
+
+    Map<UUID, String> userNames() {
+        Map<UUID, String> names = new HashMap<>(userCount * 2);
+        for (int user = 0; user < userCount; user++) {
+            names.put(users[user], userNames[user]);
+        }
+        return names;
+    }
+
+    UUID user(int index) {
+        return users[index];
+    }
+
+    String userName(int index) {
+        return userNames[index];
+    }
+
+    /**
+     * Approximate retained size: array capacities, the expense id set and the user dictionary.
+     */
+    long estimatedBytes() {
+        long columns = (long) payer.length * (4 + 8 + 4)
+                + (long) splitUser.length * (4 + 8);
+        // UUID (32) + HashMap node (~48) + table slot
+        long ids = (long) expenseCount * (32 + 48 + 8);
+        // UUID (32) + name (~56) + HashMap entry and boxed index (~64) + array slots
+        long dictionary = (long) users.length * 8 * 2 + (long) userCount * (32 + 56 + 64);
+        return 128 + columns + ids + dictionary;
+    }
+
+    private int userIndex(User user) {
+        Integer index = userIndex.get(user.getId());
+        if (index != null) {
+            return index;
+        }
+        if (userCount == users.length) {
+            users = Arrays.copyOf(users, userCount * 2);
+            userNames = Arrays.copyOf(userNames, userCount * 2);
+        }
+        users[userCount] = user.getId();
+        userNames[userCount] = user.getName();
+        userIndex.put(user.getId(), userCount);
+        return userCount++;
+    }
+
+    private static long toCents(BigDecimal value) {
+        return value.setScale(MONEY_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,329 @@
+package com.split.splitwise.service.columnar;
+
+import com.split.splitwise.dto.response.BalanceResponse;
+import com.split.splitwise.dto.response.SettlementResponse;
+import com.split.splitwise.datasource.ReplicaRoutingContext;
+import com.split.splitwise.entity.Expense;
+import com.split.splitwise.event.ExpenseCreatedEvent;
+import com.split.splitwise.repository.ExpenseRepository;
+import com.split.splitwise.service.BalanceAssembler;
+import com.split.splitwise.service.GroupService;
+import com.split.splitwise.service.SettlementService;
+import com.split.splitwise.sharding.ShardContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Opt-in in-memory ledger (splitwise.columnar.enabled) that serves balances
+ * and settlements for recently read groups from ColumnarGroupLedger columns
+ * instead of loading the expense graph on every read.
+ *
+ * Lifecycle of a group:
+ * - First read loads it once with findByGroupIdWithSplits, on the primary;
+ *   concurrent reads wait for that load instead of starting their own
+ * - Each committed createExpense is appended to a resident group; expenses
+ *   committed while it was loading are queued, and every append is
+ *   de-duplicated by expense id against the rows already present
+ * - Groups are kept in access order; when the estimated size of all resident
+ *   groups exceeds memory-budget, the least recently read are evicted
+ *
+ * Writes made on other instances are not appended; ClusterInvalidator drops
+ * the group instead, and its next read reloads it.
+ */
+@Slf4j
+@Component
+public class ColumnarLedgerStore {
+
+    private final ExpenseRepository expenseRepository;
+    private final GroupService groupService;
+    private final SettlementService settlementService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final long memoryBudget;
+
+    // Guarded by this; access-ordered, so iteration starts at the coldest group
+    private final LinkedHashMap<UUID, Slot> slots = new LinkedHashMap<>(16, 0.75f, true);
+    private long residentBytes;
+
+    private final Counter hits;
+    private final Counter loads;
+    private final Counter evictions;
+
+    public ColumnarLedgerStore(ExpenseRepository expenseRepository,
+                               GroupService groupService,
+                               SettlementService settlementService,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${splitwise.columnar.enabled:false}") boolean enabled,
+                               @Value("${splitwise.columnar.memory-budget:256MB}") DataSize memoryBudget) {
+        this.expenseRepository = expenseRepository;
+        this.groupService = groupService;
+        this.settlementService = settlementService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.memoryBudget = memoryBudget.toBytes();
+
+        this.hits = readCounter(meterRegistry, "hit");
+        this.loads = readCounter(meterRegistry, "load");
+        this.evictions = Counter.builder("splitwise.columnar.evictions")
+                .description("Groups evicted from the columnar ledger to stay within the memory budget")
+                .register(meterRegistry);
+        Gauge.builder("splitwise.columnar.groups", this, ColumnarLedgerStore::residentGroups)
+                .description("Groups resident in the columnar ledger")
+                .register(meterRegistry);
+        Gauge.builder("splitwise.columnar.bytes", this, ColumnarLedgerStore::residentBytes)
+                .description("Estimated size of the columnar ledger")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public BalanceResponse balances(UUID groupId) {
+        Slot slot = acquire(groupId);
+        Map<UUID, BigDecimal> balances;
+        Map<UUID, String> userNames;
+
+        slot.lock.readLock().lock();
+        try {
+            balances = slot.ledger.netBalances();
+            userNames = slot.ledger.userNames();
+        } finally {
+            slot.lock.readLock().unlock();
+        }
+        return BalanceAssembler.toBalanceResponse(groupId, balances, userNames);
+    }
+
+    public SettlementResponse settlements(UUID groupId) {
+        BalanceResponse balances = balances(groupId);
+        List<SettlementResponse.Settlement> settlements = settlementService.calculateOptimizedSettlements(
+                BalanceAssembler.netBalances(balances), BalanceAssembler.userNames(balances));
+
+        return SettlementResponse.builder()
+                .groupId(groupId)
+                .settlements(settlements)
+                .totalTransactions(settlements.size())
+                .build();
+    }
+
+    /**
+     * Non-simplified settlements: the net debt of every pair of users, as recorded in the splits.
+     */
+    public SettlementResponse pairwiseSettlements(UUID groupId) {
+        Slot slot = acquire(groupId);
+        List<SettlementResponse.Settlement> settlements;
+
+        slot.lock.readLock().lock();
+        try {
+            ColumnarGroupLedger ledger = slot.ledger;
+            settlements = ledger.pairwiseDebts().toSettlements(ledger::user, ledger::userName);
+        } finally {
+            slot.lock.readLock().unlock();
+        }
+
+        return SettlementResponse.builder()
+                .groupId(groupId)
+                .settlements(settlements)
+                .totalTransactions(settlements.size())
+                .build();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExpenseCreated(ExpenseCreatedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Slot slot;
+        synchronized (this) {
+            slot = slots.get(event.groupId());
+        }
+        if (slot == null) {
+            return;
+        }
+
+        Expense expense = event.expense();
+        slot.lock.writeLock().lock();
+        try {
+            if (slot.ledger == null) {
+                slot.pending.add(expense);
+                return;
+            }
+            if (!slot.ledger.append(expense)) {
+                return;
+            }
+        } finally {
+            slot.lock.writeLock().unlock();
+        }
+        account(slot);
+    }
+
+    /**
+     * Drops a group so its next read reloads it, for writes made on another node.
+     * Reads already holding the group finish with what they have.
+     */
+    public synchronized void invalidate(UUID groupId) {
+        Slot slot = slots.remove(groupId);
+        if (slot != null) {
+            residentBytes -= slot.bytes;
+            slot.evicted = true;
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        slots.values().forEach(slot -> slot.evicted = true);
+        slots.clear();
+        residentBytes = 0;
+    }
+
+    synchronized int residentGroups() {
+        return slots.size();
+    }
+
+    synchronized long residentBytes() {
+        return residentBytes;
+    }
+
+    /**
+     * Returns the group's slot with its columns loaded, loading it if needed.
+     */
+    private Slot acquire(UUID groupId) {
+        Slot slot;
+        boolean loader = false;
+        synchronized (this) {
+            slot = slots.get(groupId);
+            if (slot == null) {
+                slot = new Slot();
+                slots.put(groupId, slot);
+                loader = true;
+            }
+        }
+
+        if (loader) {
+            load(groupId, slot);
+            loads.increment();
+            return slot;
+        }
+        try {
+            slot.ready.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        hits.increment();
+        return slot;
+    }
+
+    private void load(UUID groupId, Slot slot) {
+        long start = System.nanoTime();
+        ColumnarGroupLedger ledger;
+        try {
+            // A lagging replica could miss expenses that committed before this slot
+            // existed, whose events were dropped since the group was not resident
+            ledger = ReplicaRoutingContext.onPrimary(() -> readOnlyTransaction.execute(status -> {
+                ShardContext.bindGroup(groupId);
+                groupService.findGroupByIdOrThrow(groupId);
+
+                ColumnarGroupLedger columns = new ColumnarGroupLedger(groupId);
+                expenseRepository.findByGroupIdWithSplits(groupId).forEach(columns::append);
+                return columns;
+            }));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                slots.remove(groupId, slot);
+                slot.evicted = true;
+            }
+            slot.ready.completeExceptionally(e);
+            throw e;
+        }
+
+        slot.lock.writeLock().lock();
+        try {
+            slot.pending.forEach(ledger::append);
+            slot.pending.clear();
+            slot.ledger = ledger;
+        } finally {
+            slot.lock.writeLock().unlock();
+        }
+        slot.ready.complete(null);
+        account(slot);
+
+        log.debug("Loaded group {} into the columnar ledger: {} expenses, {} splits, {} users in {} ms",
+                groupId, ledger.expenseCount(), ledger.splitCount(), ledger.userCount(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Re-measures a slot and evicts the coldest groups while over budget. A group
+     * that alone exceeds the budget is evicted too; readers holding it finish normally.
+     */
+    private void account(Slot slot) {
+        long bytes;
+        slot.lock.readLock().lock();
+        try {
+            bytes = slot.ledger.estimatedBytes();
+        } finally {
+            slot.lock.readLock().unlock();
+        }
+
+        synchronized (this) {
+            if (slot.evicted) {
+                return;
+            }
+            residentBytes += bytes - slot.bytes;
+            slot.bytes = bytes;
+
+            Iterator<Map.Entry<UUID, Slot>> coldest = slots.entrySet().iterator();
+            while (residentBytes > memoryBudget && coldest.hasNext()) {
+                Map.Entry<UUID, Slot> entry = coldest.next();
+                if (!entry.getValue().ready.isDone()) {
+                    continue;
+                }
+                residentBytes -= entry.getValue().bytes;
+                entry.getValue().evicted = true;
+                coldest.remove();
+                evictions.increment();
+                log.debug("Evicted group {} from the columnar ledger", entry.getKey());
+            }
+        }
+    }
+
+    private static Counter readCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("splitwise.columnar.reads")
+                .description("Columnar ledger reads, by whether the group was resident or had to be loaded")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * One group's entry. ledger is null until loaded; writes that arrive before
+     * then go to pending. Guarded by lock, except bytes and evicted (guarded by the store).
+     */
+    private static final class Slot {
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        final CompletableFuture<Void> ready = new CompletableFuture<>();
+        final List<Expense> pending = new ArrayList<>();
+        ColumnarGroupLedger ledger;
+        long bytes;
+        boolean evicted;
+    }
+}
@@ -0,0 +1,154 @@
+package com.split.splitwise.service.pairwise;
+
+import com.split.splitwise.dto.response.SettlementResponse;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * Sparse net debt between pairs of users, addressed by dictionary index.
+ *
+ * Storage is an open-addressing hash map from a packed pair key
+ * (lower index << 32 | higher index) to a signed amount in cents: positive
+ * means the lower index owes the higher one. Both directions of a pair share
+ * one slot, so opposite debts net out as they are added. Memory grows with
+ * the number of pairs that ever traded, not with members squared.
+ */
+public final class PairwiseDebtMatrix {
+
+    private static final long EMPTY = -1L;
+    private static final int MONEY_SCALE = 2;
+
+    private long[] keys;
+    private long[] cents;
+    private int size;
+
+    public PairwiseDebtMatrix() {
+        this(16);
+    }
+
+    public PairwiseDebtMatrix(int expectedPairs) {
+        int capacity = Integer.highestOneBit(Math.max(expectedPairs, 8) * 2 - 1) << 1;
+        keys = new long[capacity];
+        cents = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Records that {@code debtor} owes {@code creditor} the given cents.
+     * A user owing themselves (their own share of an expense they paid) is ignored.
+     */
+    public void add(int debtor, int creditor, long amountCents) {
+        if (debtor == creditor || amountCents == 0) {
+            return;
+        }
+        int low = Math.min(debtor, creditor);
+        int high = Math.max(debtor, creditor);
+        long key = ((long) low << 32) | high;
+        long signed = debtor == low ? amountCents : -amountCents;
+
+        int slot = find(key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+            cents[slot] = signed;
+            if (size * 2 > keys.length) {
+                resize();
+            }
+        } else {
+            cents[slot] += signed;
+        }
+    }
+
+    /**
+     * Number of pairs stored, including pairs that have netted to zero.
+     */
+    public int pairCount() {
+        return size;
+    }
+
+    /**
+     * Net amount {@code debtor} owes {@code creditor} in cents (negative if the debt runs the other way).
+     */
+    public long owed(int debtor, int creditor) {
+        int low = Math.min(debtor, creditor);
+        int high = Math.max(debtor, creditor);
+        int slot = find(((long) low << 32) | high);
+        if (keys[slot] == EMPTY) {
+            return 0;
+        }
+        return debtor == low ? cents[slot] : -cents[slot];
+    }
+
+    /**
+     * One settlement per pair with a non-zero net, largest first.
+     */
+    public List<SettlementResponse.Settlement> toSettlements(IntFunction<UUID> userIds, IntFunction<String> userNames) {
+        List<SettlementResponse.Settlement> settlements = new ArrayList<>();
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] == EMPTY || cents[slot] == 0) {
+                continue;
+            }
+            int low = (int) (keys[slot] >>> 32);
+            int high = (int) keys[slot];
+            int from = cents[slot] > 0 ? low : high;
+            int to = cents[slot] > 0 ? high : low;
+
+            settlements.add(SettlementResponse.Settlement.builder()
+                    .fromUserId(userIds.apply(from))
+                    .fromUserName(userNames.apply(from))
+                    .toUserId(userIds.apply(to))
+                    .toUserName(userNames.apply(to))
+                    .amount(BigDecimal.valueOf(Math.abs(cents[slot]), MONEY_SCALE))
+                    .build());
+        }
+        settlements.sort(Comparator.comparing(SettlementResponse.Settlement::getAmount).reversed()
+                .thenComparing(SettlementResponse.Settlement::getFromUserName,
+                        Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(SettlementResponse.Settlement::getToUserName,
+                        Comparator.nullsLast(Comparator.naturalOrder())));
+        return settlements;
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = (int) mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldCents = cents;
+        keys = new long[oldKeys.length * 2];
+        cents = new long[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                cents[slot] = oldCents[i];
+            }
+        }
+    }
+
+    /**
+     * MurmurHash3 fmix64: spreads sequential indexes across the table.
+     */
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
@@ -0,0 +1,243 @@
+package com.split.splitwise.service.plan;
+
+import java.util.*;
+
+/**
+ * A group's standing settlement plan: directed transfers (in cents) whose sum
+ * into and out of each member equals that member's net balance.
+ *
+ * patch() applies a batch of balance changes by touching only transfers between
+ * members whose balance changed. It first shrinks transfers running against the
+ * change, then grows transfers already running with it. Only the rest goes into
+ * new transfers, matched largest first. A changed member left both receiving and
+ * sending is then routed around. Only transfers of changed members and of their
+ * direct counterparties move; the rest of the plan stays as it was, and the cost
+ * follows the changed members and their transfers, not the group size.
+ *
+ * A patched plan can use more transfers than a fresh simplification, which
+ * needs at most (members with a non-zero balance - 1). withinBound() says
+ * whether the plan is still close enough to that to keep.
+ */
+public final class SettlementPlan {
+
+    public record Transfer(UUID from, UUID to, long cents) {}
+
+    public record Pair(UUID from, UUID to) {}
+
+    private final Map<UUID, Map<UUID, Long>> outgoing = new HashMap<>();
+    private final Map<UUID, Set<UUID>> incoming = new HashMap<>();
+    private final Map<UUID, Long> balances = new HashMap<>();
+    private int transferCount;
+
+    public static SettlementPlan of(Collection<Transfer> transfers) {
+        SettlementPlan plan = new SettlementPlan();
+        for (Transfer transfer : transfers) {
+            plan.add(transfer.from(), transfer.to(), transfer.cents(), null);
+        }
+        return plan;
+    }
+
+    /**
+     * Applies net balance changes (positive: the member is owed more), which must
+     * sum to zero. Returns the pairs whose transfer changed; amount() is 0 for
+     * a pair whose transfer was removed.
+     */
+    public Set<Pair> patch(Map<UUID, Long> deltas) {
+        Map<UUID, Long> residual = new HashMap<>();
+        long sum = 0;
+        for (Map.Entry<UUID, Long> delta : deltas.entrySet()) {
+            sum += delta.getValue();
+            if (delta.getValue() != 0) {
+                residual.put(delta.getKey(), delta.getValue());
+            }
+        }
+        if (sum != 0) {
+            throw new IllegalArgumentException("Balance changes must sum to zero, got " + sum + " cents");
+        }
+
+        Set<Pair> changed = new LinkedHashSet<>();
+        List<UUID> gainers = byAmount(residual, 1);
+
+        // a member who is now owed more first pays less on what they already send to losers
+        for (UUID gainer : gainers) {
+            for (UUID loser : new ArrayList<>(outgoing.getOrDefault(gainer, Map.of()).keySet())) {
+                long need = residual.getOrDefault(gainer, 0L);
+                long give = -residual.getOrDefault(loser, 0L);
+                if (need <= 0) {
+                    break;
+                }
+                if (give > 0) {
+                    long amount = Math.min(Math.min(need, give), outgoing.get(gainer).get(loser));
+                    add(gainer, loser, -amount, changed);
+                    settle(residual, gainer, loser, amount);
+                }
+            }
+        }
+
+        // then receives more on transfers it already gets from losers
+        for (UUID gainer : gainers) {
+            for (UUID loser : new ArrayList<>(incoming.getOrDefault(gainer, Set.of()))) {
+                long need = residual.getOrDefault(gainer, 0L);
+                long give = -residual.getOrDefault(loser, 0L);
+                if (need <= 0) {
+                    break;
+                }
+                if (give > 0) {
+                    long amount = Math.min(need, give);
+                    add(loser, gainer, amount, changed);
+                    settle(residual, gainer, loser, amount);
+                }
+            }
+        }
+
+        // whatever is left becomes new transfers, largest against largest
+        Deque<UUID> remainingGainers = new ArrayDeque<>(byAmount(residual, 1));
+        Deque<UUID> remainingLosers = new ArrayDeque<>(byAmount(residual, -1));
+        while (!remainingGainers.isEmpty() && !remainingLosers.isEmpty()) {
+            UUID gainer = remainingGainers.peek();
+            UUID loser = remainingLosers.peek();
+            long amount = Math.min(residual.get(gainer), -residual.get(loser));
+            add(loser, gainer, amount, changed);
+            settle(residual, gainer, loser, amount);
+            if (residual.get(gainer) == 0) {
+                remainingGainers.poll();
+            }
+            if (residual.get(loser) == 0) {
+                remainingLosers.poll();
+            }
+        }
+
+        // a changed member who now both receives and sends is a pass-through: route around them
+        for (UUID user : deltas.keySet()) {
+            collapse(user, changed);
+        }
+
+        return changed;
+    }
+
+    /**
+     * Whether the plan uses at most (n - 1) + max(1, floor((n - 1) * slack))
+     * transfers, n being the members with a non-zero balance.
+     */
+    public boolean withinBound(double slack) {
+        return withinBound(transferCount, balances.size(), slack);
+    }
+
+    /**
+     * The same bound for a plan of {@code transfers} transfers between {@code members}
+     * members with a non-zero balance, for callers holding only part of a plan.
+     */
+    public static boolean withinBound(long transfers, long members, double slack) {
+        long optimum = Math.max(members - 1, 0);
+        return transfers <= optimum + Math.max(1, (long) (optimum * slack));
+    }
+
+    public int transferCount() {
+        return transferCount;
+    }
+
+    public long amount(UUID from, UUID to) {
+        return outgoing.getOrDefault(from, Map.of()).getOrDefault(to, 0L);
+    }
+
+    /**
+     * Net balance per member with a non-zero balance, in cents.
+     */
+    public Map<UUID, Long> balances() {
+        return Collections.unmodifiableMap(balances);
+    }
+
+    public List<Transfer> transfers() {
+        List<Transfer> transfers = new ArrayList<>(transferCount);
+        outgoing.forEach((from, targets) ->
+                targets.forEach((to, cents) -> transfers.add(new Transfer(from, to, cents))));
+        return transfers;
+    }
+
+    /**
+     * While {@code user} has both an incoming (x -> user) and an outgoing (user -> y)
+     * transfer, moves the smaller amount onto x -> y. Each step removes one of the
+     * user's transfers and adds at most one elsewhere.
+     */
+    private void collapse(UUID user, Set<Pair> changed) {
+        while (incoming.containsKey(user) && outgoing.containsKey(user)) {
+            UUID source = incoming.get(user).iterator().next();
+            UUID target = outgoing.get(user).keySet().iterator().next();
+            long amount = Math.min(amount(source, user), amount(user, target));
+
+            add(source, user, -amount, changed);
+            add(user, target, -amount, changed);
+            if (!source.equals(target)) {
+                long reverse = Math.min(amount, amount(target, source));
+                add(target, source, -reverse, changed);
+                add(source, target, amount - reverse, changed);
+            }
+        }
+    }
+
+    private void add(UUID from, UUID to, long cents, Set<Pair> changed) {
+        if (cents == 0) {
+            return;
+        }
+        Map<UUID, Long> targets = outgoing.computeIfAbsent(from, id -> new HashMap<>());
+        long before = targets.getOrDefault(to, 0L);
+        long after = before + cents;
+        if (after < 0) {
+            throw new IllegalStateException("Transfer " + from + " -> " + to + " would become negative");
+        }
+
+        if (after == 0) {
+            targets.remove(to);
+            if (targets.isEmpty()) {
+                outgoing.remove(from);
+            }
+            Set<UUID> sources = incoming.get(to);
+            sources.remove(from);
+            if (sources.isEmpty()) {
+                incoming.remove(to);
+            }
+            transferCount--;
+        } else {
+            targets.put(to, after);
+            if (before == 0) {
+                incoming.computeIfAbsent(to, id -> new LinkedHashSet<>()).add(from);
+                transferCount++;
+            }
+        }
+
+        adjustBalance(from, -cents);
+        adjustBalance(to, cents);
+        if (changed != null) {
+            changed.add(new Pair(from, to));
+        }
+    }
+
+    private void adjustBalance(UUID user, long cents) {
+        long balance = balances.getOrDefault(user, 0L) + cents;
+        if (balance == 0) {
+            balances.remove(user);
+        } else {
+            balances.put(user, balance);
+        }
+    }
+
+    private static void settle(Map<UUID, Long> residual, UUID gainer, UUID loser, long amount) {
+        residual.merge(gainer, -amount, Long::sum);
+        residual.merge(loser, amount, Long::sum);
+    }
+
+    /**
+     * Members whose residual has the given sign, largest amount first (ties by id, for stable output).
+     */
+    private static List<UUID> byAmount(Map<UUID, Long> residual, int sign) {
+        List<UUID> users = new ArrayList<>();
+        residual.forEach((user, cents) -> {
+            if (Long.signum(cents) == sign) {
+                users.add(user);
+            }
+        });
+        users.sort(Comparator.comparingLong((UUID user) -> -Math.abs(residual.get(user)))
+                .thenComparing(Comparator.naturalOrder()));
+        return users;
+    }
+}
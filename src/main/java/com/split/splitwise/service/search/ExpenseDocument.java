@@ -0,0 +1,41 @@
+package com.split.splitwise.service.search;
+
+import com.split.splitwise.entity.Expense;
+import com.split.splitwise.ledger.ExpenseCreatedPayload;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The stored fields of one indexed expense: enough to render a search hit
+ * without going back to the database.
+ */
+public record ExpenseDocument(
+        UUID expenseId,
+        String description,
+        BigDecimal totalAmount,
+        String paidByName,
+        LocalDateTime createdAt) {
+
+    public static ExpenseDocument of(Expense expense) {
+        return new ExpenseDocument(
+                expense.getId(),
+                expense.getDescription(),
+                expense.getTotalAmount(),
+                expense.getPaidBy().getName(),
+                expense.getCreatedAt());
+    }
+
+    /**
+     * From a ledger event; the event's recorded time stands in for the expense's creation time.
+     */
+    public static ExpenseDocument of(ExpenseCreatedPayload payload, LocalDateTime recordedAt) {
+        return new ExpenseDocument(
+                payload.expenseId(),
+                payload.description(),
+                payload.totalAmount(),
+                payload.paidByName(),
+                recordedAt);
+    }
+}
@@ -0,0 +1,599 @@
+package com.split.splitwise.service.search;
+
+import com.split.splitwise.datasource.ReplicaRoutingContext;
+import com.split.splitwise.entity.LedgerEvent;
+import com.split.splitwise.entity.LedgerEventType;
+import com.split.splitwise.event.ExpenseCreatedEvent;
+import com.split.splitwise.ledger.ExpenseCreatedPayload;
+import com.split.splitwise.ledger.LedgerPayloadReader;
+import com.split.splitwise.repository.LedgerEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process full-text index over expense descriptions, one partition per group.
+ *
+ * Structure (per group):
+ * - Immutable segments, each a sorted term dictionary with postings
+ *   (see ExpenseSegment)
+ * - A small write buffer of recent expenses, re-indexed as a segment on every
+ *   write so queries see it immediately
+ *
+ * A full buffer is sealed into a segment; once a group has more than
+ * max-segments segments they are merged into one. Queries are scored with
+ * BM25 over all segments of the group; the last query word also matches as a
+ * prefix, so "uber air" finds "Uber airport".
+ *
+ * Sources: each committed createExpense on this instance is indexed right
+ * away, and a background tail reads EXPENSE_CREATED events from ledger_events
+ * every poll-interval, so expenses committed on other instances become
+ * searchable too. The tail tracks the last ledger offset it has read and
+ * handles gaps like LedgerProjector: it waits up to gap-timeout, then moves
+ * on and re-checks the skipped offsets on every pass for gap-retention.
+ * Indexing is idempotent per expense id, so both sources may deliver the
+ * same expense.
+ *
+ * Persistence (splitwise.search.expenses.persist): segments are written to
+ * {directory}/{groupId}/seg-NNNNNNNN.seg and a background flush seals
+ * buffers every flush-interval, then records in a checkpoint file the ledger
+ * offset below which every event is in a written segment (held back below
+ * any offset still being re-checked). On restart the segments are loaded and
+ * the tail resumes from that offset. Without persistence the whole log is
+ * replayed at startup.
+ *
+ * Under the sharded profile ledger events stay on the group shards, so the
+ * tail sees nothing and only local commits are indexed.
+ */
+@Slf4j
+@Component
+public class ExpenseSearchIndex {
+
+    static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PREFIX_WEIGHT = 0.5;
+
+    private static final ExpenseSegment EMPTY = ExpenseSegment.build(List.of());
+
+    public record Hit(ExpenseDocument document, double score) {}
+
+    private final LedgerEventRepository ledgerEventRepository;
+    private final LedgerPayloadReader payloadReader;
+    private final Path directory;
+    private final boolean persist;
+    private final int bufferSize;
+    private final Duration flushInterval;
+    private final int maxSegments;
+    private final Duration pollInterval;
+    private final Duration gapTimeout;
+    private final Duration gapRetention;
+    private final int batchSize;
+
+    private final Map<UUID, Partition> partitions = new ConcurrentHashMap<>();
+    private final Map<Long, LocalDateTime> skippedOffsets = new HashMap<>();
+    private long lastOffset;
+    private ScheduledExecutorService executor;
+
+    public ExpenseSearchIndex(LedgerEventRepository ledgerEventRepository,
+                              LedgerPayloadReader payloadReader,
+                              @Value("${splitwise.search.expenses.directory:./data/search/expenses}") String directory,
+                              @Value("${splitwise.search.expenses.persist:true}") boolean persist,
+                              @Value("${splitwise.search.expenses.buffer-size:128}") int bufferSize,
+                              @Value("${splitwise.search.expenses.flush-interval:30s}") Duration flushInterval,
+                              @Value("${splitwise.search.expenses.max-segments:8}") int maxSegments,
+                              @Value("${splitwise.search.expenses.poll-interval:1s}") Duration pollInterval,
+                              @Value("${splitwise.ledger.projector.gap-timeout:5s}") Duration gapTimeout,
+                              @Value("${splitwise.ledger.projector.gap-retention:10m}") Duration gapRetention,
+                              @Value("${splitwise.ledger.projector.replay-batch-size:5000}") int batchSize) {
+        this.ledgerEventRepository = ledgerEventRepository;
+        this.payloadReader = payloadReader;
+        this.directory = Paths.get(directory);
+        this.persist = persist;
+        this.bufferSize = bufferSize;
+        this.flushInterval = flushInterval;
+        this.maxSegments = maxSegments;
+        this.pollInterval = pollInterval;
+        this.gapTimeout = gapTimeout;
+        this.gapRetention = gapRetention;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void open() {
+        long start = System.currentTimeMillis();
+        partitions.clear();
+        skippedOffsets.clear();
+        lastOffset = 0;
+
+        if (persist && loadSegments()) {
+            lastOffset = readCheckpoint().orElse(0L);
+        }
+        long from = lastOffset;
+        int caughtUp = catchUp();
+
+        log.info("Expense search index opened with {} groups ({} expenses read from ledger offset {}) in {} ms",
+                partitions.size(), caughtUp, from, System.currentTimeMillis() - start);
+
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "expense-search-index");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long poll = pollInterval.toMillis();
+            executor.scheduleWithFixedDelay(this::catchUpSafely, poll, poll, TimeUnit.MILLISECONDS);
+            if (persist) {
+                long interval = flushInterval.toMillis();
+                executor.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        if (persist) {
+            flushSafely();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExpenseCreated(ExpenseCreatedEvent event) {
+        index(event.groupId(), ExpenseDocument.of(event.expense()));
+    }
+
+    /**
+     * Indexes the expenses committed since the last pass, including late
+     * commits at offsets skipped earlier. Returns the number of expense events read.
+     */
+    public synchronized int catchUp() {
+        return ReplicaRoutingContext.onPrimary(() -> {
+            int indexed = retrySkippedOffsets();
+            while (true) {
+                List<LedgerEvent> events = ledgerEventRepository.findByIdGreaterThanOrderByIdAsc(
+                        lastOffset, Limit.of(batchSize));
+                LocalDateTime now = LocalDateTime.now();
+                LocalDateTime gapDeadline = now.minus(gapTimeout);
+
+                int consumed = 0;
+                for (LedgerEvent event : events) {
+                    long expected = lastOffset + 1;
+                    if (event.getId() != expected) {
+                        if (event.getRecordedAt().isAfter(gapDeadline)) {
+                            break;
+                        }
+                        for (long missing = expected; missing < event.getId(); missing++) {
+                            skippedOffsets.put(missing, now);
+                        }
+                    }
+                    indexed += indexEvent(event);
+                    lastOffset = event.getId();
+                    consumed++;
+                }
+                if (consumed < batchSize) {
+                    return indexed;
+                }
+            }
+        });
+    }
+
+    /**
+     * Adds an expense to its group's partition; re-indexing an expense already
+     * present is a no-op.
+     */
+    public void index(UUID groupId, ExpenseDocument document) {
+        Partition partition = partitions.computeIfAbsent(groupId, Partition::new);
+        partition.lock.writeLock().lock();
+        try {
+            if (!partition.ids.add(document.expenseId())) {
+                return;
+            }
+            partition.buffer.add(document);
+            if (partition.buffer.size() >= bufferSize) {
+                partition.seal(persist);
+            } else {
+                partition.bufferSegment = ExpenseSegment.build(partition.buffer);
+            }
+        } finally {
+            partition.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} expenses of the group ranked by BM25 score,
+     * newest first among equal scores. Every query word must appear in the
+     * description (the last one as a prefix).
+     */
+    public List<Hit> search(UUID groupId, String query, int limit) {
+        List<String> words = ExpenseTokenizer.tokenize(query);
+        Partition partition = partitions.get(groupId);
+        if (words.isEmpty() || partition == null || limit <= 0) {
+            return List.of();
+        }
+
+        partition.lock.readLock().lock();
+        try {
+            List<ExpenseSegment> segments = new ArrayList<>(partition.segments);
+            segments.add(partition.bufferSegment);
+            return rank(segments, words, limit);
+        } finally {
+            partition.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Seals every non-empty buffer into a segment, writes it to disk and
+     * then records the checkpoint.
+     */
+    public synchronized void flush() throws IOException {
+        // Everything the tail read up to here is in a buffer before the sealing below
+        long checkpointOffset = skippedOffsets.keySet().stream()
+                .mapToLong(offset -> offset - 1)
+                .min()
+                .orElse(lastOffset);
+        for (Partition partition : partitions.values()) {
+            partition.lock.writeLock().lock();
+            try {
+                if (!partition.buffer.isEmpty()) {
+                    partition.seal(persist);
+                }
+                if (persist && partition.files.contains(null)) {
+                    // A segment whose write failed earlier; rewrite everything as one file
+                    partition.mergeAll();
+                }
+            } finally {
+                partition.lock.writeLock().unlock();
+            }
+        }
+        if (persist) {
+            Files.createDirectories(directory);
+            Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+            Path tmp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+            Files.writeString(tmp, Long.toString(checkpointOffset));
+            Files.move(tmp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    public int documentCount(UUID groupId) {
+        Partition partition = partitions.get(groupId);
+        if (partition == null) {
+            return 0;
+        }
+        partition.lock.readLock().lock();
+        try {
+            return partition.ids.size();
+        } finally {
+            partition.lock.readLock().unlock();
+        }
+    }
+
+    int segmentCount(UUID groupId) {
+        Partition partition = partitions.get(groupId);
+        return partition == null ? 0 : partition.segments.size();
+    }
+
+    private int retrySkippedOffsets() {
+        if (skippedOffsets.isEmpty()) {
+            return 0;
+        }
+        int indexed = 0;
+        List<Long> offsets = new ArrayList<>(skippedOffsets.keySet());
+        for (LedgerEvent event : ledgerEventRepository.findByIdInOrderByIdAsc(offsets)) {
+            indexed += indexEvent(event);
+            skippedOffsets.remove(event.getId());
+        }
+        LocalDateTime expiry = LocalDateTime.now().minus(gapRetention);
+        skippedOffsets.values().removeIf(skippedAt -> skippedAt.isBefore(expiry));
+        return indexed;
+    }
+
+    private int indexEvent(LedgerEvent event) {
+        if (event.getType() != LedgerEventType.EXPENSE_CREATED) {
+            return 0;
+        }
+        ExpenseCreatedPayload payload = payloadReader.read(event, ExpenseCreatedPayload.class);
+        index(event.getGroupId(), ExpenseDocument.of(payload, event.getRecordedAt()));
+        return 1;
+    }
+
+    private void catchUpSafely() {
+        try {
+            catchUp();
+        } catch (RuntimeException e) {
+            log.warn("Expense search index could not read the ledger; retrying on next poll", e);
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Expense search index flush failed; unflushed expenses will be re-read on restart", e);
+        }
+    }
+
+    private List<Hit> rank(List<ExpenseSegment> segments, List<String> words, int limit) {
+        long docCount = 0;
+        long totalLength = 0;
+        for (ExpenseSegment segment : segments) {
+            docCount += segment.docCount();
+            totalLength += segment.totalLength();
+        }
+        if (docCount == 0) {
+            return List.of();
+        }
+        double avgLength = (double) totalLength / docCount;
+        int lastWord = words.size() - 1;
+
+        // Document frequency across the whole partition, so scores are comparable between segments
+        List<Map<String, Double>> expansions = new ArrayList<>(words.size());
+        Map<String, Long> documentFrequency = new HashMap<>();
+        for (int w = 0; w < words.size(); w++) {
+            String word = words.get(w);
+            Map<String, Double> terms = new HashMap<>();
+            terms.put(word, 1.0);
+            if (w == lastWord) {
+                for (ExpenseSegment segment : segments) {
+                    segment.termsWithPrefix(word).keySet()
+                            .forEach(term -> terms.putIfAbsent(term, PREFIX_WEIGHT));
+                }
+            }
+            for (String term : terms.keySet()) {
+                for (ExpenseSegment segment : segments) {
+                    ExpenseSegment.Postings postings = segment.postings(term);
+                    if (postings != null) {
+                        documentFrequency.merge(term, (long) postings.docs().length, Long::sum);
+                    }
+                }
+            }
+            expansions.add(terms);
+        }
+
+        Map<UUID, Hit> hits = new HashMap<>();
+        for (ExpenseSegment segment : segments) {
+            double[] scores = new double[segment.docCount()];
+            int[] matchedWords = new int[segment.docCount()];
+
+            for (int w = 0; w < words.size(); w++) {
+                boolean[] matched = new boolean[segment.docCount()];
+                for (Map.Entry<String, Double> term : expansions.get(w).entrySet()) {
+                    ExpenseSegment.Postings postings = segment.postings(term.getKey());
+                    if (postings == null) {
+                        continue;
+                    }
+                    long df = documentFrequency.get(term.getKey());
+                    double idf = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+                    for (int i = 0; i < postings.docs().length; i++) {
+                        int ord = postings.docs()[i];
+                        int tf = postings.frequencies()[i];
+                        double norm = K1 * (1 - B + B * segment.docLength(ord) / avgLength);
+                        scores[ord] += term.getValue() * idf * tf * (K1 + 1) / (tf + norm);
+                        matched[ord] = true;
+                    }
+                }
+                for (int ord = 0; ord < matched.length; ord++) {
+                    if (matched[ord]) {
+                        matchedWords[ord]++;
+                    }
+                }
+            }
+
+            for (int ord = 0; ord < scores.length; ord++) {
+                if (matchedWords[ord] == words.size()) {
+                    ExpenseDocument doc = segment.doc(ord);
+                    hits.putIfAbsent(doc.expenseId(), new Hit(doc, scores[ord]));
+                }
+            }
+        }
+
+        return hits.values().stream()
+                .sorted(Comparator.comparingDouble(Hit::score).reversed()
+                        .thenComparing(hit -> hit.document().createdAt(), Comparator.reverseOrder()))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Returns false when the segments could not be read and the index must be
+     * rebuilt from the start of the log.
+     */
+    private boolean loadSegments() {
+        if (!Files.isDirectory(directory)) {
+            return false;
+        }
+        try (DirectoryStream<Path> groups = Files.newDirectoryStream(directory, Files::isDirectory)) {
+            for (Path groupDir : groups) {
+                UUID groupId;
+                try {
+                    groupId = UUID.fromString(groupDir.getFileName().toString());
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                loadPartition(groupId, groupDir);
+            }
+            return true;
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Could not read expense search segments; rebuilding from the ledger", e);
+            partitions.clear();
+            return false;
+        }
+    }
+
+    private void loadPartition(UUID groupId, Path groupDir) throws IOException {
+        Partition partition = new Partition(groupId);
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(groupDir)) {
+            for (Path file : entries) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                } else if (name.endsWith(SEGMENT_SUFFIX)) {
+                    files.add(file);
+                }
+            }
+        }
+        files.sort(Comparator.naturalOrder());
+
+        int duplicates = 0;
+        for (Path file : files) {
+            ExpenseSegment segment;
+            try {
+                segment = ExpenseSegment.readFrom(file);
+            } catch (IOException e) {
+                // The expenses in it are re-read by the tail only if past the checkpoint
+                log.warn("Skipping unreadable expense search segment {}", file, e);
+                continue;
+            }
+            partition.segments.add(segment);
+            partition.files.add(file);
+            for (ExpenseDocument doc : segment.docs()) {
+                if (!partition.ids.add(doc.expenseId())) {
+                    duplicates++;
+                }
+            }
+            partition.nextGeneration = Math.max(partition.nextGeneration, generationOf(file) + 1);
+        }
+
+        // A crash between writing a merged segment and deleting its inputs leaves duplicates
+        if (duplicates > 0 || partition.segments.size() > maxSegments) {
+            partition.mergeAll();
+        }
+        partitions.put(groupId, partition);
+    }
+
+    private Optional<Long> readCheckpoint() {
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(checkpoint)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.parseLong(Files.readString(checkpoint).trim()));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unreadable expense search checkpoint; re-reading the whole ledger", e);
+            return Optional.empty();
+        }
+    }
+
+    private static int generationOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Integer.parseInt(name.substring("seg-".length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * One group's index. Guarded by {@code lock}: writers seal and merge under
+     * the write lock, queries read a consistent segment list under the read lock.
+     */
+    private final class Partition {
+
+        final UUID groupId;
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        final List<ExpenseSegment> segments = new ArrayList<>();
+        final List<Path> files = new ArrayList<>();
+        final List<ExpenseDocument> buffer = new ArrayList<>();
+        final Set<UUID> ids = new HashSet<>();
+        ExpenseSegment bufferSegment = EMPTY;
+        int nextGeneration = 1;
+
+        Partition(UUID groupId) {
+            this.groupId = groupId;
+        }
+
+        /**
+         * Turns the buffer into a segment. A failed write keeps the segment in
+         * memory only; the next flush retries it and holds back the checkpoint.
+         */
+        void seal(boolean write) {
+            ExpenseSegment segment = ExpenseSegment.build(buffer);
+            buffer.clear();
+            bufferSegment = EMPTY;
+
+            Path file = null;
+            try {
+                if (write) {
+                    file = write(segment);
+                }
+            } catch (UncheckedIOException e) {
+                log.warn("Keeping expense search segment for group {} in memory until the next flush", groupId, e);
+            }
+            segments.add(segment);
+            files.add(file);
+
+            if (segments.size() > maxSegments) {
+                try {
+                    mergeAll();
+                } catch (UncheckedIOException e) {
+                    log.warn("Could not merge expense search segments for group {}", groupId, e);
+                }
+            }
+        }
+
+        /**
+         * Replaces all segments with one. The merged file is written before any
+         * state changes, so a failed write leaves the partition as it was.
+         */
+        void mergeAll() {
+            ExpenseSegment merged = ExpenseSegment.merge(segments);
+            Path mergedFile = persist ? write(merged) : null;
+            List<Path> obsolete = new ArrayList<>(files);
+
+            segments.clear();
+            files.clear();
+            segments.add(merged);
+            files.add(mergedFile);
+
+            for (Path file : obsolete) {
+                if (file != null) {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException e) {
+                        log.warn("Could not delete merged expense search segment {}", file, e);
+                    }
+                }
+            }
+        }
+
+        private Path write(ExpenseSegment segment) {
+            Path groupDir = directory.resolve(groupId.toString());
+            Path file = groupDir.resolve(String.format("seg-%08d%s", nextGeneration++, SEGMENT_SUFFIX));
+            try {
+                Files.createDirectories(groupDir);
+                segment.writeTo(file);
+                return file;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write expense search segment " + file, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.split.splitwise.service.search;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * An immutable slice of one group's expense index: stored documents plus a
+ * sorted term dictionary with postings (doc ordinal, term frequency).
+ *
+ * The sorted dictionary makes a prefix lookup a subMap range. Segments are
+ * written once and never modified; ExpenseSearchIndex merges small ones into
+ * a new segment and deletes the old files.
+ *
+ * File layout (DataOutputStream, big-endian):
+ * magic, version, docCount, then per doc: id, description, amount, payer,
+ * createdAt, length; then termCount and per term: term, postingCount, then
+ * (ordinal, frequency) pairs.
+ */
+final class ExpenseSegment {
+
+    private static final int MAGIC = 0x53574553; // "SWES"
+    private static final int VERSION = 1;
+
+    record Postings(int[] docs, int[] frequencies) {}
+
+    private final ExpenseDocument[] docs;
+    private final int[] docLengths;
+    private final NavigableMap<String, Postings> terms;
+    private final long totalLength;
+
+    private ExpenseSegment(ExpenseDocument[] docs, int[] docLengths, NavigableMap<String, Postings> terms) {
+        this.docs = docs;
+        this.docLengths = docLengths;
+        this.terms = terms;
+        long length = 0;
+        for (int docLength : docLengths) {
+            length += docLength;
+        }
+        this.totalLength = length;
+    }
+
+    static ExpenseSegment build(List<ExpenseDocument> documents) {
+        ExpenseDocument[] docs = documents.toArray(new ExpenseDocument[0]);
+        int[] docLengths = new int[docs.length];
+        Map<String, Map<Integer, Integer>> frequencies = new TreeMap<>();
+
+        for (int ord = 0; ord < docs.length; ord++) {
+            List<String> tokens = ExpenseTokenizer.tokenize(docs[ord].description());
+            docLengths[ord] = tokens.size();
+            for (String token : tokens) {
+                frequencies.computeIfAbsent(token, t -> new LinkedHashMap<>()).merge(ord, 1, Integer::sum);
+            }
+        }
+
+        NavigableMap<String, Postings> terms = new TreeMap<>();
+        frequencies.forEach((term, byDoc) -> {
+            int[] ords = new int[byDoc.size()];
+            int[] freqs = new int[byDoc.size()];
+            int i = 0;
+            for (Map.Entry<Integer, Integer> entry : byDoc.entrySet()) {
+                ords[i] = entry.getKey();
+                freqs[i] = entry.getValue();
+                i++;
+            }
+            terms.put(term, new Postings(ords, freqs));
+        });
+        return new ExpenseSegment(docs, docLengths, terms);
+    }
+
+    /**
+     * One segment holding every document of the inputs once.
+     */
+    static ExpenseSegment merge(List<ExpenseSegment> segments) {
+        Map<UUID, ExpenseDocument> unique = new LinkedHashMap<>();
+        for (ExpenseSegment segment : segments) {
+            for (ExpenseDocument doc : segment.docs) {
+                unique.putIfAbsent(doc.expenseId(), doc);
+            }
+        }
+        return build(new ArrayList<>(unique.values()));
+    }
+
+    int docCount() {
+        return docs.length;
+    }
+
+    long totalLength() {
+        return totalLength;
+    }
+
+    ExpenseDocument doc(int ord) {
+        return docs[ord];
+    }
+
+    int docLength(int ord) {
+        return docLengths[ord];
+    }
+
+    Postings postings(String term) {
+        return terms.get(term);
+    }
+
+    NavigableMap<String, Postings> termsWithPrefix(String prefix) {
+        return terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    List<ExpenseDocument> docs() {
+        return List.of(docs);
+    }
+
+    /**
+     * Writes to a temporary file first and renames it into place, so a crash
+     * never leaves a truncated segment under the final name.
+     */
+    void writeTo(Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(docs.length);
+            for (int ord = 0; ord < docs.length; ord++) {
+                ExpenseDocument doc = docs[ord];
+                out.writeLong(doc.expenseId().getMostSignificantBits());
+                out.writeLong(doc.expenseId().getLeastSignificantBits());
+                out.writeUTF(doc.description());
+                out.writeUTF(doc.totalAmount().toPlainString());
+                out.writeUTF(doc.paidByName() == null ? "" : doc.paidByName());
+                out.writeUTF(doc.createdAt().toString());
+                out.writeInt(docLengths[ord]);
+            }
+            out.writeInt(terms.size());
+            for (Map.Entry<String, Postings> entry : terms.entrySet()) {
+                Postings postings = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeInt(postings.docs().length);
+                for (int i = 0; i < postings.docs().length; i++) {
+                    out.writeInt(postings.docs()[i]);
+                    out.writeInt(postings.frequencies()[i]);
+                }
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static ExpenseSegment readFrom(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not an expense index segment: " + file);
+            }
+
+            int docCount = in.readInt();
+            ExpenseDocument[] docs = new ExpenseDocument[docCount];
+            int[] docLengths = new int[docCount];
+            for (int ord = 0; ord < docCount; ord++) {
+                UUID id = new UUID(in.readLong(), in.readLong());
+                String description = in.readUTF();
+                BigDecimal amount = new BigDecimal(in.readUTF());
+                String paidByName = in.readUTF();
+                LocalDateTime createdAt = LocalDateTime.parse(in.readUTF());
+                docs[ord] = new ExpenseDocument(id, description, amount, paidByName, createdAt);
+                docLengths[ord] = in.readInt();
+            }
+
+            int termCount = in.readInt();
+            NavigableMap<String, Postings> terms = new TreeMap<>();
+            for (int t = 0; t < termCount; t++) {
+                String term = in.readUTF();
+                int size = in.readInt();
+                int[] ords = new int[size];
+                int[] freqs = new int[size];
+                for (int i = 0; i < size; i++) {
+                    ords[i] = in.readInt();
+                    freqs[i] = in.readInt();
+                }
+                terms.put(term, new Postings(ords, freqs));
+            }
+            return new ExpenseSegment(docs, docLengths, terms);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.split.splitwise.service.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Lower-cases and splits on anything that is not a letter or digit, so
+ * "Uber (airport)" and "uber-airport" both index as [uber, airport].
+ * No stemming or stop words: descriptions are a handful of words.
+ */
+final class ExpenseTokenizer {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private ExpenseTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
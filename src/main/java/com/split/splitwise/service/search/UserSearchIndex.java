@@ -0,0 +1,131 @@
+package com.split.splitwise.service.search;
+
+import com.split.splitwise.dto.response.UserResponse;
+import com.split.splitwise.entity.User;
+import com.split.splitwise.event.UserCreatedEvent;
+import com.split.splitwise.mapper.UserMapper;
+import com.split.splitwise.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory sorted index for type-ahead prefix search over users.
+ *
+ * Structure:
+ * - A ConcurrentSkipListMap keyed by "term\0userId"
+ * - Terms are the lower-cased email, full name and each name token
+ *   (so "smi" finds "John Smith")
+ *
+ * A prefix query is a range scan starting at the prefix:
+ * O(log n + k) where k = entries visited, independent of the database.
+ * The skip list gives lock-free reads while new users are being indexed.
+ *
+ * Built once at startup and updated after each committed createUser, here or
+ * on another node (see ClusterInvalidator).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserSearchIndex {
+
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+
+    private final ConcurrentSkipListMap<String, UserResponse> entries = new ConcurrentSkipListMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        entries.clear();
+
+        try (Stream<User> users = userRepository.streamAll()) {
+            users.forEach(this::index);
+        }
+
+        log.info("User search index built with {} entries in {} ms",
+                entries.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserCreated(UserCreatedEvent event) {
+        index(event.user());
+    }
+
+    /**
+     * Indexes a user created on another node, if it is visible here yet.
+     */
+    @Transactional(readOnly = true)
+    public void reindex(UUID userId) {
+        userRepository.findById(userId).ifPresent(this::index);
+    }
+
+    public void index(User user) {
+        UserResponse summary = userMapper.toResponse(user);
+        String suffix = KEY_SEPARATOR + user.getId().toString();
+
+        for (String term : termsOf(user)) {
+            entries.put(term + suffix, summary);
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} distinct users whose email, name or any
+     * name token starts with the given prefix (case-insensitive).
+     */
+    public List<UserResponse> search(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<UUID, UserResponse> matches = new LinkedHashMap<>();
+        for (Map.Entry<String, UserResponse> entry : entries.tailMap(normalized, true).entrySet()) {
+            if (!entry.getKey().startsWith(normalized)) {
+                break;
+            }
+            matches.putIfAbsent(entry.getValue().getId(), entry.getValue());
+            if (matches.size() >= limit) {
+                break;
+            }
+        }
+
+        return new ArrayList<>(matches.values());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Set<String> termsOf(User user) {
+        Set<String> terms = new HashSet<>();
+        terms.add(normalize(user.getEmail()));
+
+        String name = normalize(user.getName());
+        terms.add(name);
+        for (String token : name.split("\\s+")) {
+            if (!token.isEmpty()) {
+                terms.add(token);
+            }
+        }
+
+        terms.remove("");
+        return terms;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
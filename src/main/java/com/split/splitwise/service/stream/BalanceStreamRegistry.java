@@ -0,0 +1,380 @@
+package com.split.splitwise.service.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.split.splitwise.datasource.ReplicaRoutingContext;
+import com.split.splitwise.dto.response.BalanceDeltaResponse;
+import com.split.splitwise.entity.Expense;
+import com.split.splitwise.entity.ExpenseSplit;
+import com.split.splitwise.entity.LedgerEvent;
+import com.split.splitwise.entity.LedgerEventType;
+import com.split.splitwise.event.ExpenseCreatedEvent;
+import com.split.splitwise.ledger.ExpenseCreatedPayload;
+import com.split.splitwise.ledger.LedgerPayloadReader;
+import com.split.splitwise.repository.LedgerEventRepository;
+import com.split.splitwise.sharding.ShardContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-group registry of SSE subscribers for live balance changes.
+ *
+ * Fan-out:
+ * - After a createExpense commits, the balance delta is derived from the
+ *   expense in the event (no query) and serialized once
+ * - Each subscriber has a bounded queue; a subscriber whose queue is full is
+ *   too slow and is dropped (it should reconnect and refetch /balances)
+ * - Queues are drained on virtual threads, so a client stuck in a blocking
+ *   write parks a virtual thread instead of holding a platform thread
+ *
+ * Expenses committed on other instances arrive through ClusterInvalidator:
+ * each GROUP invalidation for a group with subscribers reads that group's
+ * EXPENSE_CREATED ledger events of the last remote-lookback and sends the ones
+ * not sent yet. Sent expense ids are remembered per group for twice the
+ * lookback, so an expense is sent once whichever path sees it first. A remote
+ * commit that took longer than remote-lookback after its ledger insert is not
+ * streamed; clients recover by refetching /balances on reconnect.
+ *
+ * Idle connections cost one async request in Tomcat plus a small queue here;
+ * no thread is held while nothing is sent. A periodic heartbeat comment keeps
+ * proxies from timing out idle streams and flushes out dead connections.
+ */
+@Slf4j
+@Component
+public class BalanceStreamRegistry {
+
+    static final String DELTA_EVENT = "balance-delta";
+
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Map<UUID, SentExpenses> sentExpenses = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ObjectMapper objectMapper;
+    private final LedgerEventRepository ledgerEventRepository;
+    private final LedgerPayloadReader payloadReader;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Counter droppedCounter;
+    private final Counter publishedCounter;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final Duration remoteLookback;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeat;
+
+    public BalanceStreamRegistry(ObjectMapper objectMapper,
+                                 LedgerEventRepository ledgerEventRepository,
+                                 LedgerPayloadReader payloadReader,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${splitwise.stream.buffer-size:32}") int bufferSize,
+                                 @Value("${splitwise.stream.timeout:30m}") Duration timeout,
+                                 @Value("${splitwise.stream.heartbeat-interval:25s}") Duration heartbeatInterval,
+                                 @Value("${splitwise.stream.remote-lookback:10s}") Duration remoteLookback) {
+        this.objectMapper = objectMapper;
+        this.ledgerEventRepository = ledgerEventRepository;
+        this.payloadReader = payloadReader;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.remoteLookback = remoteLookback;
+
+        Gauge.builder("splitwise.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open balance streams")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("splitwise.stream.dropped")
+                .description("Balance streams closed because the client fell behind")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("splitwise.stream.published")
+                .description("Balance deltas fanned out")
+                .register(meterRegistry);
+
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "balance-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = heartbeatInterval.toMillis();
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(UUID groupId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(groupId, emitter, new ArrayBlockingQueue<>(bufferSize));
+
+        subscribers.compute(groupId, (id, group) -> {
+            Set<Subscriber> members = group != null ? group : ConcurrentHashMap.newKeySet();
+            members.add(subscriber);
+            sentExpenses.computeIfAbsent(id, key -> new SentExpenses(LocalDateTime.now()));
+            return members;
+        });
+        subscriberCount.incrementAndGet();
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        enqueue(subscriber, SseEmitter.event().comment("subscribed"));
+        log.debug("Balance stream opened for group {} ({} open)", groupId, subscriberCount.get());
+        return emitter;
+    }
+
+    public int subscriberCount(UUID groupId) {
+        Set<Subscriber> group = subscribers.get(groupId);
+        return group == null ? 0 : group.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExpenseCreated(ExpenseCreatedEvent event) {
+        SentExpenses sent = sentExpenses.get(event.groupId());
+        if (sent == null || !sent.mark(event.expense().getId(), LocalDateTime.now())) {
+            return;
+        }
+        fanOut(toDelta(event.groupId(), event.expense()));
+    }
+
+    /**
+     * Sends the group's expenses committed on other instances within the last
+     * remote-lookback that were not sent yet. Called by ClusterInvalidator for
+     * every GROUP invalidation from another node; a no-op for groups nobody
+     * streams. Returns the number of deltas sent.
+     */
+    public int catchUp(UUID groupId) {
+        SentExpenses sent = sentExpenses.get(groupId);
+        if (sent == null) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lookbackStart = now.minus(remoteLookback);
+        LocalDateTime since = sent.openedAt.isAfter(lookbackStart) ? sent.openedAt : lookbackStart;
+        List<LedgerEvent> events;
+        try {
+            // The invalidation is published after the commit; a replica may not have it yet
+            events = ReplicaRoutingContext.onPrimary(() -> readOnlyTransaction.execute(status -> {
+                ShardContext.bindGroup(groupId);
+                return ledgerEventRepository.findByGroupIdAndTypeAndRecordedAtGreaterThanEqualOrderByIdAsc(
+                        groupId, LedgerEventType.EXPENSE_CREATED, since);
+            }));
+        } catch (RuntimeException e) {
+            log.warn("Unable to read remote expenses of group {} for balance streams", groupId, e);
+            return 0;
+        }
+
+        sent.prune(now.minus(remoteLookback.multipliedBy(2)));
+        int published = 0;
+        for (LedgerEvent event : events) {
+            ExpenseCreatedPayload payload = payloadReader.read(event, ExpenseCreatedPayload.class);
+            if (sent.mark(payload.expenseId(), now)) {
+                fanOut(toDelta(groupId, payload, event.getRecordedAt()));
+                published++;
+            }
+        }
+        return published;
+    }
+
+    /**
+     * catchUp for every streamed group, after a full resync.
+     */
+    public int catchUpAll() {
+        int published = 0;
+        for (UUID groupId : List.copyOf(sentExpenses.keySet())) {
+            published += catchUp(groupId);
+        }
+        return published;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        subscribers.values().forEach(group -> group.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    static BalanceDeltaResponse toDelta(UUID groupId, Expense expense) {
+        Map<UUID, BalanceDeltaResponse.UserDelta> deltas = new LinkedHashMap<>();
+
+        deltas.put(expense.getPaidBy().getId(), new BalanceDeltaResponse.UserDelta(
+                expense.getPaidBy().getId(), expense.getPaidBy().getName(), expense.getTotalAmount()));
+        for (ExpenseSplit split : expense.getSplits()) {
+            BigDecimal owed = split.getAmountOwed().negate();
+            deltas.merge(split.getUser().getId(),
+                    new BalanceDeltaResponse.UserDelta(split.getUser().getId(), split.getUser().getName(), owed),
+                    (existing, added) -> {
+                        existing.setDelta(existing.getDelta().add(added.getDelta()));
+                        return existing;
+                    });
+        }
+
+        return BalanceDeltaResponse.builder()
+                .groupId(groupId)
+                .expenseId(expense.getId())
+                .description(expense.getDescription())
+                .createdAt(expense.getCreatedAt())
+                .deltas(new ArrayList<>(deltas.values()))
+                .build();
+    }
+
+    static BalanceDeltaResponse toDelta(UUID groupId, ExpenseCreatedPayload payload, LocalDateTime createdAt) {
+        Map<UUID, BalanceDeltaResponse.UserDelta> deltas = new LinkedHashMap<>();
+
+        deltas.put(payload.paidBy(), new BalanceDeltaResponse.UserDelta(
+                payload.paidBy(), payload.paidByName(), payload.totalAmount()));
+        for (ExpenseCreatedPayload.Share share : payload.shares()) {
+            BigDecimal owed = share.amountOwed().negate();
+            deltas.merge(share.userId(),
+                    new BalanceDeltaResponse.UserDelta(share.userId(), share.userName(), owed),
+                    (existing, added) -> {
+                        existing.setDelta(existing.getDelta().add(added.getDelta()));
+                        return existing;
+                    });
+        }
+
+        return BalanceDeltaResponse.builder()
+                .groupId(groupId)
+                .expenseId(payload.expenseId())
+                .description(payload.description())
+                .createdAt(createdAt)
+                .deltas(new ArrayList<>(deltas.values()))
+                .build();
+    }
+
+    private void fanOut(BalanceDeltaResponse delta) {
+        Set<Subscriber> group = subscribers.get(delta.getGroupId());
+        if (group == null || group.isEmpty()) {
+            return;
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(delta);
+        } catch (JsonProcessingException e) {
+            log.error("Unable to serialize balance delta for expense {}", delta.getExpenseId(), e);
+            return;
+        }
+
+        for (Subscriber subscriber : group) {
+            enqueue(subscriber, SseEmitter.event()
+                    .name(DELTA_EVENT)
+                    .id(delta.getExpenseId().toString())
+                    .data(json, MediaType.APPLICATION_JSON));
+        }
+        publishedCounter.increment();
+    }
+
+    private void sendHeartbeats() {
+        for (Set<Subscriber> group : subscribers.values()) {
+            for (Subscriber subscriber : group) {
+                enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.queue.offer(event)) {
+            log.info("Dropping slow balance stream for group {} ({} events buffered)",
+                    subscriber.groupId, bufferSize);
+            droppedCounter.increment();
+            subscriber.emitter.complete();
+            remove(subscriber);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!subscriber.closed.get() && (event = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Balance stream for group {} closed by client", subscriber.groupId);
+            remove(subscriber);
+        } finally {
+            subscriber.draining.set(false);
+        }
+
+        if (!subscriber.closed.get() && !subscriber.queue.isEmpty()
+                && subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriber.queue.clear();
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.groupId, (id, group) -> {
+            group.remove(subscriber);
+            if (group.isEmpty()) {
+                sentExpenses.remove(id);
+                return null;
+            }
+            return group;
+        });
+    }
+
+    /**
+     * Expenses already sent to a group's streams, with the time each was sent.
+     */
+    private static final class SentExpenses {
+        private final LocalDateTime openedAt;
+        private final Map<UUID, LocalDateTime> sentAt = new HashMap<>();
+
+        private SentExpenses(LocalDateTime openedAt) {
+            this.openedAt = openedAt;
+        }
+
+        /**
+         * Returns false if the expense was sent already.
+         */
+        synchronized boolean mark(UUID expenseId, LocalDateTime now) {
+            return sentAt.putIfAbsent(expenseId, now) == null;
+        }
+
+        synchronized void prune(LocalDateTime before) {
+            sentAt.values().removeIf(time -> time.isBefore(before));
+        }
+    }
+
+    private static final class Subscriber {
+        private final UUID groupId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(UUID groupId, SseEmitter emitter, BlockingQueue<SseEmitter.SseEventBuilder> queue) {
+            this.groupId = groupId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.split.splitwise.sharding;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Consistent hash ring mapping group ids to shard indexes.
+ *
+ * Each shard owns virtualNodes points on a 64-bit ring; a group belongs to the
+ * first point at or after its own hash. Adding a shard only moves the groups
+ * that land on the new shard's points (about 1/N of them), which is what keeps
+ * rebalancing incremental.
+ *
+ * Hashes are pure functions of the shard index and the UUID bits, so every
+ * instance and every restart agrees on placement.
+ */
+public final class ConsistentHashRing {
+
+    private final TreeMap<Long, Integer> ring = new TreeMap<>();
+    private final int shardCount;
+    private final int virtualNodes;
+
+    public ConsistentHashRing(int shardCount, int virtualNodes) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shardCount must be at least 1");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be at least 1");
+        }
+        this.shardCount = shardCount;
+        this.virtualNodes = virtualNodes;
+
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring.put(mix(((long) shard << 32) | node), shard);
+            }
+        }
+    }
+
+    public int shardFor(UUID groupId) {
+        long hash = mix(groupId.getMostSignificantBits() ^ mix(groupId.getLeastSignificantBits()));
+        Map.Entry<Long, Integer> owner = ring.ceilingEntry(hash);
+        return owner != null ? owner.getValue() : ring.firstEntry().getValue();
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int virtualNodes() {
+        return virtualNodes;
+    }
+
+    /**
+     * SplitMix64 finalizer: cheap, well distributed, and stable across JVMs.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,79 @@
+package com.split.splitwise.sharding;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound routing hints for ShardRoutingDataSource.
+ *
+ * - bindGroup(groupId): the current transaction works on this group's data.
+ *   Group-scoped service methods call it before touching a repository; the
+ *   binding is released when the transaction completes. Outside a transaction
+ *   it is a no-op (there is no connection to route).
+ * - callOnShard(index, ...): tooling (replication, rebalancing, schema export)
+ *   that addresses a physical shard directly.
+ *
+ * With no hint, connections go to the global shard. A transaction holds one
+ * connection, so it can only ever touch one group.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<UUID> GROUP = new ThreadLocal<>();
+    private static final ThreadLocal<Integer> SHARD = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static void bindGroup(UUID groupId) {
+        if (groupId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        UUID current = GROUP.get();
+        if (current == null) {
+            GROUP.set(groupId);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    GROUP.remove();
+                }
+            });
+        } else if (!current.equals(groupId)) {
+            throw new IllegalStateException(String.format(
+                    "Transaction is bound to group %s and cannot access group %s; groups may live on different shards",
+                    current, groupId));
+        }
+    }
+
+    public static UUID currentGroup() {
+        return GROUP.get();
+    }
+
+    public static Integer currentShard() {
+        return SHARD.get();
+    }
+
+    public static <T> T callOnShard(int shard, Supplier<T> action) {
+        Integer previous = SHARD.get();
+        SHARD.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                SHARD.remove();
+            } else {
+                SHARD.set(previous);
+            }
+        }
+    }
+
+    public static void runOnShard(int shard, Runnable action) {
+        callOnShard(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,25 @@
+package com.split.splitwise.sharding;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * The physical pools behind ShardRoutingDataSource.
+ *
+ * Deliberately not DataSource beans: the application sees only the routing
+ * DataSource, while replication and rebalancing address shards directly.
+ */
+public record ShardDataSources(DataSource global, List<DataSource> shards) {
+
+    public ShardDataSources {
+        shards = List.copyOf(shards);
+    }
+
+    public DataSource shard(int index) {
+        return shards.get(index);
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+}
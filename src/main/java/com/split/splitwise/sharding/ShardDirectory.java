@@ -0,0 +1,187 @@
+package com.split.splitwise.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the owning shard of a group.
+ *
+ * Placement is the consistent hash of the group id, except for groups the
+ * rebalancer has moved: those are pinned in group_shard_overrides on the
+ * global shard and cached here. The override table only ever holds moved
+ * groups and groups pinned by a ring change, so it stays small. Moves made
+ * on another instance reach this cache through ClusterInvalidator, which
+ * calls reload.
+ *
+ * The ring the groups were placed with is recorded in shard_ring. When the
+ * configured ring differs at startup (shards appended, virtual nodes changed),
+ * every group the new ring would place elsewhere is pinned to the shard it
+ * actually lives on before any request is routed, so it stays reachable until
+ * the rebalancer moves it.
+ */
+@Slf4j
+public class ShardDirectory {
+
+    private static final int RING_ROW = 1;
+
+    private final ConsistentHashRing ring;
+    private final ShardDataSources dataSources;
+    private final JdbcTemplate globalJdbc;
+    private final Map<UUID, Integer> overrides = new ConcurrentHashMap<>();
+    private final Set<UUID> frozen = ConcurrentHashMap.newKeySet();
+
+    public ShardDirectory(ConsistentHashRing ring, ShardDataSources dataSources) {
+        this.ring = ring;
+        this.dataSources = dataSources;
+        this.globalJdbc = new JdbcTemplate(dataSources.global());
+    }
+
+    public void load() {
+        globalJdbc.execute("CREATE TABLE IF NOT EXISTS group_shard_overrides ("
+                + "group_id UUID PRIMARY KEY, shard INT NOT NULL)");
+        globalJdbc.execute("CREATE TABLE IF NOT EXISTS shard_ring ("
+                + "id INT PRIMARY KEY, shard_count INT NOT NULL, virtual_nodes INT NOT NULL)");
+
+        pinPlacementsOnRingChange();
+        reloadAll();
+
+        log.info("Shard directory loaded: {} shards, {} moved groups", ring.shardCount(), overrides.size());
+    }
+
+    /**
+     * Re-reads one group's placement, after another instance moved it.
+     */
+    public void reload(UUID groupId) {
+        List<Integer> pinned = globalJdbc.queryForList(
+                "SELECT shard FROM group_shard_overrides WHERE group_id = ?", Integer.class, groupId);
+        if (pinned.isEmpty()) {
+            overrides.remove(groupId);
+        } else {
+            overrides.put(groupId, pinned.get(0));
+        }
+    }
+
+    /**
+     * Re-reads every placement, after this instance may have missed moves.
+     */
+    public void reloadAll() {
+        Map<UUID, Integer> current = new HashMap<>();
+        globalJdbc.query("SELECT group_id, shard FROM group_shard_overrides",
+                rs -> {
+                    current.put(rs.getObject("group_id", UUID.class), rs.getInt("shard"));
+                });
+        overrides.putAll(current);
+        overrides.keySet().retainAll(current.keySet());
+    }
+
+    public int shardFor(UUID groupId) {
+        Integer pinned = overrides.get(groupId);
+        return pinned != null ? pinned : ring.shardFor(groupId);
+    }
+
+    public int hashedShardFor(UUID groupId) {
+        return ring.shardFor(groupId);
+    }
+
+    public int shardCount() {
+        return ring.shardCount();
+    }
+
+    /**
+     * Records a group's new home. Moving it back to its hashed shard drops the override.
+     */
+    public void assign(UUID groupId, int shard) {
+        globalJdbc.update("DELETE FROM group_shard_overrides WHERE group_id = ?", groupId);
+        if (shard == ring.shardFor(groupId)) {
+            overrides.remove(groupId);
+            return;
+        }
+        globalJdbc.update("INSERT INTO group_shard_overrides (group_id, shard) VALUES (?, ?)", groupId, shard);
+        overrides.put(groupId, shard);
+    }
+
+    /**
+     * Rejects new write transactions for the group on this instance until
+     * unfreeze; used by the rebalancer while it copies the group.
+     */
+    public void freeze(UUID groupId) {
+        frozen.add(groupId);
+    }
+
+    public void unfreeze(UUID groupId) {
+        frozen.remove(groupId);
+    }
+
+    public boolean isFrozen(UUID groupId) {
+        return frozen.contains(groupId);
+    }
+
+    /**
+     * Pins every group whose placement differs between the recorded ring and
+     * the configured one. The ring row is locked for the whole scan, so
+     * instances starting together pin once and the others find the new ring
+     * already recorded.
+     */
+    private void pinPlacementsOnRingChange() {
+        TransactionTemplate globalTx = new TransactionTemplate(
+                new DataSourceTransactionManager(dataSources.global()));
+
+        globalTx.executeWithoutResult(status -> {
+            List<int[]> recorded = globalJdbc.query(
+                    "SELECT shard_count, virtual_nodes FROM shard_ring WHERE id = ? FOR UPDATE",
+                    (rs, rowNum) -> new int[]{rs.getInt("shard_count"), rs.getInt("virtual_nodes")},
+                    RING_ROW);
+            if (recorded.isEmpty()) {
+                globalJdbc.update("INSERT INTO shard_ring (id, shard_count, virtual_nodes) VALUES (?, ?, ?)",
+                        RING_ROW, ring.shardCount(), ring.virtualNodes());
+                return;
+            }
+
+            int previousShards = recorded.get(0)[0];
+            int previousNodes = recorded.get(0)[1];
+            if (previousShards == ring.shardCount() && previousNodes == ring.virtualNodes()) {
+                return;
+            }
+            if (previousShards > ring.shardCount()) {
+                throw new IllegalStateException(String.format(
+                        "Groups were placed on %d shards but only %d are configured; shards can only be appended",
+                        previousShards, ring.shardCount()));
+            }
+
+            ConsistentHashRing previous = new ConsistentHashRing(previousShards, previousNodes);
+            Set<UUID> moved = new HashSet<>(
+                    globalJdbc.queryForList("SELECT group_id FROM group_shard_overrides", UUID.class));
+            int pinned = 0;
+            for (int shard = 0; shard < previousShards; shard++) {
+                List<UUID> groupIds = new JdbcTemplate(dataSources.shard(shard))
+                        .queryForList("SELECT id FROM groups", UUID.class);
+                for (UUID groupId : groupIds) {
+                    // Moved groups are already pinned; rows the old ring did not place
+                    // here are leftovers of an interrupted move
+                    if (moved.contains(groupId) || previous.shardFor(groupId) != shard
+                            || ring.shardFor(groupId) == shard) {
+                        continue;
+                    }
+                    globalJdbc.update("INSERT INTO group_shard_overrides (group_id, shard) VALUES (?, ?)",
+                            groupId, shard);
+                    pinned++;
+                }
+            }
+
+            globalJdbc.update("UPDATE shard_ring SET shard_count = ?, virtual_nodes = ? WHERE id = ?",
+                    ring.shardCount(), ring.virtualNodes(), RING_ROW);
+            log.info("Shard ring changed from {} to {} shards; pinned {} groups to their current shard",
+                    previousShards, ring.shardCount(), pinned);
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package com.split.splitwise.sharding;
+
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.JmxEndpoint;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Shard operations, over JMX only (org.springframework.boot:type=Endpoint,
+ * name=Shards; sharded profile only). Moves lock and rewrite whole groups and
+ * the app has no HTTP authentication, so the endpoint is never served over HTTP.
+ *
+ * - status                group count per shard and groups off their hashed shard
+ * - move(groupId, shard)  move one group
+ * - rebalance             move every misplaced group back to its hashed shard
+ * - replicateUsers        copy missing users from global to every shard
+ */
+@JmxEndpoint(id = "shards")
+public class ShardEndpoint {
+
+    private final ShardRebalancer rebalancer;
+    private final UserReplicator userReplicator;
+
+    public ShardEndpoint(ShardRebalancer rebalancer, UserReplicator userReplicator) {
+        this.rebalancer = rebalancer;
+        this.userReplicator = userReplicator;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("groupsPerShard", rebalancer.distribution());
+        status.put("misplacedGroups", rebalancer.misplacedGroups().size());
+        return status;
+    }
+
+    @WriteOperation
+    public Map<String, Object> move(UUID groupId, int shard) {
+        return rebalancer.move(groupId, shard);
+    }
+
+    @WriteOperation
+    public List<Map<String, Object>> rebalance() {
+        List<Map<String, Object>> moves = new ArrayList<>();
+        for (ShardRebalancer.Misplaced group : rebalancer.misplacedGroups()) {
+            moves.add(rebalancer.move(group.groupId(), group.currentShard(), group.hashedShard()));
+        }
+        return moves;
+    }
+
+    @WriteOperation
+    public Map<String, Object> replicateUsers() {
+        return Map.of("rowsInserted", userReplicator.replicateAll());
+    }
+}
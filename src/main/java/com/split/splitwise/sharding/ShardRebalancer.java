@@ -0,0 +1,208 @@
+package com.split.splitwise.sharding;
+
+import com.split.splitwise.event.GroupMovedEvent;
+import com.split.splitwise.exception.BusinessRuleException;
+import com.split.splitwise.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Moves a group, with its members, expenses, splits and ledger events, between
+ * shards.
+ *
+ * Steps, all inside one source transaction that holds the group row FOR UPDATE:
+ * 1. Copy rows to the target inside one target transaction
+ * 2. Pin the group to the target in the directory (new requests route there)
+ * 3. Delete the rows from the source
+ *
+ * The row lock fences writes from every instance: PostgreSQL takes a key-share
+ * lock on the group row for each member or expense insert, so writers that
+ * started before the move finish before the copy reads, and writers that start
+ * during it wait and then fail on the deleted group instead of committing rows
+ * nobody copies. On this instance the directory also freezes the group, so new
+ * write transactions are refused without waiting on the lock. Other instances
+ * learn the new placement from the GroupMovedEvent, which ClusterInvalidator
+ * broadcasts; until it arrives they still route to the source and get a 404.
+ *
+ * Ledger events are copied in offset order and get new ids from the target's
+ * identity column, so they keep their relative order but not their offsets.
+ * That is safe because projections, the only offset consumers, are refused
+ * under the sharded profile (see ShardingConfig).
+ *
+ * A crash between steps leaves either an unused copy on the target or an
+ * orphan on the source, never a lost group; re-running the move is safe.
+ */
+@Slf4j
+public class ShardRebalancer {
+
+    private static final String EXPENSES_OF_GROUP = "SELECT id FROM expenses WHERE group_id = ?";
+
+    private final ShardDataSources dataSources;
+    private final ShardDirectory directory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ShardRebalancer(ShardDataSources dataSources, ShardDirectory directory,
+                           ApplicationEventPublisher eventPublisher) {
+        this.dataSources = dataSources;
+        this.directory = directory;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * A group whose owning copy lives on currentShard while the ring hashes it to hashedShard.
+     */
+    public record Misplaced(UUID groupId, int currentShard, int hashedShard) {
+    }
+
+    /**
+     * Moves a group from the shard the directory routes it to.
+     */
+    public Map<String, Object> move(UUID groupId, int targetShard) {
+        return move(groupId, directory.shardFor(groupId), targetShard);
+    }
+
+    public synchronized Map<String, Object> move(UUID groupId, int sourceShard, int targetShard) {
+        requireShard(sourceShard);
+        requireShard(targetShard);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("groupId", groupId);
+        result.put("from", sourceShard);
+        result.put("to", targetShard);
+
+        JdbcTemplate source = new JdbcTemplate(dataSources.shard(sourceShard));
+        JdbcTemplate target = new JdbcTemplate(dataSources.shard(targetShard));
+        TransactionTemplate sourceTx = new TransactionTemplate(
+                new DataSourceTransactionManager(dataSources.shard(sourceShard)));
+        TransactionTemplate targetTx = new TransactionTemplate(
+                new DataSourceTransactionManager(dataSources.shard(targetShard)));
+
+        directory.freeze(groupId);
+        try {
+            Integer copied = sourceTx.execute(status -> {
+                if (source.queryForList("SELECT id FROM groups WHERE id = ? FOR UPDATE", UUID.class, groupId)
+                        .isEmpty()) {
+                    throw new ResourceNotFoundException("Group", "id", groupId);
+                }
+                if (sourceShard == targetShard) {
+                    return 0;
+                }
+
+                int rows = targetTx.execute(targetStatus -> {
+                    deleteGroupRows(target, groupId);
+                    int count = copyRows(source, target, "groups", "id = ?", groupId);
+                    count += copyRows(source, target, "group_members", "group_id = ?", groupId);
+                    count += copyRows(source, target, "expenses", "group_id = ?", groupId);
+                    count += copyRows(source, target, "expense_splits",
+                            "expense_id IN (" + EXPENSES_OF_GROUP + ")", groupId);
+                    count += copyRows(source, target, "ledger_events", "group_id = ?", "id", groupId);
+                    return count;
+                });
+
+                directory.assign(groupId, targetShard);
+                deleteGroupRows(source, groupId);
+                return rows;
+            });
+
+            if (sourceShard != targetShard) {
+                eventPublisher.publishEvent(new GroupMovedEvent(groupId, targetShard));
+                log.info("Moved group {} from shard {} to shard {} ({} rows)",
+                        groupId, sourceShard, targetShard, copied);
+            }
+            result.put("rowsMoved", copied);
+            return result;
+        } finally {
+            directory.unfreeze(groupId);
+        }
+    }
+
+    /**
+     * Group count per shard, as seen by the directory.
+     */
+    public Map<Integer, Integer> distribution() {
+        Map<Integer, Integer> counts = new LinkedHashMap<>();
+        for (int shard = 0; shard < dataSources.shardCount(); shard++) {
+            counts.put(shard, new JdbcTemplate(dataSources.shard(shard))
+                    .queryForObject("SELECT COUNT(*) FROM groups", Integer.class));
+        }
+        return counts;
+    }
+
+    /**
+     * Groups not living on their hashed shard, e.g. after shards were appended
+     * to the ring. Only the copy the directory routes to counts, so leftovers of
+     * an interrupted move are not reported. Moving each group from its current
+     * to its hashed shard restores pure hash placement.
+     */
+    public List<Misplaced> misplacedGroups() {
+        List<Misplaced> misplaced = new ArrayList<>();
+        for (int shard = 0; shard < dataSources.shardCount(); shard++) {
+            List<UUID> groupIds = new JdbcTemplate(dataSources.shard(shard))
+                    .queryForList("SELECT id FROM groups", UUID.class);
+            for (UUID groupId : groupIds) {
+                int hashed = directory.hashedShardFor(groupId);
+                if (hashed != shard && directory.shardFor(groupId) == shard) {
+                    misplaced.add(new Misplaced(groupId, shard, hashed));
+                }
+            }
+        }
+        return misplaced;
+    }
+
+    private void requireShard(int shard) {
+        if (shard < 0 || shard >= dataSources.shardCount()) {
+            throw new BusinessRuleException(String.format(
+                    "Shard %d does not exist; valid shards are 0-%d", shard, dataSources.shardCount() - 1));
+        }
+    }
+
+    private int copyRows(JdbcTemplate source, JdbcTemplate target, String table, String where, UUID groupId) {
+        return copyRows(source, target, table, where, null, groupId);
+    }
+
+    /**
+     * Copies rows, leaving out the identityColumn (if any) so the target assigns
+     * it; rows are inserted in identityColumn order.
+     */
+    private int copyRows(JdbcTemplate source, JdbcTemplate target, String table, String where,
+                         String identityColumn, UUID groupId) {
+        String query = "SELECT * FROM " + table + " WHERE " + where;
+        if (identityColumn != null) {
+            query += " ORDER BY " + identityColumn;
+        }
+        List<Map<String, Object>> rows = source.queryForList(query, groupId);
+        for (Map<String, Object> row : rows) {
+            if (identityColumn != null) {
+                // column maps are case-insensitive, so this matches ID on H2 and id on PostgreSQL
+                row.remove(identityColumn);
+            }
+            StringJoiner columns = new StringJoiner(", ");
+            StringJoiner placeholders = new StringJoiner(", ");
+            row.keySet().forEach(column -> {
+                columns.add(column);
+                placeholders.add("?");
+            });
+            target.update("INSERT INTO " + table + " (" + columns + ") VALUES (" + placeholders + ")",
+                    row.values().toArray());
+        }
+        return rows.size();
+    }
+
+    private void deleteGroupRows(JdbcTemplate jdbc, UUID groupId) {
+        jdbc.update("DELETE FROM ledger_events WHERE group_id = ?", groupId);
+        jdbc.update("DELETE FROM expense_splits WHERE expense_id IN (" + EXPENSES_OF_GROUP + ")", groupId);
+        jdbc.update("DELETE FROM expenses WHERE group_id = ?", groupId);
+        jdbc.update("DELETE FROM group_members WHERE group_id = ?", groupId);
+        jdbc.update("DELETE FROM groups WHERE id = ?", groupId);
+    }
+}
@@ -0,0 +1,65 @@
+package com.split.splitwise.sharding;
+
+import com.split.splitwise.exception.BusinessRuleException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Routes each connection to the global shard or a group shard.
+ *
+ * Routing key, first match wins:
+ * - Explicit shard from ShardContext.callOnShard -> that shard
+ * - Group bound to the transaction -> the group's owning shard
+ * - Otherwise -> global
+ *
+ * Write transactions on a group the rebalancer is moving are refused with 503
+ * rather than routed to a shard that is about to lose the group.
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy so the decision is made on
+ * the first statement, after the service has bound its group.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String GLOBAL = "global";
+    private static final String SHARD_PREFIX = "shard-";
+
+    private final ShardDirectory directory;
+
+    public ShardRoutingDataSource(ShardDataSources dataSources, ShardDirectory directory) {
+        this.directory = directory;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(GLOBAL, dataSources.global());
+        for (int i = 0; i < dataSources.shardCount(); i++) {
+            targets.put(SHARD_PREFIX + i, dataSources.shard(i));
+        }
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(dataSources.global());
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = ShardContext.currentShard();
+        if (shard != null) {
+            return SHARD_PREFIX + shard;
+        }
+
+        UUID groupId = ShardContext.currentGroup();
+        if (groupId != null) {
+            if (directory.isFrozen(groupId) && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                throw new BusinessRuleException(
+                        "Group " + groupId + " is being moved between shards; retry shortly",
+                        HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            return SHARD_PREFIX + directory.shardFor(groupId);
+        }
+        return GLOBAL;
+    }
+}
@@ -0,0 +1,45 @@
+package com.split.splitwise.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "splitwise.sharding")
+public class ShardingProperties {
+
+    /**
+     * Global shard: users (source of truth) and the shard directory.
+     */
+    private Node global = new Node();
+
+    /**
+     * Group shards. Order matters: the index is the shard id on the hash ring,
+     * so only ever append.
+     */
+    private List<Node> shards = new ArrayList<>();
+
+    /**
+     * Points per shard on the hash ring; more points, more even distribution.
+     */
+    private int virtualNodes = 128;
+
+    /**
+     * Maximum pool size per shard.
+     */
+    private int poolSize = 10;
+
+    /**
+     * Export the JPA schema to every group shard at startup (local H2 setups).
+     */
+    private boolean createSchema = false;
+
+    @Data
+    public static class Node {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,69 @@
+package com.split.splitwise.sharding;
+
+import com.split.splitwise.entity.User;
+import com.split.splitwise.event.UserCreatedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps a copy of the users table on every group shard.
+ *
+ * Users are written to the global shard; expenses, splits and memberships
+ * reference them by foreign key, so each group shard needs the rows locally.
+ * Copies are made after the creating transaction commits and are idempotent,
+ * so replicateAll() can repair a shard that missed an insert.
+ */
+@Slf4j
+public class UserReplicator {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO users (id, name, email, created_at) "
+                    + "SELECT ?, ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM users WHERE id = ?)";
+
+    private final ShardDataSources dataSources;
+
+    public UserReplicator(ShardDataSources dataSources) {
+        this.dataSources = dataSources;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserCreated(UserCreatedEvent event) {
+        User user = event.user();
+        for (int shard = 0; shard < dataSources.shardCount(); shard++) {
+            try {
+                new JdbcTemplate(dataSources.shard(shard)).update(UPSERT_SQL,
+                        user.getId(), user.getName(), user.getEmail(),
+                        Timestamp.valueOf(user.getCreatedAt()), user.getId());
+            } catch (RuntimeException e) {
+                log.error("Failed to replicate user {} to shard {}; run replicateAll to repair",
+                        user.getId(), shard, e);
+            }
+        }
+    }
+
+    /**
+     * Copies every global user missing from the group shards. Returns rows inserted.
+     */
+    public int replicateAll() {
+        List<Map<String, Object>> users = new JdbcTemplate(dataSources.global())
+                .queryForList("SELECT id, name, email, created_at FROM users");
+
+        int inserted = 0;
+        for (int shard = 0; shard < dataSources.shardCount(); shard++) {
+            JdbcTemplate shardJdbc = new JdbcTemplate(dataSources.shard(shard));
+            for (Map<String, Object> user : users) {
+                inserted += shardJdbc.update(UPSERT_SQL,
+                        user.get("id"), user.get("name"), user.get("email"), user.get("created_at"), user.get("id"));
+            }
+        }
+
+        log.info("Replicated {} user rows across {} shards", inserted, dataSources.shardCount());
+        return inserted;
+    }
+}
@@ -0,0 +1,137 @@
+-- PostgreSQL schema for the prod profile, which validates the JPA mappings
+-- against the database instead of generating them (ddl-auto: validate).
+-- Run on every startup (spring.sql.init), so every statement is idempotent.
+-- Keep in step with the entities in com.split.splitwise.entity.
+
+CREATE TABLE IF NOT EXISTS users (
+    id         UUID PRIMARY KEY,
+    name       VARCHAR(100) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_user_email ON users (email);
+
+CREATE TABLE IF NOT EXISTS groups (
+    id         UUID PRIMARY KEY,
+    version    BIGINT NOT NULL DEFAULT 0,
+    name       VARCHAR(100) NOT NULL,
+    created_by UUID NOT NULL REFERENCES users (id),
+    created_at TIMESTAMP(6) NOT NULL
+);
+-- Optimistic locking column added after the first release
+ALTER TABLE groups ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS group_members (
+    id        UUID PRIMARY KEY,
+    group_id  UUID NOT NULL REFERENCES groups (id),
+    user_id   UUID NOT NULL REFERENCES users (id),
+    joined_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_group_user UNIQUE (group_id, user_id)
+);
+CREATE INDEX IF NOT EXISTS idx_group_member_group ON group_members (group_id);
+CREATE INDEX IF NOT EXISTS idx_group_member_user ON group_members (user_id);
+
+CREATE TABLE IF NOT EXISTS expenses (
+    id           UUID PRIMARY KEY,
+    description  VARCHAR(255) NOT NULL,
+    total_amount NUMERIC(19, 2) NOT NULL,
+    paid_by      UUID NOT NULL REFERENCES users (id),
+    group_id     UUID NOT NULL REFERENCES groups (id),
+    split_type   VARCHAR(20) NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_expense_group ON expenses (group_id);
+CREATE INDEX IF NOT EXISTS idx_expense_paid_by ON expenses (paid_by);
+
+CREATE TABLE IF NOT EXISTS expense_splits (
+    id          UUID PRIMARY KEY,
+    expense_id  UUID NOT NULL REFERENCES expenses (id),
+    user_id     UUID NOT NULL REFERENCES users (id),
+    amount_owed NUMERIC(19, 2) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_expense_split_expense ON expense_splits (expense_id);
+CREATE INDEX IF NOT EXISTS idx_expense_split_user ON expense_splits (user_id);
+
+-- Append-only ledger log; the id is the offset projections checkpoint against
+CREATE TABLE IF NOT EXISTS ledger_events (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_type  VARCHAR(40) NOT NULL,
+    group_id    UUID NOT NULL,
+    payload     TEXT NOT NULL,
+    recorded_at TIMESTAMP(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_ledger_event_group ON ledger_events (group_id, id);
+
+CREATE TABLE IF NOT EXISTS projection_checkpoints (
+    name        VARCHAR(60) PRIMARY KEY,
+    last_offset BIGINT NOT NULL,
+    updated_at  TIMESTAMP(6),
+    version     BIGINT
+);
+
+CREATE TABLE IF NOT EXISTS projection_gaps (
+    projection_name VARCHAR(60) NOT NULL,
+    event_offset    BIGINT NOT NULL,
+    skipped_at      TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (projection_name, event_offset)
+);
+
+CREATE TABLE IF NOT EXISTS projected_balances (
+    group_id  UUID NOT NULL,
+    user_id   UUID NOT NULL,
+    user_name VARCHAR(100),
+    balance   NUMERIC(19, 2) NOT NULL,
+    PRIMARY KEY (group_id, user_id)
+);
+
+CREATE TABLE IF NOT EXISTS projected_group_summaries (
+    group_id         UUID PRIMARY KEY,
+    name             VARCHAR(100),
+    member_count     INTEGER NOT NULL,
+    expense_count    BIGINT NOT NULL,
+    total_spent      NUMERIC(19, 2) NOT NULL,
+    last_activity_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS activity_entries (
+    user_id      UUID NOT NULL,
+    event_offset BIGINT NOT NULL,
+    group_id     UUID NOT NULL,
+    event_type   VARCHAR(40) NOT NULL,
+    actor_id     UUID NOT NULL,
+    actor_name   VARCHAR(100),
+    description  VARCHAR(255),
+    amount       NUMERIC(19, 2),
+    user_delta   NUMERIC(19, 2),
+    occurred_at  TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (user_id, event_offset)
+);
+
+CREATE TABLE IF NOT EXISTS activity_group_members (
+    group_id UUID NOT NULL,
+    user_id  UUID NOT NULL,
+    PRIMARY KEY (group_id, user_id)
+);
+
+CREATE TABLE IF NOT EXISTS spend_rollups (
+    group_id      UUID NOT NULL,
+    payer_id      UUID NOT NULL,
+    granularity   VARCHAR(10) NOT NULL,
+    bucket_start  DATE NOT NULL,
+    payer_name    VARCHAR(100),
+    expense_count BIGINT NOT NULL,
+    total_amount  NUMERIC(19, 2) NOT NULL,
+    PRIMARY KEY (group_id, payer_id, granularity, bucket_start)
+);
+CREATE INDEX IF NOT EXISTS idx_spend_rollup_range ON spend_rollups (group_id, granularity, bucket_start);
+
+CREATE TABLE IF NOT EXISTS settlement_transfers (
+    group_id       UUID NOT NULL,
+    from_user_id   UUID NOT NULL,
+    to_user_id     UUID NOT NULL,
+    from_user_name VARCHAR(100),
+    to_user_name   VARCHAR(100),
+    amount         NUMERIC(19, 2) NOT NULL,
+    updated_at     TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (group_id, from_user_id, to_user_id)
+);
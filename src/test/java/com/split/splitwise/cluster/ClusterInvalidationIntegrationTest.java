@@ -0,0 +1,179 @@
+package com.split.splitwise.cluster;
+
+import com.split.splitwise.SplitwiseApplication;
+import com.split.splitwise.dto.request.AddMemberRequest;
+import com.split.splitwise.dto.request.CreateExpenseRequest;
+import com.split.splitwise.dto.request.CreateGroupRequest;
+import com.split.splitwise.dto.request.CreateUserRequest;
+import com.split.splitwise.dto.response.BalanceResponse;
+import com.split.splitwise.dto.response.UserResponse;
+import com.split.splitwise.entity.SplitType;
+import com.split.splitwise.service.ExpenseService;
+import com.split.splitwise.service.GroupService;
+import com.split.splitwise.service.UserService;
+import com.split.splitwise.service.cache.GroupVersionTracker;
+import com.split.splitwise.service.cache.LedgerReadCoalescer;
+import com.split.splitwise.service.search.ExpenseSearchIndex;
+import com.split.splitwise.service.stream.BalanceStreamRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Two application contexts on one shared H2 database, joined by the in-memory
+ * invalidation bus: writes go to node A, reads are checked on node B.
+ *
+ * Hibernate's second-level cache is off on both nodes because the JCache
+ * provider is JVM-wide; sharing it would hide exactly the staleness under test.
+ */
+class ClusterInvalidationIntegrationTest {
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        String database = "cluster_" + UUID.randomUUID().toString().replace("-", "");
+        String channel = "cluster_test_" + UUID.randomUUID().toString().replace("-", "");
+        // node A creates the schema, node B uses it
+        nodeA = startNode(database, channel, "create-drop");
+        nodeB = startNode(database, channel, "none");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve fresh balances on a node that cached the group before another node wrote")
+    void shouldInvalidateGroupsAcrossNodes() {
+        UUID alice = createUser("Alice");
+        UUID bob = createUser("Bob");
+        UUID groupId = nodeA.getBean(GroupService.class)
+                .createGroup(CreateGroupRequest.builder().name("Trip").createdBy(alice).build()).getId();
+        nodeA.getBean(GroupService.class).addMember(groupId, AddMemberRequest.builder().userId(bob).build());
+
+        // node B loads the group into its columnar ledger while it has no expenses
+        assertThat(nodeB.getBean(LedgerReadCoalescer.class).balances(groupId).getBalances())
+                .allSatisfy(balance -> assertThat(balance.getBalance()).isEqualByComparingTo(BigDecimal.ZERO));
+        long versionBefore = nodeB.getBean(GroupVersionTracker.class).currentVersion(groupId);
+
+        nodeA.getBean(ExpenseService.class).createExpense(groupId, CreateExpenseRequest.builder()
+                .description("Dinner")
+                .totalAmount(new BigDecimal("50.00"))
+                .paidBy(alice)
+                .splitType(SplitType.EQUAL)
+                .build());
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(nodeB.getBean(GroupVersionTracker.class).currentVersion(groupId)).isGreaterThan(versionBefore));
+        BalanceResponse balances = nodeB.getBean(LedgerReadCoalescer.class).balances(groupId);
+        assertThat(balances.getBalances())
+                .filteredOn(balance -> balance.getUserId().equals(alice))
+                .singleElement()
+                .satisfies(balance -> assertThat(balance.getBalance()).isEqualByComparingTo("25.00"));
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(nodeB.getBean(ExpenseSearchIndex.class).search(groupId, "dinner", 10)).hasSize(1));
+    }
+
+    @Test
+    @DisplayName("Should stream balance deltas for expenses created on another node")
+    void shouldStreamRemoteExpenses() {
+        UUID alice = createUser("Alice");
+        UUID bob = createUser("Bob");
+        UUID groupId = nodeA.getBean(GroupService.class)
+                .createGroup(CreateGroupRequest.builder().name("Flat").createdBy(alice).build()).getId();
+        nodeA.getBean(GroupService.class).addMember(groupId, AddMemberRequest.builder().userId(bob).build());
+
+        BalanceStreamRegistry streamsB = nodeB.getBean(BalanceStreamRegistry.class);
+        Counter publishedB = nodeB.getBean(MeterRegistry.class).counter("splitwise.stream.published");
+        SseEmitter emitter = streamsB.subscribe(groupId);
+        try {
+            double before = publishedB.count();
+
+            nodeA.getBean(ExpenseService.class).createExpense(groupId, CreateExpenseRequest.builder()
+                    .description("Rent")
+                    .totalAmount(new BigDecimal("80.00"))
+                    .paidBy(bob)
+                    .splitType(SplitType.EQUAL)
+                    .build());
+
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                    assertThat(publishedB.count()).isEqualTo(before + 1));
+            // a repeated invalidation does not send the same expense twice
+            assertThat(streamsB.catchUp(groupId)).isZero();
+            assertThat(publishedB.count()).isEqualTo(before + 1);
+        } finally {
+            emitter.complete();
+        }
+    }
+
+    @Test
+    @DisplayName("Should make a user created on one node searchable on the others")
+    void shouldIndexRemoteUsers() {
+        String name = "Zed" + UUID.randomUUID().toString().substring(0, 8);
+        UUID userId = nodeA.getBean(UserService.class).createUser(CreateUserRequest.builder()
+                .name(name).email(name.toLowerCase() + "@test.com").build()).getId();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(nodeB.getBean(UserService.class).searchUsers(name, 10))
+                        .extracting(UserResponse::getId)
+                        .containsExactly(userId));
+    }
+
+    @Test
+    @DisplayName("Should ignore the node's own invalidations")
+    void shouldSkipOwnMessages() {
+        UUID groupId = UUID.randomUUID();
+        ClusterInvalidator invalidator = nodeA.getBean(ClusterInvalidator.class);
+        GroupVersionTracker tracker = nodeA.getBean(GroupVersionTracker.class);
+
+        invalidator.onMessage(new InvalidationMessage(invalidator.nodeId(), List.of(Invalidation.group(groupId))));
+        assertThat(tracker.currentVersion(groupId)).isZero();
+
+        invalidator.onMessage(new InvalidationMessage("other-node", List.of(Invalidation.group(groupId))));
+        assertThat(tracker.currentVersion(groupId)).isEqualTo(1);
+    }
+
+    private static UUID createUser(String name) {
+        return nodeA.getBean(UserService.class).createUser(CreateUserRequest.builder()
+                .name(name)
+                .email(name.toLowerCase() + "-" + UUID.randomUUID() + "@test.com")
+                .build()).getId();
+    }
+
+    private static ConfigurableApplicationContext startNode(String database, String channel, String ddlAuto) {
+        return SpringApplication.run(SplitwiseApplication.class,
+                "--spring.profiles.active=dev",
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                "--splitwise.cluster.bus=in-memory",
+                "--splitwise.cluster.channel=" + channel,
+                "--splitwise.columnar.enabled=true",
+                "--splitwise.ledger.projector.enabled=false");
+    }
+}
@@ -0,0 +1,44 @@
+package com.split.splitwise.cluster;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InvalidationMessageTest {
+
+    @Test
+    @DisplayName("Should round-trip every kind of invalidation through the text form")
+    void shouldRoundTrip() {
+        InvalidationMessage message = new InvalidationMessage(UUID.randomUUID().toString(), List.of(
+                Invalidation.group(UUID.randomUUID()),
+                Invalidation.user(UUID.randomUUID()),
+                Invalidation.shard(UUID.randomUUID()),
+                Invalidation.all()));
+
+        assertThat(InvalidationMessage.decode(message.encode())).isEqualTo(message);
+    }
+
+    @Test
+    @DisplayName("Should keep 150 invalidations within the NOTIFY payload limit")
+    void shouldFitNotifyPayload() {
+        List<Invalidation> invalidations = Stream.generate(() -> Invalidation.group(UUID.randomUUID()))
+                .limit(150)
+                .toList();
+
+        assertThat(new InvalidationMessage(UUID.randomUUID().toString(), invalidations).encode().length())
+                .isLessThan(8_000);
+    }
+
+    @Test
+    @DisplayName("Should reject text without an origin")
+    void shouldRejectMalformedText() {
+        assertThatThrownBy(() -> InvalidationMessage.decode("G:" + UUID.randomUUID()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,33 @@
+package com.split.splitwise.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReactiveReadConfigTest {
+
+    @Test
+    @DisplayName("Should refuse to start next to the sharded or read-replicas profile")
+    void shouldRefuseRoutedProfiles() {
+        for (String profile : new String[]{"sharded", "read-replicas"}) {
+            MockEnvironment environment = new MockEnvironment();
+            environment.setActiveProfiles("dev", "reactive-reads", profile);
+
+            assertThatThrownBy(() -> new ReactiveReadConfig(environment))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining(profile);
+        }
+    }
+
+    @Test
+    @DisplayName("Should start with a single database")
+    void shouldStartWithSingleDatabase() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("dev", "reactive-reads");
+
+        assertThatCode(() -> new ReactiveReadConfig(environment)).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,121 @@
+package com.split.splitwise.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.split.splitwise.ledger.LedgerProjector;
+import com.split.splitwise.support.ApiFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs with tiny limits so trimming and the fan-out-on-read fallback kick in:
+ * timelines keep 4 entries, events reaching more than 2 users are not copied.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:activity-feed;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "splitwise.activity.timeline-size=4",
+        "splitwise.activity.fanout-limit=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class ActivityFeedIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LedgerProjector ledgerProjector;
+
+    private ApiFixtures fixtures;
+
+    private UUID aliceId;
+    private UUID carolId;
+    private UUID daveId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fixtures = new ApiFixtures(mockMvc, objectMapper);
+        String suffix = UUID.randomUUID().toString();
+        aliceId = fixtures.createUser("Alice", "alice-" + suffix + "@test.com");
+        UUID bobId = fixtures.createUser("Bob", "bob-" + suffix + "@test.com");
+        carolId = fixtures.createUser("Carol", "carol-" + suffix + "@test.com");
+        daveId = fixtures.createUser("Dave", "dave-" + suffix + "@test.com");
+        UUID erinId = fixtures.createUser("Erin", "erin-" + suffix + "@test.com");
+
+        UUID flatId = fixtures.createGroup("Flat", aliceId);
+        fixtures.addMember(flatId, bobId);
+        fixtures.createExpense(flatId, aliceId, "Rent", "100.00");
+        fixtures.createExpense(flatId, aliceId, "Power", "100.00");
+        fixtures.createExpense(flatId, aliceId, "Water", "100.00");
+
+        UUID clubId = fixtures.createGroup("Club", carolId);
+        fixtures.addMember(clubId, daveId);
+        fixtures.addMember(clubId, erinId);
+        fixtures.createExpense(clubId, carolId, "Court hire", "90.00");
+
+        ledgerProjector.drain();
+    }
+
+    @Test
+    @DisplayName("Should page a trimmed timeline newest first")
+    void shouldPageTimeline() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/v1/users/{id}/activity", aliceId).param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.entries[*].description", contains("Water", "Power", "Rent")))
+                .andExpect(jsonPath("$.data.entries[0].userDelta").value(50.00))
+                .andExpect(jsonPath("$.data.nextCursor").isNumber())
+                .andReturn();
+
+        JsonNode page = objectMapper.readTree(first.getResponse().getContentAsString()).path("data");
+        long cursor = page.path("nextCursor").asLong();
+
+        // GROUP_CREATED fell off: the timeline only keeps 4 entries
+        mockMvc.perform(get("/api/v1/users/{id}/activity", aliceId)
+                        .param("limit", "3")
+                        .param("before", String.valueOf(cursor)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.entries[*].type", contains("MEMBER_ADDED")))
+                .andExpect(jsonPath("$.data.entries[0].actorName").value("Bob"))
+                .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should read expenses of groups above the fan-out limit from the ledger")
+    void shouldFanOutOnReadForLargeGroups() throws Exception {
+        mockMvc.perform(get("/api/v1/users/{id}/activity", daveId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.entries[*].type", contains("EXPENSE_CREATED", "MEMBER_ADDED")))
+                .andExpect(jsonPath("$.data.entries[0].description").value("Court hire"))
+                .andExpect(jsonPath("$.data.entries[0].userDelta").value(-30.00));
+
+        // Erin joined after the group passed the limit, so the join was not announced
+        mockMvc.perform(get("/api/v1/users/{id}/activity", carolId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.entries[*].type",
+                        contains("EXPENSE_CREATED", "MEMBER_ADDED", "GROUP_CREATED")))
+                .andExpect(jsonPath("$.data.entries[0].userDelta").value(60.00));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown user")
+    void shouldReturn404ForUnknownUser() throws Exception {
+        mockMvc.perform(get("/api/v1/users/{id}/activity", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+}
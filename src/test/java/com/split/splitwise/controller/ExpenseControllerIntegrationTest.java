@@ -8,8 +8,14 @@ import com.split.splitwise.dto.request.CreateUserRequest;
 import com.split.splitwise.dto.response.ApiResponse;
 import com.split.splitwise.dto.response.GroupResponse;
 import com.split.splitwise.dto.response.UserResponse;
+import com.split.splitwise.entity.Group;
 import com.split.splitwise.entity.SplitType;
+import com.split.splitwise.ledger.LedgerProjector;
+import com.split.splitwise.metrics.SqlCapture;
+import com.split.splitwise.metrics.SqlStatementTracker;
 import com.split.splitwise.repository.*;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,9 +28,12 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -55,6 +64,15 @@ class ExpenseControllerIntegrationTest {
     @Autowired
     private ExpenseSplitRepository expenseSplitRepository;
 
+    @Autowired
+    private SqlStatementTracker sqlStatementTracker;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private LedgerProjector ledgerProjector;
+
     private UUID aliceId;
     private UUID bobId;
     private UUID charlieId;
@@ -188,6 +206,231 @@ class ExpenseControllerIntegrationTest {
                 .andExpect(jsonPath("$.data.totalTransactions").value(2));
     }
 
+    @Test
+    @DisplayName("Should list pairwise debts without simplifying them")
+    void shouldCalculatePairwiseSettlements() throws Exception {
+        for (UUID payer : List.of(aliceId, bobId)) {
+            CreateExpenseRequest request = CreateExpenseRequest.builder()
+                    .description("Dinner")
+                    .totalAmount(new BigDecimal(payer.equals(aliceId) ? "90.00" : "60.00"))
+                    .paidBy(payer)
+                    .splitType(SplitType.EQUAL)
+                    .build();
+            mockMvc.perform(post("/api/v1/groups/{groupId}/expenses", groupId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(get("/api/v1/groups/{groupId}/settlements", groupId).param("mode", "PAIRWISE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalTransactions").value(3))
+                .andExpect(jsonPath("$.data.settlements[*].fromUserName", contains("Charlie", "Charlie", "Bob")))
+                .andExpect(jsonPath("$.data.settlements[*].toUserName", contains("Alice", "Bob", "Alice")))
+                .andExpect(jsonPath("$.data.settlements[*].amount", contains(30.00, 20.00, 10.00)));
+
+        mockMvc.perform(get("/api/v1/groups/{groupId}/settlements", groupId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalTransactions").value(2));
+    }
+
+    @Test
+    @DisplayName("Should patch the stable plan without touching unaffected transfers")
+    void shouldKeepStablePlanAcrossExpenses() throws Exception {
+        CreateExpenseRequest dinner = CreateExpenseRequest.builder()
+                .description("Dinner")
+                .totalAmount(new BigDecimal("90.00"))
+                .paidBy(aliceId)
+                .splitType(SplitType.EQUAL)
+                .build();
+        mockMvc.perform(post("/api/v1/groups/{groupId}/expenses", groupId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dinner)))
+                .andExpect(status().isCreated());
+        ledgerProjector.drain();
+
+        mockMvc.perform(get("/api/v1/groups/{groupId}/settlements", groupId).param("mode", "STABLE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalTransactions").value(2))
+                .andExpect(jsonPath("$.data.settlements[*].toUserName", everyItem(is("Alice"))));
+
+        // Bob covers 20.00 of Alice's: only Bob -> Alice moves
+        CreateExpenseRequest taxi = CreateExpenseRequest.builder()
+                .description("Taxi")
+                .totalAmount(new BigDecimal("20.00"))
+                .paidBy(bobId)
+                .splitType(SplitType.EXACT)
+                .splits(List.of(CreateExpenseRequest.SplitDetail.builder()
+                        .userId(aliceId).amount(new BigDecimal("20.00")).build()))
+                .build();
+        mockMvc.perform(post("/api/v1/groups/{groupId}/expenses", groupId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taxi)))
+                .andExpect(status().isCreated());
+        ledgerProjector.drain();
+
+        mockMvc.perform(get("/api/v1/groups/{groupId}/settlements", groupId).param("mode", "STABLE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalTransactions").value(2))
+                .andExpect(jsonPath("$.data.settlements[*].fromUserName", contains("Charlie", "Bob")))
+                .andExpect(jsonPath("$.data.settlements[*].toUserName", contains("Alice", "Alice")))
+                .andExpect(jsonPath("$.data.settlements[*].amount", contains(30.00, 10.00)));
+    }
+
+    @Test
+    @DisplayName("Should return 304 for unchanged balances and 200 after a new expense")
+    void shouldHonourIfNoneMatchOnBalances() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/v1/groups/{groupId}/balances", groupId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/groups/{groupId}/balances", groupId)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        CreateExpenseRequest request = CreateExpenseRequest.builder()
+                .description("Dinner")
+                .totalAmount(new BigDecimal("90.00"))
+                .paidBy(aliceId)
+                .splitType(SplitType.EQUAL)
+                .build();
+
+        mockMvc.perform(post("/api/v1/groups/{groupId}/expenses", groupId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/groups/{groupId}/balances", groupId)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.data.balances", hasSize(3)));
+    }
+
+    @Test
+    @DisplayName("Should answer 404, not 304, for a wildcard or version-0 ETag on an unknown group")
+    void shouldNotReportUnknownGroupsAsUnmodified() throws Exception {
+        UUID unknownGroupId = UUID.randomUUID();
+
+        mockMvc.perform(get("/api/v1/groups/{groupId}/balances", unknownGroupId)
+                        .header("If-None-Match", "*"))
+                .andExpect(status().isNotFound());
+
+        String etag = mockMvc.perform(get("/api/v1/groups/{groupId}/balances", groupId))
+                .andReturn().getResponse().getHeader("ETag");
+        String versionZero = etag.replaceAll("-\\d+\"$", "-0\"");
+        mockMvc.perform(get("/api/v1/groups/{groupId}/settlements", unknownGroupId)
+                        .header("If-None-Match", versionZero.replace("balances", "settlements")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return 304 for a group that has not been written since it was created")
+    void shouldHonourIfNoneMatchWithoutWrites() throws Exception {
+        UUID freshGroupId = createGroup("Weekend", aliceId);
+
+        String etag = mockMvc.perform(get("/api/v1/groups/{groupId}/balances", freshGroupId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/groups/{groupId}/balances", freshGroupId)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Should return 304 from the second read of a group this instance has not seen written")
+    void shouldHonourIfNoneMatchAfterFirstRead() throws Exception {
+        // saved directly, as if created before a restart or on another instance
+        UUID untrackedGroupId = groupRepository.save(Group.builder()
+                .name("Imported")
+                .createdBy(userRepository.findById(aliceId).orElseThrow())
+                .build()).getId();
+
+        String etag = mockMvc.perform(get("/api/v1/groups/{id}", untrackedGroupId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/groups/{id}", untrackedGroupId)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Should stay within the query budget for balances and settlements")
+    void shouldStayWithinQueryBudgetForReads() throws Exception {
+        CreateExpenseRequest request = CreateExpenseRequest.builder()
+                .description("Dinner")
+                .totalAmount(new BigDecimal("90.00"))
+                .paidBy(aliceId)
+                .splitType(SplitType.EQUAL)
+                .build();
+
+        SqlCapture write = sqlStatementTracker.capture();
+        try (write) {
+            mockMvc.perform(post("/api/v1/groups/{groupId}/expenses", groupId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+        write.assertNoRepeatedSelects();
+
+        // one fetch-join over expenses, splits and users; the group lookup
+        // is served from the second-level cache
+        SqlCapture balances = sqlStatementTracker.capture();
+        try (balances) {
+            mockMvc.perform(get("/api/v1/groups/{groupId}/balances", groupId))
+                    .andExpect(status().isOk());
+        }
+        balances.assertStatementCount(1);
+
+        SqlCapture settlements = sqlStatementTracker.capture();
+        try (settlements) {
+            mockMvc.perform(get("/api/v1/groups/{groupId}/settlements", groupId))
+                    .andExpect(status().isOk());
+        }
+        settlements.assertStatementCount(1);
+    }
+
+    @Test
+    @DisplayName("Should push a balance delta to open streams after an expense commits")
+    void shouldStreamBalanceDeltas() throws Exception {
+        long streamSamplesBefore = streamStatementSamples();
+        MvcResult stream = mockMvc.perform(get("/api/v1/groups/{groupId}/balances/stream", groupId)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        CreateExpenseRequest request = CreateExpenseRequest.builder()
+                .description("Dinner")
+                .totalAmount(new BigDecimal("90.00"))
+                .paidBy(aliceId)
+                .splitType(SplitType.EQUAL)
+                .build();
+        mockMvc.perform(post("/api/v1/groups/{groupId}/expenses", groupId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(stream.getResponse().getContentAsString())
+                        .contains("event:balance-delta")
+                        .contains("\"userId\":\"" + aliceId + "\",\"userName\":\"Alice\",\"delta\":60.00")
+                        .contains("\"userId\":\"" + bobId + "\",\"userName\":\"Bob\",\"delta\":-30.00"));
+        // the stream went async, so no statement count (which would read 0) is recorded for it
+        assertThat(streamStatementSamples()).isEqualTo(streamSamplesBefore);
+    }
+
+    @Test
+    @DisplayName("Should reject a balance stream for an unknown group")
+    void shouldRejectStreamForUnknownGroup() throws Exception {
+        mockMvc.perform(get("/api/v1/groups/{groupId}/balances/stream", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("Should reject exact split when amounts don't match total")
     void shouldRejectExactSplitWhenAmountsDontMatchTotal() throws Exception {
@@ -212,6 +455,12 @@ class ExpenseControllerIntegrationTest {
                 .andExpect(jsonPath("$.message", containsString("do not equal total amount")));
     }
 
+    private long streamStatementSamples() {
+        DistributionSummary summary = meterRegistry.find("splitwise.sql.statements")
+                .tag("uri", "/api/v1/groups/{groupId}/balances/stream").summary();
+        return summary == null ? 0 : summary.count();
+    }
+
     private UUID createUser(String name, String email) throws Exception {
         CreateUserRequest request = CreateUserRequest.builder()
                 .name(name).email(email).build();
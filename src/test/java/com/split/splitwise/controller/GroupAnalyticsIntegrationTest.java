@@ -0,0 +1,129 @@
+package com.split.splitwise.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.split.splitwise.entity.RollupGranularity;
+import com.split.splitwise.ledger.LedgerProjector;
+import com.split.splitwise.support.ApiFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class GroupAnalyticsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LedgerProjector ledgerProjector;
+
+    private ApiFixtures fixtures;
+
+    private UUID aliceId;
+    private UUID bobId;
+    private UUID groupId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fixtures = new ApiFixtures(mockMvc, objectMapper);
+        String suffix = UUID.randomUUID().toString();
+        aliceId = fixtures.createUser("Alice", "alice-" + suffix + "@test.com");
+        bobId = fixtures.createUser("Bob", "bob-" + suffix + "@test.com");
+
+        groupId = fixtures.createGroup("Flat", aliceId);
+        fixtures.addMember(groupId, bobId);
+        fixtures.createExpense(groupId, aliceId, "Groceries", "100.00");
+        fixtures.createExpense(groupId, aliceId, "Groceries", "20.50");
+        fixtures.createExpense(groupId, bobId, "Groceries", "60.00");
+
+        ledgerProjector.drain();
+    }
+
+    @Test
+    @DisplayName("Should report spend per payer in the current month")
+    void shouldRollUpByPayer() throws Exception {
+        mockMvc.perform(get("/api/v1/groups/{id}/analytics", groupId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.granularity").value("MONTH"))
+                .andExpect(jsonPath("$.data.buckets", hasSize(12)))
+                .andExpect(jsonPath("$.data.buckets[11].bucketStart").value(LocalDate.now().withDayOfMonth(1).toString()))
+                .andExpect(jsonPath("$.data.buckets[11].expenseCount").value(3))
+                .andExpect(jsonPath("$.data.buckets[11].totalAmount").value(180.50))
+                .andExpect(jsonPath("$.data.buckets[0].totalAmount").value(0))
+                .andExpect(jsonPath("$.data.expenseCount").value(3))
+                .andExpect(jsonPath("$.data.payers[0].payerName").value("Alice"))
+                .andExpect(jsonPath("$.data.payers[0].expenseCount").value(2))
+                .andExpect(jsonPath("$.data.payers[0].totalAmount").value(120.50))
+                .andExpect(jsonPath("$.data.payers[1].payerName").value("Bob"))
+                .andExpect(jsonPath("$.data.payers[1].totalAmount").value(60.00));
+    }
+
+    @Test
+    @DisplayName("Should filter a daily range by payer")
+    void shouldFilterByPayer() throws Exception {
+        String today = LocalDate.now().toString();
+
+        mockMvc.perform(get("/api/v1/groups/{id}/analytics", groupId)
+                        .param("granularity", "DAY")
+                        .param("from", today)
+                        .param("to", today)
+                        .param("payerId", bobId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.buckets", hasSize(1)))
+                .andExpect(jsonPath("$.data.buckets[0].payers[*].payerId", contains(bobId.toString())))
+                .andExpect(jsonPath("$.data.totalAmount").value(60.00));
+    }
+
+    @Test
+    @DisplayName("Should give the same rollups after a rebuild from the ledger")
+    void shouldBackfillFromLedger() throws Exception {
+        ledgerProjector.rebuild("spend-rollups");
+
+        mockMvc.perform(get("/api/v1/groups/{id}/analytics", groupId).param("granularity", "WEEK"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.buckets", hasSize(12)))
+                .andExpect(jsonPath("$.data.buckets[11].bucketStart")
+                        .value(RollupGranularity.WEEK.bucketStart(LocalDate.now()).toString()))
+                .andExpect(jsonPath("$.data.totalAmount").value(180.50));
+    }
+
+    @Test
+    @DisplayName("Should reject inverted and oversized ranges")
+    void shouldValidateRange() throws Exception {
+        mockMvc.perform(get("/api/v1/groups/{id}/analytics", groupId)
+                        .param("from", "2024-05-01")
+                        .param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"));
+
+        mockMvc.perform(get("/api/v1/groups/{id}/analytics", groupId)
+                        .param("granularity", "DAY")
+                        .param("from", "2020-01-01")
+                        .param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown group")
+    void shouldReturn404ForUnknownGroup() throws Exception {
+        mockMvc.perform(get("/api/v1/groups/{id}/analytics", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,190 @@
+package com.split.splitwise.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.split.splitwise.dto.request.BulkAddMembersRequest;
+import com.split.splitwise.dto.request.BulkCreateGroupsRequest;
+import com.split.splitwise.dto.request.CreateGroupRequest;
+import com.split.splitwise.metrics.SqlCapture;
+import com.split.splitwise.metrics.SqlStatementTracker;
+import com.split.splitwise.repository.*;
+import com.split.splitwise.support.ApiFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class GroupBulkControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ExpenseSplitRepository expenseSplitRepository;
+
+    @Autowired
+    private SqlStatementTracker sqlStatementTracker;
+
+    private ApiFixtures fixtures;
+
+    private UUID aliceId;
+    private UUID bobId;
+    private UUID charlieId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fixtures = new ApiFixtures(mockMvc, objectMapper);
+        expenseSplitRepository.deleteAll();
+        expenseRepository.deleteAll();
+        groupMemberRepository.deleteAll();
+        groupRepository.deleteAll();
+        userRepository.deleteAll();
+
+        aliceId = fixtures.createUser("Alice", "alice@test.com");
+        bobId = fixtures.createUser("Bob", "bob@test.com");
+        charlieId = fixtures.createUser("Charlie", "charlie@test.com");
+    }
+
+    @Test
+    @DisplayName("Should add new members and report duplicates and unknown users per item")
+    void shouldAddMembersInBulk() throws Exception {
+        UUID groupId = fixtures.createGroup("Trip", aliceId);
+        UUID unknownId = UUID.randomUUID();
+        BulkAddMembersRequest request = BulkAddMembersRequest.builder()
+                .userIds(List.of(bobId, charlieId, bobId, aliceId, unknownId))
+                .build();
+
+        mockMvc.perform(post("/api/v1/groups/{id}/members:bulk", groupId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.requested").value(5))
+                .andExpect(jsonPath("$.data.succeeded").value(2))
+                .andExpect(jsonPath("$.data.failed").value(3))
+                .andExpect(jsonPath("$.data.results[*].status",
+                        contains("ADDED", "ADDED", "DUPLICATE", "DUPLICATE", "NOT_FOUND")))
+                .andExpect(jsonPath("$.data.results[4].id").value(unknownId.toString()));
+
+        assertThat(groupMemberRepository.findUserIdsByGroupId(groupId))
+                .containsExactlyInAnyOrder(aliceId, bobId, charlieId);
+    }
+
+    @Test
+    @DisplayName("Should check members with set-based queries regardless of batch size")
+    void shouldNotQueryPerMember() throws Exception {
+        UUID groupId = fixtures.createGroup("Company", aliceId);
+        List<UUID> userIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            userIds.add(fixtures.createUser("Employee " + i, "employee" + i + "@test.com"));
+        }
+
+        SqlCapture capture = sqlStatementTracker.capture();
+        try (capture) {
+            mockMvc.perform(post("/api/v1/groups/{id}/members:bulk", groupId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    BulkAddMembersRequest.builder().userIds(userIds).build())))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.succeeded").value(20));
+        }
+        capture.assertNoRepeatedSelects();
+
+        assertThat(groupMemberRepository.countByGroupId(groupId)).isEqualTo(21);
+    }
+
+    @Test
+    @DisplayName("Should return 404 when bulk adding to an unknown group")
+    void shouldReturn404ForUnknownGroup() throws Exception {
+        BulkAddMembersRequest request = BulkAddMembersRequest.builder()
+                .userIds(List.of(bobId))
+                .build();
+
+        mockMvc.perform(post("/api/v1/groups/{id}/members:bulk", UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an empty bulk member list")
+    void shouldRejectEmptyMemberList() throws Exception {
+        UUID groupId = fixtures.createGroup("Trip", aliceId);
+
+        mockMvc.perform(post("/api/v1/groups/{id}/members:bulk", groupId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                BulkAddMembersRequest.builder().userIds(List.of()).build())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"));
+    }
+
+    @Test
+    @DisplayName("Should create groups in bulk and skip items with unknown creators")
+    void shouldCreateGroupsInBulk() throws Exception {
+        BulkCreateGroupsRequest request = BulkCreateGroupsRequest.builder()
+                .groups(List.of(
+                        CreateGroupRequest.builder().name("Engineering").createdBy(aliceId).build(),
+                        CreateGroupRequest.builder().name("Ghosts").createdBy(UUID.randomUUID()).build(),
+                        CreateGroupRequest.builder().name("Sales").createdBy(bobId).build()))
+                .build();
+
+        mockMvc.perform(post("/api/v1/groups:bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.succeeded").value(2))
+                .andExpect(jsonPath("$.data.failed").value(1))
+                .andExpect(jsonPath("$.data.results[*].status", contains("CREATED", "NOT_FOUND", "CREATED")))
+                .andExpect(jsonPath("$.data.results[0].id").isNotEmpty())
+                .andExpect(jsonPath("$.data.results[1].id").doesNotExist());
+
+        assertThat(groupRepository.count()).isEqualTo(2);
+        assertThat(groupMemberRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should validate every group in a bulk create request")
+    void shouldValidateBulkGroups() throws Exception {
+        BulkCreateGroupsRequest request = BulkCreateGroupsRequest.builder()
+                .groups(List.of(CreateGroupRequest.builder().name("X").createdBy(aliceId).build()))
+                .build();
+
+        mockMvc.perform(post("/api/v1/groups:bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        assertThat(groupRepository.count()).isZero();
+    }
+}
@@ -0,0 +1,120 @@
+package com.split.splitwise.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.split.splitwise.dto.request.AddMemberRequest;
+import com.split.splitwise.dto.request.CreateExpenseRequest;
+import com.split.splitwise.dto.request.CreateGroupRequest;
+import com.split.splitwise.dto.request.CreateUserRequest;
+import com.split.splitwise.dto.response.ApiResponse;
+import com.split.splitwise.entity.SplitType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "reactive-reads"})
+class ReactiveLedgerControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private UUID aliceId;
+    private UUID groupId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        aliceId = create("/api/v1/users", CreateUserRequest.builder()
+                .name("Alice").email("alice-" + suffix + "@test.com").build());
+        UUID bobId = create("/api/v1/users", CreateUserRequest.builder()
+                .name("Bob").email("bob-" + suffix + "@test.com").build());
+
+        groupId = create("/api/v1/groups", CreateGroupRequest.builder()
+                .name("Reactive Trip").createdBy(aliceId).build());
+
+        mockMvc.perform(post("/api/v1/groups/{groupId}/members", groupId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(AddMemberRequest.builder().userId(bobId).build())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/v1/groups/{groupId}/expenses", groupId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CreateExpenseRequest.builder()
+                                .description("Dinner")
+                                .totalAmount(new BigDecimal("60.00"))
+                                .paidBy(aliceId)
+                                .splitType(SplitType.EQUAL)
+                                .build())))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("Should serve balances over the non-blocking read path")
+    void shouldServeBalancesReactively() throws Exception {
+        MvcResult pending = mockMvc.perform(get("/api/v1/reactive/groups/{groupId}/balances", groupId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.balances", hasSize(2)))
+                .andExpect(jsonPath("$.data.balances[?(@.userName=='Alice')].balance").value(30.00))
+                .andExpect(jsonPath("$.data.balances[?(@.userName=='Bob')].balance").value(-30.00));
+    }
+
+    @Test
+    @DisplayName("Should serve settlements over the non-blocking read path")
+    void shouldServeSettlementsReactively() throws Exception {
+        MvcResult pending = mockMvc.perform(get("/api/v1/reactive/groups/{groupId}/settlements", groupId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalTransactions").value(1))
+                .andExpect(jsonPath("$.data.settlements[0].amount").value(30.00));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for unknown group on the reactive path")
+    void shouldReturn404ForUnknownGroup() throws Exception {
+        MvcResult pending = mockMvc.perform(get("/api/v1/reactive/groups/{groupId}/balances", UUID.randomUUID()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value("RESOURCE_NOT_FOUND"));
+    }
+
+    private UUID create(String path, Object request) throws Exception {
+        MvcResult result = mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        ApiResponse<?> response = objectMapper.readValue(
+                result.getResponse().getContentAsString(), ApiResponse.class);
+        return UUID.fromString(((Map<?, ?>) response.getData()).get("id").toString());
+    }
+}
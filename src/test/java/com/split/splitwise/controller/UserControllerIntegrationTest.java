@@ -113,6 +113,35 @@ class UserControllerIntegrationTest {
                 .andExpect(jsonPath("$.data", hasSize(2)));
     }
 
+    @Test
+    @DisplayName("Should find newly created user by email and name prefix")
+    void shouldSearchUsersByPrefix() throws Exception {
+        CreateUserRequest request = CreateUserRequest.builder()
+                .name("Zelda Quincy").email("zquincy@example.com").build();
+
+        mockMvc.perform(post("/api/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/users/search").param("q", "zquin"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].email").value("zquincy@example.com"));
+
+        mockMvc.perform(get("/api/v1/users/search").param("q", "Quin"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].name").value("Zelda Quincy"));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for blank search query")
+    void shouldReturn400ForBlankSearchQuery() throws Exception {
+        mockMvc.perform(get("/api/v1/users/search").param("q", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"));
+    }
+
     @Test
     @DisplayName("Should return 404 for non-existent user")
     void shouldReturn404ForNonExistentUser() throws Exception {
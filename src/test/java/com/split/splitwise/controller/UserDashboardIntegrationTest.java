@@ -0,0 +1,106 @@
+package com.split.splitwise.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.split.splitwise.ledger.LedgerProjector;
+import com.split.splitwise.metrics.SqlCapture;
+import com.split.splitwise.metrics.SqlStatementTracker;
+import com.split.splitwise.support.ApiFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class UserDashboardIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LedgerProjector ledgerProjector;
+
+    @Autowired
+    private SqlStatementTracker sqlStatementTracker;
+
+    private ApiFixtures fixtures;
+
+    private UUID aliceId;
+    private UUID flatId;
+    private UUID tripId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fixtures = new ApiFixtures(mockMvc, objectMapper);
+        String suffix = UUID.randomUUID().toString();
+        aliceId = fixtures.createUser("Alice", "alice-" + suffix + "@test.com");
+        UUID bobId = fixtures.createUser("Bob", "bob-" + suffix + "@test.com");
+        UUID carolId = fixtures.createUser("Carol", "carol-" + suffix + "@test.com");
+
+        flatId = fixtures.createGroup("Flat", aliceId);
+        fixtures.addMember(flatId, bobId);
+        fixtures.createExpense(flatId, aliceId, "Groceries", "100.00");
+
+        tripId = fixtures.createGroup("Trip", bobId);
+        fixtures.addMember(tripId, aliceId);
+        fixtures.createExpense(tripId, bobId, "Groceries", "60.00");
+
+        UUID otherId = fixtures.createGroup("Book club", carolId);
+        fixtures.addMember(otherId, bobId);
+
+        ledgerProjector.drain();
+    }
+
+    @Test
+    @DisplayName("Should list every group of the user with their net balance, most recent first")
+    void shouldAggregateBalancesAcrossGroups() throws Exception {
+        mockMvc.perform(get("/api/v1/users/{id}/dashboard", aliceId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.userName").value("Alice"))
+                .andExpect(jsonPath("$.data.groups", hasSize(2)))
+                .andExpect(jsonPath("$.data.groups[0].groupId").value(tripId.toString()))
+                .andExpect(jsonPath("$.data.groups[0].balance").value(-30.00))
+                .andExpect(jsonPath("$.data.groups[0].memberCount").value(2))
+                .andExpect(jsonPath("$.data.groups[0].lastActivityAt").isNotEmpty())
+                .andExpect(jsonPath("$.data.groups[1].groupId").value(flatId.toString()))
+                .andExpect(jsonPath("$.data.groups[1].balance").value(50.00))
+                .andExpect(jsonPath("$.data.totalOwedToUser").value(50.00))
+                .andExpect(jsonPath("$.data.totalUserOwes").value(30.00))
+                .andExpect(jsonPath("$.data.netBalance").value(20.00));
+    }
+
+    @Test
+    @DisplayName("Should build the dashboard with one query")
+    void shouldUseSingleQuery() throws Exception {
+        // warm the second-level cache entry for the user lookup
+        mockMvc.perform(get("/api/v1/users/{id}/dashboard", aliceId)).andExpect(status().isOk());
+
+        SqlCapture capture = sqlStatementTracker.capture();
+        try (capture) {
+            mockMvc.perform(get("/api/v1/users/{id}/dashboard", aliceId))
+                    .andExpect(status().isOk());
+        }
+        capture.assertStatementCount(1);
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown user")
+    void shouldReturn404ForUnknownUser() throws Exception {
+        mockMvc.perform(get("/api/v1/users/{id}/dashboard", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,126 @@
+package com.split.splitwise.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.servlet.http.Cookie;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes against two separate in-memory H2 databases, each holding a marker row
+ * naming itself, so every query reveals which instance served it.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = h2("routing_primary");
+        DataSource replica = h2("routing_replica");
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica));
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.clear();
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica")
+    void shouldRouteReadOnlyToReplica() {
+        assertThat(readOnly.execute(status -> node())).isEqualTo("routing_replica");
+    }
+
+    @Test
+    @DisplayName("Should keep read-write transactions and non-transactional access on the primary")
+    void shouldRouteWritesToPrimary() {
+        assertThat(readWrite.execute(status -> node())).isEqualTo("routing_primary");
+        assertThat(node()).isEqualTo("routing_primary");
+    }
+
+    @Test
+    @DisplayName("Should pin read-only transactions to the primary when forced")
+    void shouldHonourForcedPrimary() {
+        ReplicaRoutingContext.forcePrimary();
+
+        assertThat(readOnly.execute(status -> node())).isEqualTo("routing_primary");
+    }
+
+    @Test
+    @DisplayName("Should pin reads to the primary only for the duration of onPrimary")
+    void shouldScopeOnPrimary() {
+        assertThat(ReplicaRoutingContext.onPrimary(() -> readOnly.execute(status -> node())))
+                .isEqualTo("routing_primary");
+        assertThat(ReplicaRoutingContext.isPrimaryForced()).isFalse();
+
+        ReplicaRoutingContext.forcePrimary();
+        ReplicaRoutingContext.onPrimary(() -> node());
+        assertThat(ReplicaRoutingContext.isPrimaryForced()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should make a writing client sticky to the primary for the window")
+    void shouldStickAfterWrite() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+        AtomicReference<String> servedBy = new AtomicReference<>();
+
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/groups"), writeResponse, new MockFilterChain());
+
+        Cookie sticky = writeResponse.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertThat(sticky).isNotNull();
+        assertThat(sticky.getMaxAge()).isEqualTo(5);
+
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/v1/groups/1");
+        read.setCookies(sticky);
+        filter.doFilter(read, new MockHttpServletResponse(),
+                (req, res) -> servedBy.set(readOnly.execute(status -> node())));
+        assertThat(servedBy.get()).isEqualTo("routing_primary");
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/groups/1"), new MockHttpServletResponse(),
+                (req, res) -> servedBy.set(readOnly.execute(status -> node())));
+        assertThat(servedBy.get()).isEqualTo("routing_replica");
+        assertThat(ReplicaRoutingContext.isPrimaryForced()).isFalse();
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(32))");
+        jdbc.update("DELETE FROM node");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
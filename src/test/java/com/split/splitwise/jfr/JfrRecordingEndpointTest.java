@@ -0,0 +1,23 @@
+package com.split.splitwise.jfr;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrRecordingEndpointTest {
+
+    @Test
+    @DisplayName("Should record without the events that capture the environment and JVM arguments")
+    void shouldDisableSensitiveEvents() {
+        Map<String, String> settings = JfrRecordingEndpoint.settings();
+
+        assertThat(settings)
+                .containsEntry("jdk.InitialEnvironmentVariable#enabled", "false")
+                .containsEntry("jdk.InitialSystemProperty#enabled", "false")
+                .containsEntry("jdk.JVMInformation#enabled", "false")
+                .containsEntry("jdk.GarbageCollection#enabled", "true");
+    }
+}
@@ -0,0 +1,132 @@
+package com.split.splitwise.ledger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.split.splitwise.entity.LedgerEvent;
+import com.split.splitwise.entity.LedgerEventType;
+import com.split.splitwise.entity.ProjectedBalance;
+import com.split.splitwise.entity.ProjectedGroupSummary;
+import com.split.splitwise.repository.LedgerEventRepository;
+import com.split.splitwise.repository.ProjectedBalanceRepository;
+import com.split.splitwise.repository.ProjectedGroupSummaryRepository;
+import com.split.splitwise.support.ApiFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.jmx.JmxEndpointsSupplier;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointsSupplier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class LedgerProjectorIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LedgerProjector ledgerProjector;
+
+    @Autowired
+    private LedgerEventRepository ledgerEventRepository;
+
+    @Autowired
+    private ProjectedBalanceRepository projectedBalanceRepository;
+
+    @Autowired
+    private ProjectedGroupSummaryRepository projectedGroupSummaryRepository;
+
+    @Autowired
+    private WebEndpointsSupplier webEndpoints;
+
+    @Autowired
+    private JmxEndpointsSupplier jmxEndpoints;
+
+    private ApiFixtures fixtures;
+
+    private UUID aliceId;
+    private UUID bobId;
+    private UUID groupId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fixtures = new ApiFixtures(mockMvc, objectMapper);
+        String suffix = UUID.randomUUID().toString();
+        aliceId = fixtures.createUser("Alice", "alice-" + suffix + "@test.com");
+        bobId = fixtures.createUser("Bob", "bob-" + suffix + "@test.com");
+
+        groupId = fixtures.createGroup("Flat", aliceId);
+        fixtures.addMember(groupId, bobId);
+        fixtures.createExpense(groupId, aliceId, "Groceries", "100.00");
+        fixtures.createExpense(groupId, bobId, "Groceries", "40.00");
+    }
+
+    @Test
+    @DisplayName("Should append one ledger event per committed write")
+    void shouldAppendLedgerEvents() {
+        assertThat(ledgerEventRepository.findAll(Sort.by("id")).stream()
+                .filter(event -> event.getGroupId().equals(groupId))
+                .map(LedgerEvent::getType))
+                .containsExactly(LedgerEventType.GROUP_CREATED, LedgerEventType.MEMBER_ADDED,
+                        LedgerEventType.EXPENSE_CREATED, LedgerEventType.EXPENSE_CREATED);
+    }
+
+    @Test
+    @DisplayName("Should project balances and group summary from the log")
+    void shouldProjectFromLog() {
+        ledgerProjector.drain();
+
+        assertThat(projectedBalances()).containsOnly(
+                Map.entry(aliceId, new BigDecimal("30.00")),
+                Map.entry(bobId, new BigDecimal("-30.00")));
+
+        ProjectedGroupSummary summary = projectedGroupSummaryRepository.findById(groupId).orElseThrow();
+        assertThat(summary.getName()).isEqualTo("Flat");
+        assertThat(summary.getMemberCount()).isEqualTo(2);
+        assertThat(summary.getExpenseCount()).isEqualTo(2);
+        assertThat(summary.getTotalSpent()).isEqualByComparingTo("140.00");
+    }
+
+    @Test
+    @DisplayName("Should rebuild a projection to the same state by replaying the log")
+    void shouldRebuildByReplay() {
+        ledgerProjector.drain();
+        Map<UUID, BigDecimal> before = projectedBalances();
+
+        int replayed = ledgerProjector.rebuild("balances");
+
+        assertThat(replayed).isGreaterThanOrEqualTo(4);
+        assertThat(projectedBalances()).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Should serve projection rebuilds over JMX only")
+    void shouldExposeLedgerEndpointOverJmxOnly() {
+        assertThat(webEndpoints.getEndpoints())
+                .extracting(endpoint -> endpoint.getEndpointId().toString())
+                .doesNotContain("ledger");
+        assertThat(jmxEndpoints.getEndpoints())
+                .extracting(endpoint -> endpoint.getEndpointId().toString())
+                .contains("ledger");
+    }
+
+    private Map<UUID, BigDecimal> projectedBalances() {
+        return projectedBalanceRepository.findByIdGroupId(groupId).stream()
+                .collect(Collectors.toMap(row -> row.getId().getUserId(), ProjectedBalance::getBalance));
+    }
+}
@@ -0,0 +1,144 @@
+package com.split.splitwise.ledger;
+
+import com.split.splitwise.entity.LedgerEvent;
+import com.split.splitwise.entity.LedgerEventType;
+import com.split.splitwise.entity.ProjectionCheckpoint;
+import com.split.splitwise.entity.ProjectionGap;
+import com.split.splitwise.repository.LedgerEventRepository;
+import com.split.splitwise.repository.ProjectionCheckpointRepository;
+import com.split.splitwise.repository.ProjectionGapRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class LedgerProjectorTest {
+
+    private static final String NAME = "recording";
+
+    private final TreeMap<Long, LedgerEvent> log = new TreeMap<>();
+    private final Map<ProjectionGap.Key, ProjectionGap> gaps = new HashMap<>();
+    private final List<Long> applied = new ArrayList<>();
+
+    private LedgerProjector projector;
+
+    @BeforeEach
+    void setUp() {
+        LedgerEventRepository ledgerEventRepository = mock(LedgerEventRepository.class);
+        when(ledgerEventRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenAnswer(invocation -> {
+            long offset = invocation.getArgument(0);
+            Limit limit = invocation.getArgument(1);
+            return log.tailMap(offset, false).values().stream().limit(limit.max()).toList();
+        });
+        when(ledgerEventRepository.findByIdInOrderByIdAsc(any())).thenAnswer(invocation -> {
+            Collection<Long> offsets = invocation.getArgument(0);
+            return log.values().stream().filter(event -> offsets.contains(event.getId())).toList();
+        });
+
+        ProjectionCheckpoint checkpoint = ProjectionCheckpoint.builder().name(NAME).lastOffset(0).build();
+        ProjectionCheckpointRepository checkpointRepository = mock(ProjectionCheckpointRepository.class);
+        when(checkpointRepository.findById(NAME)).thenReturn(Optional.of(checkpoint));
+
+        ProjectionGapRepository gapRepository = mock(ProjectionGapRepository.class);
+        when(gapRepository.findByIdProjection(NAME)).thenAnswer(invocation -> new ArrayList<>(gaps.values()));
+        when(gapRepository.save(any())).thenAnswer(invocation -> {
+            ProjectionGap gap = invocation.getArgument(0);
+            gaps.put(gap.getId(), gap);
+            return gap;
+        });
+        doAnswer(invocation -> gaps.remove(invocation.<ProjectionGap>getArgument(0).getId()))
+                .when(gapRepository).delete(any());
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        LedgerProjection projection = new LedgerProjection() {
+            @Override
+            public String name() {
+                return NAME;
+            }
+
+            @Override
+            public void apply(List<LedgerEvent> events) {
+                events.forEach(event -> applied.add(event.getId()));
+            }
+
+            @Override
+            public void reset() {
+                applied.clear();
+            }
+        };
+
+        projector = new LedgerProjector(List.of(projection), ledgerEventRepository, checkpointRepository,
+                gapRepository, transactionManager, false, Duration.ofSeconds(1), Duration.ofSeconds(5),
+                Duration.ofMinutes(10), 500, 5000);
+    }
+
+    @Test
+    @DisplayName("Should stop in front of a gap younger than the gap timeout")
+    void shouldWaitForRecentGap() {
+        append(1, LocalDateTime.now());
+        append(3, LocalDateTime.now());
+
+        projector.drain();
+        assertThat(applied).containsExactly(1L);
+
+        append(2, LocalDateTime.now());
+        projector.drain();
+        assertThat(applied).containsExactly(1L, 2L, 3L);
+        assertThat(gaps).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should apply an event that commits after the projector moved past its gap")
+    void shouldApplyLateEvent() {
+        append(1, LocalDateTime.now().minusMinutes(1));
+        append(3, LocalDateTime.now().minusMinutes(1));
+
+        projector.drain();
+        assertThat(applied).containsExactly(1L, 3L);
+        assertThat(gaps.keySet()).containsExactly(new ProjectionGap.Key(NAME, 2));
+
+        append(2, LocalDateTime.now().minusMinutes(1));
+        projector.drain();
+        projector.drain();
+
+        assertThat(applied).containsExactly(1L, 3L, 2L);
+        assertThat(gaps).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should forget a skipped offset once it is older than the gap retention")
+    void shouldExpireSkippedOffsets() {
+        append(1, LocalDateTime.now().minusMinutes(1));
+        append(3, LocalDateTime.now().minusMinutes(1));
+        projector.drain();
+
+        gaps.values().forEach(gap -> gap.setSkippedAt(LocalDateTime.now().minusHours(1)));
+        projector.drain();
+
+        assertThat(gaps).isEmpty();
+        assertThat(applied).containsExactly(1L, 3L);
+    }
+
+    private void append(long offset, LocalDateTime recordedAt) {
+        log.put(offset, LedgerEvent.builder()
+                .id(offset)
+                .type(LedgerEventType.EXPENSE_CREATED)
+                .groupId(UUID.randomUUID())
+                .payload("{}")
+                .recordedAt(recordedAt)
+                .build());
+    }
+}
@@ -0,0 +1,130 @@
+package com.split.splitwise.ledger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.split.splitwise.entity.LedgerEvent;
+import com.split.splitwise.entity.LedgerEventType;
+import com.split.splitwise.entity.SettlementTransfer;
+import com.split.splitwise.entity.SplitType;
+import com.split.splitwise.repository.SettlementTransferRepository;
+import com.split.splitwise.service.SettlementService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SettlementPlanProjectionTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UUID groupId = UUID.randomUUID();
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID carol = UUID.randomUUID();
+    private final UUID dave = UUID.randomUUID();
+    private final UUID erin = UUID.randomUUID();
+    private final UUID frank = UUID.randomUUID();
+
+    private final List<SettlementTransfer> transfers = new ArrayList<>();
+    private final List<Set<UUID>> incidentQueries = new ArrayList<>();
+
+    private SettlementTransferRepository repository;
+    private EntityManager entityManager;
+    private SettlementPlanProjection projection;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(SettlementTransferRepository.class);
+        when(repository.findIncident(any(), any())).thenAnswer(invocation -> {
+            Collection<UUID> groupIds = invocation.getArgument(0);
+            Set<UUID> userIds = new HashSet<>(invocation.<Collection<UUID>>getArgument(1));
+            incidentQueries.add(userIds);
+            return transfers.stream()
+                    .filter(row -> groupIds.contains(row.getId().getGroupId()))
+                    .filter(row -> userIds.contains(row.getId().getFromUserId())
+                            || userIds.contains(row.getId().getToUserId()))
+                    .toList();
+        });
+        when(repository.countByIdGroupId(groupId)).thenAnswer(invocation -> (long) transfers.size());
+        when(repository.countMembers(groupId)).thenAnswer(invocation -> transfers.stream()
+                .flatMap(row -> Stream.of(row.getId().getFromUserId(), row.getId().getToUserId()))
+                .distinct()
+                .count());
+
+        entityManager = mock(EntityManager.class);
+        projection = new SettlementPlanProjection(repository, new LedgerPayloadReader(objectMapper), entityManager,
+                new SettlementService(), new SimpleMeterRegistry(), 0.5);
+    }
+
+    @Test
+    @DisplayName("Should read only the transfers of changed members and their direct counterparties")
+    void shouldReadOnlyIncidentTransfers() throws Exception {
+        transfer(bob, alice, "30.00");
+        transfer(dave, carol, "20.00");
+        transfer(frank, erin, "10.00");
+
+        // Carol pays 10.00 for Bob
+        projection.apply(List.of(expenseCreated(carol, "Carol", "10.00", bob, "Bob")));
+
+        assertThat(incidentQueries).containsExactly(Set.of(bob, carol), Set.of(bob, carol, alice, dave));
+        verify(repository, never()).findByIdGroupIdOrderByAmountDesc(any());
+
+        ArgumentCaptor<SettlementTransfer> persisted = ArgumentCaptor.forClass(SettlementTransfer.class);
+        verify(entityManager).persist(persisted.capture());
+        assertThat(persisted.getValue().getId()).isEqualTo(new SettlementTransfer.Key(groupId, bob, carol));
+        assertThat(persisted.getValue().getAmount()).isEqualByComparingTo("10.00");
+        verify(entityManager, never()).remove(any());
+        assertThat(transfers).extracting(SettlementTransfer::getAmount)
+                .containsExactly(new BigDecimal("30.00"), new BigDecimal("20.00"), new BigDecimal("10.00"));
+    }
+
+    @Test
+    @DisplayName("Should read the whole plan when the patched plan needs recomputing")
+    void shouldReadWholePlanOnRecompute() throws Exception {
+        // every debtor pays every creditor: 9 transfers where 5 would do
+        for (UUID debtor : List.of(dave, erin, frank)) {
+            for (UUID creditor : List.of(alice, bob, carol)) {
+                transfer(debtor, creditor, "10.00");
+            }
+        }
+
+        // Alice pays 1.00 for Dave
+        projection.apply(List.of(expenseCreated(alice, "Alice", "1.00", dave, "Dave")));
+
+        verify(repository).findByIdGroupIdOrderByAmountDesc(groupId);
+        verify(entityManager, atLeast(4)).remove(any());
+    }
+
+    private void transfer(UUID from, UUID to, String amount) {
+        SettlementTransfer row = SettlementTransfer.builder()
+                .id(new SettlementTransfer.Key(groupId, from, to))
+                .amount(new BigDecimal(amount))
+                .updatedAt(LocalDateTime.now())
+                .build();
+        transfers.add(row);
+        when(repository.findByIdGroupIdOrderByAmountDesc(groupId)).thenReturn(List.copyOf(transfers));
+    }
+
+    private LedgerEvent expenseCreated(UUID payer, String payerName, String amount,
+                                       UUID participant, String participantName) throws Exception {
+        ExpenseCreatedPayload payload = new ExpenseCreatedPayload(UUID.randomUUID(), "Expense",
+                new BigDecimal(amount), payer, payerName, SplitType.EXACT,
+                List.of(new ExpenseCreatedPayload.Share(participant, participantName, new BigDecimal(amount))));
+        return LedgerEvent.builder()
+                .id(1L)
+                .type(LedgerEventType.EXPENSE_CREATED)
+                .groupId(groupId)
+                .payload(objectMapper.writeValueAsString(payload))
+                .recordedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.split.splitwise.metrics;
+
+import com.split.splitwise.entity.SplitType;
+import com.split.splitwise.jfr.BalanceComputationEvent;
+import com.split.splitwise.jfr.ExpensePersistEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LedgerMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private LedgerMetrics ledgerMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        ledgerMetrics = new LedgerMetrics(registry);
+    }
+
+    @Test
+    @DisplayName("Should bucket participant counts into low-cardinality tags")
+    void shouldBucketParticipants() {
+        assertThat(LedgerMetrics.Participants.of(0)).isEqualTo(LedgerMetrics.Participants.NONE);
+        assertThat(LedgerMetrics.Participants.of(1)).isEqualTo(LedgerMetrics.Participants.XS);
+        assertThat(LedgerMetrics.Participants.of(10)).isEqualTo(LedgerMetrics.Participants.XS);
+        assertThat(LedgerMetrics.Participants.of(11)).isEqualTo(LedgerMetrics.Participants.S);
+        assertThat(LedgerMetrics.Participants.of(5_000)).isEqualTo(LedgerMetrics.Participants.L);
+        assertThat(LedgerMetrics.Participants.of(250_000)).isEqualTo(LedgerMetrics.Participants.XL);
+    }
+
+    @Test
+    @DisplayName("Should tag expense timers by split type, participants and outcome")
+    void shouldTagExpenseTimers() {
+        UUID groupId = UUID.randomUUID();
+        ledgerMetrics.recordExpenseCreated(LedgerRecording.start(new ExpensePersistEvent()), groupId,
+                SplitType.EXACT, 42, true);
+        ledgerMetrics.recordExpenseCreated(LedgerRecording.start(new ExpensePersistEvent()), groupId,
+                SplitType.EQUAL, 0, false);
+
+        assertThat(registry.get("splitwise.expense.create")
+                .tag("split.type", "EXACT")
+                .tag("participants", "11-100")
+                .tag("outcome", "success")
+                .timer()
+                .count()).isEqualTo(1);
+        assertThat(registry.get("splitwise.expense.create")
+                .tag("split.type", "EQUAL")
+                .tag("participants", "11-100")
+                .tag("outcome", "success")
+                .timer()
+                .count()).isZero();
+        assertThat(registry.get("splitwise.expense.create")
+                .tag("split.type", "EQUAL")
+                .tag("participants", "0")
+                .tag("outcome", "failure")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should record scanned expenses and splits with balance timings")
+    void shouldRecordScanCounts() {
+        ledgerMetrics.recordBalances(LedgerRecording.start(new BalanceComputationEvent()), UUID.randomUUID(), 3, 7, 21);
+
+        assertThat(registry.get("splitwise.balances.calculate").tag("participants", "1-10").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get("splitwise.balances.expenses.scanned").tag("participants", "1-10").summary().totalAmount())
+                .isEqualTo(7.0);
+        assertThat(registry.get("splitwise.balances.splits.scanned").tag("participants", "1-10").summary().totalAmount())
+                .isEqualTo(21.0);
+    }
+
+    @Test
+    @DisplayName("Should report the duration of each marked phase")
+    void shouldMeasurePhases() throws InterruptedException {
+        LedgerRecording<BalanceComputationEvent> recording = LedgerRecording.start(new BalanceComputationEvent());
+        Thread.sleep(5);
+        recording.mark();
+        recording.mark();
+
+        assertThat(recording.phaseNanos(0)).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(5));
+        assertThat(recording.phaseNanos(1)).isLessThan(recording.phaseNanos(0));
+        assertThat(recording.phaseNanos(2)).isZero();
+        assertThat(recording.elapsedNanos()).isGreaterThanOrEqualTo(recording.phaseNanos(0));
+    }
+}
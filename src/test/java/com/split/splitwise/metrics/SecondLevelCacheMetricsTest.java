@@ -0,0 +1,49 @@
+package com.split.splitwise.metrics;
+
+import com.split.splitwise.dto.request.CreateUserRequest;
+import com.split.splitwise.service.UserService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs with Hibernate statistics off, as every profile but dev does.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cache-metrics;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.jpa.properties.hibernate.generate_statistics=false"
+})
+@ActiveProfiles("dev")
+class SecondLevelCacheMetricsTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    @DisplayName("Should report region hit ratios from JCache statistics without Hibernate statistics")
+    void shouldReportHitRatioFromJCache() {
+        UUID userId = userService.createUser(CreateUserRequest.builder()
+                .name("Alice")
+                .email("alice-" + UUID.randomUUID() + "@test.com")
+                .build()).getId();
+        userService.getUserById(userId);
+        userService.getUserById(userId);
+
+        assertThat(meterRegistry.find("cache.gets").tags("region", "user", "result", "hit")
+                .functionCounter().count()).isPositive();
+        Gauge ratio = meterRegistry.find("splitwise.cache.hit.ratio").tag("region", "user").gauge();
+        assertThat(ratio).isNotNull();
+        assertThat(ratio.value()).isGreaterThan(0.0).isLessThanOrEqualTo(1.0);
+    }
+}
@@ -7,6 +7,7 @@ import com.split.splitwise.entity.*;
 import com.split.splitwise.exception.BusinessRuleException;
 import com.split.splitwise.exception.ValidationException;
 import com.split.splitwise.mapper.ExpenseMapper;
+import com.split.splitwise.metrics.LedgerMetrics;
 import com.split.splitwise.repository.ExpenseRepository;
 import com.split.splitwise.repository.GroupMemberRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +19,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.*;
@@ -47,6 +49,12 @@ class ExpenseServiceTest {
     @Mock
     private SettlementService settlementService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private LedgerMetrics ledgerMetrics;
+
     @InjectMocks
     private ExpenseService expenseService;
 
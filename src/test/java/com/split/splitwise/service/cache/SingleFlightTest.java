@@ -0,0 +1,108 @@
+package com.split.splitwise.service.cache;
+
+import com.split.splitwise.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+
+    @Test
+    @DisplayName("Concurrent callers for one key share a single execution")
+    void concurrentCallersShareExecution() throws Exception {
+        int followers = 8;
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<SingleFlight.Result<Integer>> leader = executor.submit(() ->
+                    singleFlight.execute("group:1", () -> {
+                        executions.incrementAndGet();
+                        block(release);
+                        return 42;
+                    }));
+            await().atMost(5, TimeUnit.SECONDS).until(() -> singleFlight.inFlightCount() == 1);
+
+            List<Future<SingleFlight.Result<Integer>>> joined = new ArrayList<>();
+            for (int i = 0; i < followers; i++) {
+                joined.add(executor.submit(() -> singleFlight.execute("group:1", () -> {
+                    executions.incrementAndGet();
+                    return -1;
+                })));
+            }
+            // Followers are blocked on the leader's future before it is released
+            Thread.sleep(100);
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(new SingleFlight.Result<>(42, false));
+            for (Future<SingleFlight.Result<Integer>> follower : joined) {
+                assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(new SingleFlight.Result<>(42, true));
+            }
+        }
+
+        assertThat(executions).hasValue(1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Results are not cached once the flight completes")
+    void completedFlightIsNotReused() {
+        AtomicInteger executions = new AtomicInteger();
+
+        singleFlight.execute("group:1", executions::incrementAndGet);
+        SingleFlight.Result<Integer> second = singleFlight.execute("group:1", executions::incrementAndGet);
+
+        assertThat(second.value()).isEqualTo(2);
+        assertThat(second.coalesced()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Followers receive the leader's exception unwrapped")
+    void followersSeeLeaderException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> leader = executor.submit(() -> singleFlight.execute("group:1", () -> {
+                block(release);
+                throw new ResourceNotFoundException("Group", "id", "group:1");
+            }));
+            await().atMost(5, TimeUnit.SECONDS).until(() -> singleFlight.inFlightCount() == 1);
+
+            Future<?> follower = executor.submit(() -> {
+                assertThatThrownBy(() -> singleFlight.execute("group:1", () -> 0))
+                        .isInstanceOf(ResourceNotFoundException.class);
+                return null;
+            });
+            Thread.sleep(100);
+            release.countDown();
+
+            follower.get(5, TimeUnit.SECONDS);
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(ResourceNotFoundException.class);
+        }
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    private static void block(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
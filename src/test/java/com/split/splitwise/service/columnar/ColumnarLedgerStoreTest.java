@@ -0,0 +1,173 @@
+package com.split.splitwise.service.columnar;
+
+import com.split.splitwise.dto.response.BalanceResponse;
+import com.split.splitwise.dto.response.SettlementResponse;
+import com.split.splitwise.entity.Expense;
+import com.split.splitwise.entity.ExpenseSplit;
+import com.split.splitwise.entity.SplitType;
+import com.split.splitwise.entity.User;
+import com.split.splitwise.event.ExpenseCreatedEvent;
+import com.split.splitwise.exception.ResourceNotFoundException;
+import com.split.splitwise.repository.ExpenseRepository;
+import com.split.splitwise.service.GroupService;
+import com.split.splitwise.service.SettlementService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ColumnarLedgerStoreTest {
+
+    private ExpenseRepository expenseRepository;
+    private GroupService groupService;
+
+    private final User alice = user("Alice");
+    private final User bob = user("Bob");
+    private final User carol = user("Carol");
+
+    @BeforeEach
+    void setUp() {
+        expenseRepository = mock(ExpenseRepository.class);
+        groupService = mock(GroupService.class);
+    }
+
+    @Test
+    @DisplayName("Should compute the same balances and settlements as the entity fold")
+    void shouldComputeBalances() {
+        UUID groupId = UUID.randomUUID();
+        when(expenseRepository.findByGroupIdWithSplits(groupId)).thenReturn(List.of(
+                expense(alice, "90.00", Map.of(alice, "30.00", bob, "30.00", carol, "30.00")),
+                expense(bob, "10.01", Map.of(alice, "5.01", bob, "5.00"))));
+        ColumnarLedgerStore store = store(DataSize.ofMegabytes(64));
+
+        assertThat(balances(store.balances(groupId))).containsExactlyInAnyOrderEntriesOf(Map.of(
+                alice.getId(), new BigDecimal("54.99"),
+                bob.getId(), new BigDecimal("-24.99"),
+                carol.getId(), new BigDecimal("-30.00")));
+
+        SettlementResponse settlements = store.settlements(groupId);
+        assertThat(settlements.getTotalTransactions()).isEqualTo(2);
+        assertThat(settlements.getSettlements())
+                .allSatisfy(settlement -> assertThat(settlement.getToUserId()).isEqualTo(alice.getId()));
+        verify(expenseRepository, times(1)).findByGroupIdWithSplits(groupId);
+    }
+
+    @Test
+    @DisplayName("Should append committed expenses to a resident group exactly once")
+    void shouldAppendWrites() {
+        UUID groupId = UUID.randomUUID();
+        Expense loaded = expense(alice, "20.00", Map.of(alice, "10.00", bob, "10.00"));
+        when(expenseRepository.findByGroupIdWithSplits(groupId)).thenReturn(List.of(loaded));
+        ColumnarLedgerStore store = store(DataSize.ofMegabytes(64));
+
+        store.onExpenseCreated(new ExpenseCreatedEvent(groupId, loaded));
+        store.balances(groupId);
+        // a late event for an expense the load already saw
+        store.onExpenseCreated(new ExpenseCreatedEvent(groupId, loaded));
+        store.onExpenseCreated(new ExpenseCreatedEvent(groupId,
+                expense(carol, "40.00", Map.of(alice, "20.00", carol, "20.00"))));
+
+        assertThat(balances(store.balances(groupId))).containsExactlyInAnyOrderEntriesOf(Map.of(
+                alice.getId(), new BigDecimal("-10.00"),
+                bob.getId(), new BigDecimal("-10.00"),
+                carol.getId(), new BigDecimal("20.00")));
+        verify(expenseRepository, times(1)).findByGroupIdWithSplits(groupId);
+    }
+
+    @Test
+    @DisplayName("Should not append an expense the load already read, whenever it was created")
+    void shouldDeduplicateByExpenseId() {
+        UUID groupId = UUID.randomUUID();
+        // createdAt is stamped before commit, so it can postdate the start of a load that still reads the row
+        Expense loaded = expense(alice, "20.00", Map.of(alice, "10.00", bob, "10.00"));
+        loaded.setCreatedAt(LocalDateTime.now().plusMinutes(1));
+        when(expenseRepository.findByGroupIdWithSplits(groupId)).thenReturn(List.of(loaded));
+        ColumnarLedgerStore store = store(DataSize.ofMegabytes(64));
+
+        store.balances(groupId);
+        store.onExpenseCreated(new ExpenseCreatedEvent(groupId, loaded));
+
+        assertThat(balances(store.balances(groupId))).containsExactlyInAnyOrderEntriesOf(Map.of(
+                alice.getId(), new BigDecimal("10.00"),
+                bob.getId(), new BigDecimal("-10.00")));
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently read group when over the memory budget")
+    void shouldEvictColdGroups() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expenses.add(expense(alice, "2.00", Map.of(alice, "1.00", bob, "1.00")));
+        }
+        when(expenseRepository.findByGroupIdWithSplits(any())).thenReturn(expenses);
+        ColumnarLedgerStore store = store(DataSize.ofKilobytes(20));
+
+        store.balances(first);
+        store.balances(second);
+        assertThat(store.residentGroups()).isEqualTo(1);
+        assertThat(store.residentBytes()).isLessThanOrEqualTo(DataSize.ofKilobytes(20).toBytes());
+
+        store.balances(first);
+        verify(expenseRepository, times(2)).findByGroupIdWithSplits(first);
+        verify(expenseRepository, times(1)).findByGroupIdWithSplits(second);
+    }
+
+    @Test
+    @DisplayName("Should not keep a group whose load failed")
+    void shouldForgetFailedLoads() {
+        UUID groupId = UUID.randomUUID();
+        when(groupService.findGroupByIdOrThrow(groupId))
+                .thenThrow(new ResourceNotFoundException("Group", "id", groupId));
+        ColumnarLedgerStore store = store(DataSize.ofMegabytes(64));
+
+        assertThatThrownBy(() -> store.balances(groupId)).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(store.residentGroups()).isZero();
+    }
+
+    private ColumnarLedgerStore store(DataSize budget) {
+        return new ColumnarLedgerStore(expenseRepository, groupService, new SettlementService(),
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), true, budget);
+    }
+
+    private static Map<UUID, BigDecimal> balances(BalanceResponse response) {
+        return response.getBalances().stream().collect(Collectors.toMap(
+                BalanceResponse.UserBalance::getUserId, BalanceResponse.UserBalance::getBalance));
+    }
+
+    private static Expense expense(User payer, String amount, Map<User, String> shares) {
+        Expense expense = Expense.builder()
+                .id(UUID.randomUUID())
+                .description("Expense")
+                .totalAmount(new BigDecimal(amount))
+                .paidBy(payer)
+                .splitType(SplitType.EXACT)
+                .createdAt(LocalDateTime.now())
+                .build();
+        shares.forEach((user, owed) -> expense.addSplit(ExpenseSplit.builder()
+                .user(user)
+                .amountOwed(new BigDecimal(owed))
+                .build()));
+        return expense;
+    }
+
+    private static User user(String name) {
+        return User.builder().id(UUID.randomUUID()).name(name).email(name.toLowerCase() + "@example.com").build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.split.splitwise.service.pairwise;
+
+import com.split.splitwise.dto.response.SettlementResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PairwiseDebtMatrixTest {
+
+    @Test
+    @DisplayName("Should net opposite debts of a pair and ignore self-debts")
+    void shouldNetPairs() {
+        PairwiseDebtMatrix debts = new PairwiseDebtMatrix();
+        debts.add(1, 0, 3_000);
+        debts.add(0, 1, 2_000);
+        debts.add(2, 2, 500);
+
+        assertThat(debts.owed(1, 0)).isEqualTo(1_000);
+        assertThat(debts.owed(0, 1)).isEqualTo(-1_000);
+        assertThat(debts.owed(2, 0)).isZero();
+        assertThat(debts.pairCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should emit one settlement per non-zero pair, largest first")
+    void shouldBuildSettlements() {
+        UUID[] ids = {UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()};
+        String[] names = {"Alice", "Bob", "Charlie"};
+        PairwiseDebtMatrix debts = new PairwiseDebtMatrix();
+        debts.add(2, 0, 3_000);
+        debts.add(1, 0, 1_050);
+        debts.add(0, 1, 1_050);
+        debts.add(0, 2, 500);
+
+        List<SettlementResponse.Settlement> settlements = debts.toSettlements(i -> ids[i], i -> names[i]);
+
+        assertThat(settlements).hasSize(1);
+        assertThat(settlements.get(0).getFromUserName()).isEqualTo("Charlie");
+        assertThat(settlements.get(0).getToUserId()).isEqualTo(ids[0]);
+        assertThat(settlements.get(0).getAmount()).isEqualByComparingTo(new BigDecimal("25.00"));
+    }
+
+    @Test
+    @DisplayName("Should handle many members sharing with one payer without a dense matrix")
+    void shouldScaleWithPairsNotMembers() {
+        int members = 5_000;
+        PairwiseDebtMatrix debts = new PairwiseDebtMatrix();
+        for (int member = 1; member < members; member++) {
+            debts.add(member, 0, 100);
+            debts.add(member, member - 1, 1);
+        }
+
+        // each member shares with the payer and with their predecessor
+        assertThat(debts.pairCount()).isEqualTo(2 * members - 3);
+        assertThat(debts.owed(1, 0)).isEqualTo(101);
+        assertThat(debts.owed(members - 1, 0)).isEqualTo(100);
+        assertThat(debts.owed(members - 1, members - 2)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,102 @@
+package com.split.splitwise.service.plan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SettlementPlanTest {
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID carol = UUID.randomUUID();
+    private final UUID dave = UUID.randomUUID();
+    private final UUID erin = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should leave transfers of members outside the change untouched")
+    void shouldKeepUnaffectedTransfers() {
+        SettlementPlan plan = SettlementPlan.of(List.of(
+                new SettlementPlan.Transfer(bob, alice, 3_000),
+                new SettlementPlan.Transfer(dave, carol, 2_000)));
+
+        // Erin pays 10.00 split with Dave
+        Set<SettlementPlan.Pair> changed = plan.patch(Map.of(erin, 500L, dave, -500L));
+
+        assertThat(changed).containsExactly(new SettlementPlan.Pair(dave, erin));
+        assertThat(plan.amount(bob, alice)).isEqualTo(3_000);
+        assertThat(plan.amount(dave, carol)).isEqualTo(2_000);
+        assertThat(plan.amount(dave, erin)).isEqualTo(500);
+        assertThat(plan.balances()).containsEntry(dave, -2_500L).containsEntry(erin, 500L);
+    }
+
+    @Test
+    @DisplayName("Should shrink a transfer running against the change before adding new ones")
+    void shouldCancelAgainstExistingTransfers() {
+        SettlementPlan plan = SettlementPlan.of(List.of(new SettlementPlan.Transfer(bob, alice, 3_000)));
+
+        // Bob pays 20.00 split with Alice
+        Set<SettlementPlan.Pair> changed = plan.patch(Map.of(bob, 1_000L, alice, -1_000L));
+
+        assertThat(changed).containsExactly(new SettlementPlan.Pair(bob, alice));
+        assertThat(plan.amount(bob, alice)).isEqualTo(2_000);
+        assertThat(plan.amount(alice, bob)).isZero();
+        assertThat(plan.transferCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should route around a changed member who ends up both receiving and sending")
+    void shouldCollapsePassThroughs() {
+        SettlementPlan plan = SettlementPlan.of(List.of(new SettlementPlan.Transfer(bob, alice, 3_000)));
+
+        // Alice now owes Carol 50.00: Bob -> Alice -> Carol becomes Bob -> Carol plus Alice -> Carol
+        plan.patch(Map.of(carol, 5_000L, alice, -5_000L));
+
+        assertThat(plan.amount(bob, alice)).isZero();
+        assertThat(plan.amount(bob, carol)).isEqualTo(3_000);
+        assertThat(plan.amount(alice, carol)).isEqualTo(2_000);
+        assertThat(plan.balances()).containsOnly(
+                Map.entry(bob, -3_000L), Map.entry(alice, -2_000L), Map.entry(carol, 5_000L));
+    }
+
+    @Test
+    @DisplayName("Should keep balances exact and report when the plan drifts past the bound")
+    void shouldTrackBalancesAndBound() {
+        List<UUID> members = List.of(alice, bob, carol, dave, erin);
+        Map<UUID, Long> expected = new HashMap<>();
+        SettlementPlan plan = SettlementPlan.of(List.of());
+        Random random = new Random(42);
+
+        for (int i = 0; i < 500; i++) {
+            Map<UUID, Long> deltas = new HashMap<>();
+            long total = 0;
+            for (int share = 0; share < 3; share++) {
+                long cents = 1 + random.nextInt(10_000);
+                deltas.merge(members.get(random.nextInt(members.size())), -cents, Long::sum);
+                total += cents;
+            }
+            deltas.merge(members.get(random.nextInt(members.size())), total, Long::sum);
+            deltas.forEach((user, cents) -> expected.merge(user, cents, Long::sum));
+
+            plan.patch(deltas);
+        }
+
+        expected.values().removeIf(cents -> cents == 0);
+        assertThat(plan.balances()).isEqualTo(expected);
+        assertThat(plan.transfers()).allSatisfy(transfer -> assertThat(transfer.cents()).isPositive());
+        // no member both pays and receives, so five members need at most 4 + 2 transfers
+        assertThat(plan.withinBound(0.5)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject balance changes that do not sum to zero")
+    void shouldRejectUnbalancedChanges() {
+        SettlementPlan plan = SettlementPlan.of(List.of());
+
+        assertThatThrownBy(() -> plan.patch(Map.of(alice, 100L, bob, -99L)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,197 @@
+package com.split.splitwise.service.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.split.splitwise.entity.LedgerEvent;
+import com.split.splitwise.entity.LedgerEventType;
+import com.split.splitwise.entity.SplitType;
+import com.split.splitwise.ledger.ExpenseCreatedPayload;
+import com.split.splitwise.ledger.LedgerPayloadReader;
+import com.split.splitwise.repository.LedgerEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ExpenseSearchIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TreeMap<Long, LedgerEvent> log = new TreeMap<>();
+
+    private LedgerEventRepository ledgerEventRepository;
+    private UUID groupId;
+
+    @BeforeEach
+    void setUp() {
+        ledgerEventRepository = mock(LedgerEventRepository.class);
+        when(ledgerEventRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenAnswer(invocation -> {
+            long offset = invocation.getArgument(0);
+            return List.copyOf(log.tailMap(offset, false).values());
+        });
+        when(ledgerEventRepository.findByIdInOrderByIdAsc(any())).thenAnswer(invocation -> {
+            Collection<Long> offsets = invocation.getArgument(0);
+            return log.values().stream().filter(event -> offsets.contains(event.getId())).toList();
+        });
+        groupId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should rank shorter and repeated matches higher and require every word")
+    void shouldRankByRelevance() {
+        ExpenseSearchIndex index = index(false, 4, 8);
+        index.index(groupId, doc("Dinner at the beach house with the whole team"));
+        index.index(groupId, doc("Team dinner"));
+        index.index(groupId, doc("Dinner dinner dinner"));
+        index.index(groupId, doc("Groceries"));
+
+        assertThat(index.search(groupId, "dinner", 10))
+                .extracting(hit -> hit.document().description())
+                .containsExactly("Dinner dinner dinner", "Team dinner", "Dinner at the beach house with the whole team");
+        assertThat(index.search(groupId, "team dinner", 10))
+                .extracting(hit -> hit.document().description())
+                .containsExactly("Team dinner", "Dinner at the beach house with the whole team");
+        assertThat(index.search(groupId, "pizza", 10)).isEmpty();
+        assertThat(index.search(UUID.randomUUID(), "dinner", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should match the last query word as a prefix, below exact matches")
+    void shouldMatchLastWordAsPrefix() {
+        ExpenseSearchIndex index = index(false, 128, 8);
+        index.index(groupId, doc("Uber (airport)"));
+        index.index(groupId, doc("Uber air"));
+        index.index(groupId, doc("Uber downtown"));
+
+        assertThat(index.search(groupId, "UBER AIR", 10))
+                .extracting(hit -> hit.document().description())
+                .containsExactly("Uber air", "Uber (airport)");
+    }
+
+    @Test
+    @DisplayName("Should merge segments once a group has more than max-segments")
+    void shouldMergeSegments() {
+        ExpenseSearchIndex index = index(false, 2, 3);
+        for (int i = 0; i < 8; i++) {
+            index.index(groupId, doc("Taxi " + i));
+        }
+
+        assertThat(index.segmentCount(groupId)).isEqualTo(1);
+        assertThat(index.documentCount(groupId)).isEqualTo(8);
+        assertThat(index.search(groupId, "taxi", 100)).hasSize(8);
+    }
+
+    @Test
+    @DisplayName("Should restore persisted segments and only read the ledger past the checkpoint")
+    void shouldRestoreFromDisk() throws Exception {
+        LocalDateTime recordedAt = LocalDateTime.of(2026, 3, 14, 12, 0);
+        UUID hotelId = appendExpense(1, "Hotel in Lisbon", recordedAt);
+        appendExpense(2, "Flights to Lisbon", recordedAt);
+        appendExpense(3, "Lisbon tram tickets", recordedAt);
+
+        ExpenseSearchIndex first = index(true, 2, 8);
+        first.open();
+        first.flush();
+        first.close();
+
+        assertThat(Files.list(directory.resolve(groupId.toString()))).hasSize(2);
+        assertThat(Files.readString(directory.resolve(ExpenseSearchIndex.CHECKPOINT_FILE))).isEqualTo("3");
+
+        clearInvocations(ledgerEventRepository);
+        ExpenseSearchIndex second = index(true, 2, 8);
+        second.open();
+        second.close();
+
+        verify(ledgerEventRepository, never()).findByIdGreaterThanOrderByIdAsc(eq(0L), any());
+        verify(ledgerEventRepository).findByIdGreaterThanOrderByIdAsc(eq(3L), any());
+        assertThat(second.search(groupId, "lisbon", 10)).hasSize(3);
+        ExpenseDocument hotel = new ExpenseDocument(hotelId, "Hotel in Lisbon", new BigDecimal("10.00"), "Alice",
+                recordedAt);
+        assertThat(second.search(groupId, "hotel", 10))
+                .extracting(ExpenseSearchIndex.Hit::document)
+                .containsExactly(hotel);
+
+        second.index(groupId, hotel);
+        assertThat(second.documentCount(groupId)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should index expenses committed elsewhere by tailing the ledger")
+    void shouldTailLedger() throws Exception {
+        ExpenseSearchIndex index = index(false, 128, 8);
+        log.put(1L, LedgerEvent.builder()
+                .id(1L)
+                .type(LedgerEventType.GROUP_CREATED)
+                .groupId(groupId)
+                .payload("{}")
+                .recordedAt(LocalDateTime.now())
+                .build());
+        appendExpense(2, "Museum tickets", LocalDateTime.now());
+
+        assertThat(index.catchUp()).isEqualTo(1);
+        assertThat(index.search(groupId, "museum", 10)).hasSize(1);
+        assertThat(index.catchUp()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should index an expense whose ledger offset committed after later ones")
+    void shouldIndexLateCommits() throws Exception {
+        ExpenseSearchIndex index = index(false, 128, 8);
+        LocalDateTime old = LocalDateTime.now().minusMinutes(1);
+        appendExpense(1, "Taxi", old);
+        appendExpense(3, "Dinner", old);
+
+        index.catchUp();
+        assertThat(index.search(groupId, "dinner", 10)).hasSize(1);
+        assertThat(index.search(groupId, "breakfast", 10)).isEmpty();
+
+        appendExpense(2, "Breakfast", old);
+        index.catchUp();
+        assertThat(index.search(groupId, "breakfast", 10)).hasSize(1);
+        assertThat(index.documentCount(groupId)).isEqualTo(3);
+    }
+
+    private ExpenseSearchIndex index(boolean persist, int bufferSize, int maxSegments) {
+        return new ExpenseSearchIndex(ledgerEventRepository, new LedgerPayloadReader(objectMapper),
+                directory.toString(), persist, bufferSize, Duration.ofHours(1), maxSegments, Duration.ofHours(1),
+                Duration.ofSeconds(5), Duration.ofMinutes(10), 500);
+    }
+
+    private UUID appendExpense(long offset, String description, LocalDateTime recordedAt) throws Exception {
+        UUID expenseId = UUID.randomUUID();
+        UUID aliceId = UUID.randomUUID();
+        ExpenseCreatedPayload payload = new ExpenseCreatedPayload(expenseId, description, new BigDecimal("10.00"),
+                aliceId, "Alice", SplitType.EQUAL,
+                List.of(new ExpenseCreatedPayload.Share(aliceId, "Alice", new BigDecimal("10.00"))));
+        log.put(offset, LedgerEvent.builder()
+                .id(offset)
+                .type(LedgerEventType.EXPENSE_CREATED)
+                .groupId(groupId)
+                .payload(objectMapper.writeValueAsString(payload))
+                .recordedAt(recordedAt)
+                .build());
+        return expenseId;
+    }
+
+    private static ExpenseDocument doc(String description) {
+        return new ExpenseDocument(UUID.randomUUID(), description, new BigDecimal("10.00"), "Alice",
+                LocalDateTime.now());
+    }
+}
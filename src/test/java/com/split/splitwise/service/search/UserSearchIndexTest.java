@@ -0,0 +1,77 @@
+package com.split.splitwise.service.search;
+
+import com.split.splitwise.dto.response.UserResponse;
+import com.split.splitwise.entity.User;
+import com.split.splitwise.mapper.UserMapper;
+import com.split.splitwise.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserSearchIndexTest {
+
+    private UserRepository userRepository;
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        index = new UserSearchIndex(userRepository, Mappers.getMapper(UserMapper.class));
+    }
+
+    @Test
+    @DisplayName("Should match on email, full name and name tokens case-insensitively")
+    void shouldMatchOnEmailAndNameTokens() {
+        index.index(user("John Smith", "jsmith@example.com"));
+        index.index(user("Alice Jones", "alice@example.com"));
+
+        assertThat(index.search("JSM", 10)).extracting(UserResponse::getName).containsExactly("John Smith");
+        assertThat(index.search("smi", 10)).extracting(UserResponse::getName).containsExactly("John Smith");
+        assertThat(index.search("alice j", 10)).extracting(UserResponse::getName).containsExactly("Alice Jones");
+        assertThat(index.search("bob", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return each user once even when several terms match")
+    void shouldDeduplicateUsersMatchingMultipleTerms() {
+        index.index(user("Sam Sampson", "sam@example.com"));
+
+        assertThat(index.search("sam", 10)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should respect the result limit")
+    void shouldRespectLimit() {
+        for (int i = 0; i < 20; i++) {
+            index.index(user("Member " + i, "member" + i + "@example.com"));
+        }
+
+        assertThat(index.search("member", 5)).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("Should rebuild from the repository")
+    void shouldRebuildFromRepository() {
+        index.index(user("Stale User", "stale@example.com"));
+        when(userRepository.streamAll()).thenReturn(Stream.of(user("Fresh User", "fresh@example.com")));
+
+        index.rebuild();
+
+        assertThat(index.search("stale", 10)).isEmpty();
+        List<UserResponse> results = index.search("fresh", 10);
+        assertThat(results).extracting(UserResponse::getEmail).containsExactly("fresh@example.com");
+    }
+
+    private User user(String name, String email) {
+        return User.builder().id(UUID.randomUUID()).name(name).email(email).build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.split.splitwise.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsistentHashRingTest {
+
+    private static final int GROUPS = 20_000;
+
+    @Test
+    @DisplayName("Should place the same group on the same shard across ring instances")
+    void shouldBeDeterministic() {
+        ConsistentHashRing first = new ConsistentHashRing(4, 128);
+        ConsistentHashRing second = new ConsistentHashRing(4, 128);
+
+        Random random = new Random(7);
+        for (int i = 0; i < 1_000; i++) {
+            UUID groupId = new UUID(random.nextLong(), random.nextLong());
+            assertThat(first.shardFor(groupId)).isEqualTo(second.shardFor(groupId));
+        }
+    }
+
+    @Test
+    @DisplayName("Should spread groups roughly evenly across shards")
+    void shouldSpreadEvenly() {
+        ConsistentHashRing ring = new ConsistentHashRing(4, 128);
+        int[] counts = new int[4];
+
+        Random random = new Random(11);
+        for (int i = 0; i < GROUPS; i++) {
+            counts[ring.shardFor(new UUID(random.nextLong(), random.nextLong()))]++;
+        }
+
+        for (int count : counts) {
+            assertThat(count).isBetween(GROUPS / 4 * 8 / 10, GROUPS / 4 * 12 / 10);
+        }
+    }
+
+    @Test
+    @DisplayName("Should only move groups onto the new shard when a shard is appended")
+    void shouldMoveMinimallyOnGrowth() {
+        ConsistentHashRing before = new ConsistentHashRing(4, 128);
+        ConsistentHashRing after = new ConsistentHashRing(5, 128);
+        int moved = 0;
+
+        Random random = new Random(13);
+        for (int i = 0; i < GROUPS; i++) {
+            UUID groupId = new UUID(random.nextLong(), random.nextLong());
+            int oldShard = before.shardFor(groupId);
+            int newShard = after.shardFor(groupId);
+            if (oldShard != newShard) {
+                assertThat(newShard).isEqualTo(4);
+                moved++;
+            }
+        }
+
+        assertThat(moved).isBetween(GROUPS / 5 * 8 / 10, GROUPS / 5 * 12 / 10);
+    }
+
+    @Test
+    @DisplayName("Should reject an empty ring")
+    void shouldRejectEmptyRing() {
+        assertThatThrownBy(() -> new ConsistentHashRing(0, 128))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,119 @@
+package com.split.splitwise.sharding;
+
+import com.split.splitwise.SplitwiseApplication;
+import com.split.splitwise.dto.request.AddMemberRequest;
+import com.split.splitwise.dto.request.CreateExpenseRequest;
+import com.split.splitwise.dto.request.CreateGroupRequest;
+import com.split.splitwise.dto.request.CreateUserRequest;
+import com.split.splitwise.entity.SplitType;
+import com.split.splitwise.service.ExpenseService;
+import com.split.splitwise.service.GroupService;
+import com.split.splitwise.service.UserService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Two sharded application contexts on the same shard databases, joined by the
+ * in-memory invalidation bus: groups are moved on node A, reads are checked on
+ * node B.
+ */
+class ShardedClusterIntegrationTest {
+
+    private static final int SHARDS = 3;
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        String databases = "sharded_cluster_" + UUID.randomUUID().toString().replace("-", "");
+        String channel = "sharded_cluster_" + UUID.randomUUID().toString().replace("-", "");
+        // node A creates the schema on every shard, node B uses it
+        nodeA = startNode(databases, channel, true);
+        nodeB = startNode(databases, channel, false);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should route a group to its new shard on a node that did not move it")
+    void shouldFollowMovesAcrossNodes() {
+        UUID alice = createUser("Alice");
+        UUID bob = createUser("Bob");
+        UUID groupId = nodeA.getBean(GroupService.class)
+                .createGroup(CreateGroupRequest.builder().name("Trip").createdBy(alice).build()).getId();
+        nodeA.getBean(GroupService.class).addMember(groupId, AddMemberRequest.builder().userId(bob).build());
+        nodeA.getBean(ExpenseService.class).createExpense(groupId, CreateExpenseRequest.builder()
+                .description("Dinner")
+                .totalAmount(new BigDecimal("50.00"))
+                .paidBy(alice)
+                .splitType(SplitType.EQUAL)
+                .build());
+
+        ShardDirectory directoryB = nodeB.getBean(ShardDirectory.class);
+        assertThat(nodeB.getBean(GroupService.class).getGroupById(groupId).getMembers()).hasSize(2);
+        int target = (directoryB.shardFor(groupId) + 1) % SHARDS;
+
+        nodeA.getBean(ShardRebalancer.class).move(groupId, target);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(directoryB.shardFor(groupId)).isEqualTo(target));
+        assertThat(nodeB.getBean(GroupService.class).getGroupById(groupId).getMembers()).hasSize(2);
+        assertThat(nodeB.getBean(ExpenseService.class).calculateBalances(groupId).getBalances())
+                .filteredOn(balance -> balance.getUserId().equals(alice))
+                .singleElement()
+                .satisfies(balance -> assertThat(balance.getBalance()).isEqualByComparingTo("25.00"));
+    }
+
+    private static UUID createUser(String name) {
+        return nodeA.getBean(UserService.class).createUser(CreateUserRequest.builder()
+                .name(name)
+                .email(name.toLowerCase() + "-" + UUID.randomUUID() + "@test.com")
+                .build()).getId();
+    }
+
+    private static ConfigurableApplicationContext startNode(String databases, String channel, boolean createSchema) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.profiles.active=dev,sharded",
+                "--server.port=0",
+                "--spring.jpa.hibernate.ddl-auto=" + (createSchema ? "create-drop" : "none"),
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                "--splitwise.cluster.bus=in-memory",
+                "--splitwise.cluster.channel=" + channel,
+                "--splitwise.sharding.create-schema=" + createSchema,
+                "--splitwise.sharding.global.url=" + url(databases + "_global"),
+                "--splitwise.sharding.global.username=sa"));
+        for (int shard = 0; shard < SHARDS; shard++) {
+            args.add("--splitwise.sharding.shards[" + shard + "].url=" + url(databases + "_shard" + shard));
+            args.add("--splitwise.sharding.shards[" + shard + "].username=sa");
+        }
+        return SpringApplication.run(SplitwiseApplication.class, args.toArray(String[]::new));
+    }
+
+    private static String url(String database) {
+        return "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+    }
+}
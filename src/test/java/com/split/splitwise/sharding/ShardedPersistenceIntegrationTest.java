@@ -0,0 +1,202 @@
+package com.split.splitwise.sharding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.split.splitwise.dto.request.CreateExpenseRequest;
+import com.split.splitwise.entity.SplitType;
+import com.split.splitwise.support.ApiFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.jmx.JmxEndpointsSupplier;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointsSupplier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "sharded"})
+class ShardedPersistenceIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+
+    @Autowired
+    private WebEndpointsSupplier webEndpoints;
+
+    @Autowired
+    private JmxEndpointsSupplier jmxEndpoints;
+
+    private ApiFixtures fixtures;
+
+    private UUID aliceId;
+    private UUID bobId;
+    private UUID groupId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fixtures = new ApiFixtures(mockMvc, objectMapper);
+        String suffix = UUID.randomUUID().toString();
+        aliceId = fixtures.createUser("Alice", "alice-" + suffix + "@test.com");
+        bobId = fixtures.createUser("Bob", "bob-" + suffix + "@test.com");
+
+        groupId = fixtures.createGroup("Trip", aliceId);
+        fixtures.addMember(groupId, bobId);
+        fixtures.createExpense(groupId, aliceId, "Dinner", "100.00");
+    }
+
+    @Test
+    @DisplayName("Should replicate users to every group shard")
+    void shouldReplicateUsers() {
+        for (int shard = 0; shard < shardDataSources.shardCount(); shard++) {
+            assertThat(count(shard, "SELECT COUNT(*) FROM users WHERE id IN (?, ?)", aliceId, bobId))
+                    .isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("Should store a group and its data only on its owning shard")
+    void shouldStoreGroupOnOwningShard() {
+        int owner = shardDirectory.shardFor(groupId);
+
+        for (int shard = 0; shard < shardDataSources.shardCount(); shard++) {
+            int expected = shard == owner ? 1 : 0;
+            assertThat(count(shard, "SELECT COUNT(*) FROM groups WHERE id = ?", groupId)).isEqualTo(expected);
+            assertThat(count(shard, "SELECT COUNT(*) FROM expenses WHERE group_id = ?", groupId)).isEqualTo(expected);
+            assertThat(count(shard, "SELECT COUNT(*) FROM group_members WHERE group_id = ?", groupId))
+                    .isEqualTo(expected * 2);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep serving a group after it is moved to another shard")
+    void shouldServeGroupAfterMove() throws Exception {
+        int source = shardDirectory.shardFor(groupId);
+        int target = (source + 1) % shardDataSources.shardCount();
+        int ledgerEvents = count(source, "SELECT COUNT(*) FROM ledger_events WHERE group_id = ?", groupId);
+        assertThat(ledgerEvents).isPositive();
+
+        shardRebalancer.move(groupId, target);
+
+        assertThat(shardDirectory.shardFor(groupId)).isEqualTo(target);
+        assertThat(count(source, "SELECT COUNT(*) FROM groups WHERE id = ?", groupId)).isZero();
+        assertThat(count(target, "SELECT COUNT(*) FROM expense_splits WHERE expense_id IN "
+                + "(SELECT id FROM expenses WHERE group_id = ?)", groupId)).isEqualTo(2);
+        assertThat(count(target, "SELECT COUNT(*) FROM ledger_events WHERE group_id = ?", groupId))
+                .isEqualTo(ledgerEvents);
+        assertThat(count(source, "SELECT COUNT(*) FROM ledger_events WHERE group_id = ?", groupId)).isZero();
+
+        mockMvc.perform(get("/api/v1/groups/{groupId}", groupId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.members", hasSize(2)));
+
+        mockMvc.perform(get("/api/v1/groups/{groupId}/balances", groupId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.balances[?(@.userName=='Bob')].balance").value(-50.00));
+
+        shardRebalancer.move(groupId, shardDirectory.hashedShardFor(groupId));
+        assertThat(shardRebalancer.misplacedGroups())
+                .extracting(ShardRebalancer.Misplaced::groupId)
+                .doesNotContain(groupId);
+    }
+
+    @Test
+    @DisplayName("Should rebalance a misplaced group from the shard it lives on")
+    void shouldRebalanceFromCurrentShard() {
+        int hashed = shardDirectory.hashedShardFor(groupId);
+        int elsewhere = (hashed + 1) % shardDataSources.shardCount();
+        shardRebalancer.move(groupId, elsewhere);
+
+        ShardRebalancer.Misplaced misplaced = shardRebalancer.misplacedGroups().stream()
+                .filter(group -> group.groupId().equals(groupId))
+                .findFirst()
+                .orElseThrow();
+        assertThat(misplaced.currentShard()).isEqualTo(elsewhere);
+        assertThat(misplaced.hashedShard()).isEqualTo(hashed);
+
+        shardRebalancer.move(misplaced.groupId(), misplaced.currentShard(), misplaced.hashedShard());
+
+        assertThat(shardDirectory.shardFor(groupId)).isEqualTo(hashed);
+        assertThat(count(hashed, "SELECT COUNT(*) FROM expenses WHERE group_id = ?", groupId)).isEqualTo(1);
+        assertThat(count(elsewhere, "SELECT COUNT(*) FROM groups WHERE id = ?", groupId)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refuse writes to a group while it is being moved")
+    void shouldRefuseWritesWhileFrozen() throws Exception {
+        shardDirectory.freeze(groupId);
+        try {
+            CreateExpenseRequest request = CreateExpenseRequest.builder()
+                    .description("Taxi")
+                    .totalAmount(new BigDecimal("20.00"))
+                    .paidBy(bobId)
+                    .splitType(SplitType.EQUAL)
+                    .build();
+            mockMvc.perform(post("/api/v1/groups/{groupId}/expenses", groupId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isServiceUnavailable());
+
+            mockMvc.perform(get("/api/v1/groups/{groupId}/balances", groupId))
+                    .andExpect(status().isOk());
+        } finally {
+            shardDirectory.unfreeze(groupId);
+        }
+
+        assertThat(count(shardDirectory.shardFor(groupId), "SELECT COUNT(*) FROM expenses WHERE group_id = ?",
+                groupId)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should refuse reads served from ledger projections")
+    void shouldRefuseProjectionReads() throws Exception {
+        mockMvc.perform(get("/api/v1/users/{userId}/dashboard", aliceId))
+                .andExpect(status().isNotImplemented());
+        mockMvc.perform(get("/api/v1/groups/{groupId}/analytics", groupId))
+                .andExpect(status().isNotImplemented());
+        mockMvc.perform(get("/api/v1/groups/{groupId}/settlements", groupId).param("mode", "STABLE"))
+                .andExpect(status().isNotImplemented());
+
+        mockMvc.perform(get("/api/v1/groups/{groupId}/settlements", groupId))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should serve shard operations over JMX only")
+    void shouldExposeShardEndpointOverJmxOnly() {
+        assertThat(webEndpoints.getEndpoints())
+                .extracting(endpoint -> endpoint.getEndpointId().toString())
+                .doesNotContain("shards");
+        assertThat(jmxEndpoints.getEndpoints())
+                .extracting(endpoint -> endpoint.getEndpointId().toString())
+                .contains("shards");
+    }
+
+    private int count(int shard, String sql, Object... args) {
+        return new JdbcTemplate(shardDataSources.shard(shard)).queryForObject(sql, Integer.class, args);
+    }
+}
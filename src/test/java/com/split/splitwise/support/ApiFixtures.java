@@ -0,0 +1,82 @@
+package com.split.splitwise.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.split.splitwise.dto.request.AddMemberRequest;
+import com.split.splitwise.dto.request.CreateExpenseRequest;
+import com.split.splitwise.dto.request.CreateGroupRequest;
+import com.split.splitwise.dto.request.CreateUserRequest;
+import com.split.splitwise.entity.SplitType;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test data created through the REST API, so it passes the same validation,
+ * events and ledger writes as real traffic. Each helper asserts the expected
+ * success status and returns the new id where there is one.
+ */
+public class ApiFixtures {
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+
+    public ApiFixtures(MockMvc mockMvc, ObjectMapper objectMapper) {
+        this.mockMvc = mockMvc;
+        this.objectMapper = objectMapper;
+    }
+
+    public UUID createUser(String name, String email) throws Exception {
+        CreateUserRequest request = CreateUserRequest.builder().name(name).email(email).build();
+        MvcResult result = mockMvc.perform(post("/api/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return idOf(result);
+    }
+
+    public UUID createGroup(String name, UUID createdBy) throws Exception {
+        CreateGroupRequest request = CreateGroupRequest.builder().name(name).createdBy(createdBy).build();
+        MvcResult result = mockMvc.perform(post("/api/v1/groups")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return idOf(result);
+    }
+
+    public void addMember(UUID groupId, UUID userId) throws Exception {
+        AddMemberRequest request = AddMemberRequest.builder().userId(userId).build();
+        mockMvc.perform(post("/api/v1/groups/{groupId}/members", groupId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * An equal split between all current members.
+     */
+    public void createExpense(UUID groupId, UUID paidBy, String description, String amount) throws Exception {
+        CreateExpenseRequest request = CreateExpenseRequest.builder()
+                .description(description)
+                .totalAmount(new BigDecimal(amount))
+                .paidBy(paidBy)
+                .splitType(SplitType.EQUAL)
+                .build();
+        mockMvc.perform(post("/api/v1/groups/{groupId}/expenses", groupId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+    }
+
+    private UUID idOf(MvcResult result) throws Exception {
+        return UUID.fromString(objectMapper.readTree(result.getResponse().getContentAsString())
+                .path("data").path("id").asText());
+    }
+}